@@ -5,6 +5,7 @@
  */
 package io.jooby;
 
+import io.jooby.internal.RingBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +17,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -158,10 +162,48 @@ import static java.util.Objects.requireNonNull;
  * }
  * }</pre>
  *
+ * <h2>async</h2>
+ *
+ * <pre>{@code
+ * {
+ *   AccessLogHandler accessLog = new AccessLogHandler()
+ *       .async();
+ *
+ *   decorator(accessLog);
+ *
+ *   onStop(accessLog);
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Request threads copy the log fields into a bounded ring buffer and a background thread formats
+ * and logs them in batches. When the buffer is full, records are dropped and counted (see
+ * {@link #getDroppedCount()}). Closing the handler writes pending records and stops the
+ * background thread.
+ * </p>
+ *
+ * <h2>json</h2>
+ *
+ * <pre>{@code
+ * {
+ *   use("*", new AccessLogHandler()
+ *       .json());
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Log one JSON object per request, like:
+ * </p>
+ *
+ * <pre>
+ * {"remoteAddress":"127.0.0.1","user":"-","timestamp":1475603502000,"method":"GET","path":"/",
+ *   "query":"","protocol":"HTTP/1.1","status":200,"length":2,"latency":3}
+ * </pre>
+ *
  * @author edgar
  * @since 2.5.2
  */
-public class AccessLogHandler implements Route.Decorator {
+public class AccessLogHandler implements Route.Decorator, AutoCloseable {
   private static final String USER_AGENT = "User-Agent";
 
   private static final String REFERER = "Referer";
@@ -183,6 +225,56 @@ public class AccessLogHandler implements Route.Decorator {
   /** Default buffer size. */
   private static final int MESSAGE_SIZE = 256;
 
+  /** Default number of records for async mode. */
+  private static final int CAPACITY = 8192;
+
+  /** Max number of records to write before checking for shutdown. */
+  private static final int BATCH_SIZE = 256;
+
+  /** Wait time of writer thread when there is nothing to log. */
+  private static final long IDLE_NANOS = 10_000_000L;
+
+  /**
+   * Request data, copied from context once response is complete. Formatting happens later (and
+   * on a different thread in async mode).
+   */
+  private static class Record {
+    String remoteAddress;
+    String user;
+    long timestamp;
+    String method;
+    String path;
+    String query;
+    String protocol;
+    int status;
+    long length;
+    long latency;
+    String[] requestHeaders;
+    String[] responseHeaders;
+
+    void clear() {
+      remoteAddress = null;
+      user = null;
+      method = null;
+      path = null;
+      query = null;
+      protocol = null;
+      requestHeaders = null;
+      responseHeaders = null;
+    }
+  }
+
+  /** Date formatted at second resolution. */
+  private static class CachedDate {
+    final long second;
+    final String value;
+
+    CachedDate(long second, String value) {
+      this.second = second;
+      this.value = value;
+    }
+  }
+
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -192,10 +284,44 @@ public class AccessLogHandler implements Route.Decorator {
 
   private Function<Long, String> df;
 
+  /** True when {@link #df} has second resolution, so output can be cached. */
+  private boolean secondResolution;
+
+  private volatile CachedDate date;
+
   private List<String> requestHeaders = Collections.emptyList();
 
   private List<String> responseHeaders = Collections.emptyList();
 
+  private boolean json;
+
+  private volatile RingBuffer<Record> ring;
+
+  private Thread writer;
+
+  /** Records dropped by closed ring buffers. */
+  private long dropped;
+
+  /** Request threads offering a record, so close waits for them before the last drain. */
+  private final AtomicInteger offering = new AtomicInteger();
+
+  private volatile boolean running;
+
+  /** Copy request data into a record. Stateless, so it is safe to reuse. */
+  private final BiConsumer<Record, Completion> recorder = (record, completion) ->
+      completion.record(record);
+
+  /** Format and log a record. Writer thread only, or closing thread once the writer is done. */
+  private final Consumer<Record> printer = record -> {
+    try {
+      logRecord.accept(format(record));
+    } catch (Exception x) {
+      log.error("access log resulted in exception", x);
+    } finally {
+      record.clear();
+    }
+  };
+
   /**
    * Creates a new {@link AccessLogHandler} and use the given function and userId provider. Please
    * note, if the user isn't present this function is allowed to returns <code>-</code> (dash
@@ -206,6 +332,7 @@ public class AccessLogHandler implements Route.Decorator {
   public AccessLogHandler(@Nonnull Function<Context, String> userId) {
     this.userId = requireNonNull(userId, "User ID provider required.");
     dateFormatter(FORMATTER);
+    this.secondResolution = true;
   }
 
   /**
@@ -216,46 +343,294 @@ public class AccessLogHandler implements Route.Decorator {
   }
 
   @Nonnull @Override public Route.Handler apply(@Nonnull Route.Handler next) {
-    long timestamp = System.currentTimeMillis();
     return ctx -> {
-      ctx.onComplete(context -> {
-        StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
-        sb.append(ctx.getRemoteAddress());
-        sb.append(SP).append(DASH).append(SP);
-        sb.append(userId.apply(ctx));
-        sb.append(SP);
-        sb.append(BL).append(df.apply(timestamp)).append(BR);
-        sb.append(SP);
-        sb.append(Q).append(ctx.getMethod());
-        sb.append(SP);
-        sb.append(ctx.getRequestPath());
-        sb.append(ctx.queryString());
-        sb.append(SP);
-        sb.append(ctx.getProtocol());
-        sb.append(Q).append(SP);
-        sb.append(ctx.getResponseCode().value());
-        sb.append(SP);
-        long responseLength = ctx.getResponseLength();
-        sb.append(responseLength >= 0 ? responseLength : DASH);
-        long now = System.currentTimeMillis();
-        sb.append(SP);
-        sb.append(now - timestamp);
-        appendHeaders(sb, requestHeaders, h -> ctx.header(h).valueOrNull());
-        appendHeaders(sb, responseHeaders, h -> ctx.getResponseHeader(h));
-        logRecord.accept(sb.toString());
-      });
+      ctx.onComplete(new Completion(ctx, System.currentTimeMillis()));
       return next.apply(ctx);
     };
   }
 
-  private void appendHeaders(StringBuilder buff, List<String> requestHeaders,
-      Function<String, String> headers) {
-    for (String header : requestHeaders) {
-      String value = headers.apply(header);
-      if (value == null) {
-        buff.append(SP).append(Q).append(DASH).append(Q);
-      } else {
-        buff.append(SP).append(Q).append(value).append(Q);
+  /** Per request completion listener, holds request start time. */
+  private class Completion implements Route.Complete {
+    private final Context ctx;
+
+    private final long timestamp;
+
+    Completion(Context ctx, long timestamp) {
+      this.ctx = ctx;
+      this.timestamp = timestamp;
+    }
+
+    @Override public void apply(@Nonnull Context context) {
+      // increment before reading the ring: close sees the offer or we see the ring closed
+      offering.incrementAndGet();
+      try {
+        RingBuffer<Record> ring = AccessLogHandler.this.ring;
+        if (ring != null) {
+          ring.offer(this, recorder);
+          return;
+        }
+      } finally {
+        offering.decrementAndGet();
+      }
+      Record record = new Record();
+      record(record);
+      logRecord.accept(format(record));
+    }
+
+    void record(Record record) {
+      record.remoteAddress = ctx.getRemoteAddress();
+      record.user = userId.apply(ctx);
+      record.timestamp = timestamp;
+      record.method = ctx.getMethod();
+      record.path = ctx.getRequestPath();
+      record.query = ctx.queryString();
+      record.protocol = ctx.getProtocol();
+      record.status = ctx.getResponseCode().value();
+      record.length = ctx.getResponseLength();
+      record.latency = System.currentTimeMillis() - timestamp;
+      record.requestHeaders = headers(requestHeaders, h -> ctx.header(h).valueOrNull());
+      record.responseHeaders = headers(responseHeaders, ctx::getResponseHeader);
+    }
+  }
+
+  private static String[] headers(List<String> names, Function<String, String> headers) {
+    if (names.isEmpty()) {
+      return null;
+    }
+    String[] values = new String[names.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = headers.apply(names.get(i));
+    }
+    return values;
+  }
+
+  private String format(Record record) {
+    StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
+    if (json) {
+      formatJson(sb, record);
+    } else {
+      formatNCSA(sb, record);
+    }
+    return sb.toString();
+  }
+
+  private void formatNCSA(StringBuilder sb, Record record) {
+    sb.append(record.remoteAddress);
+    sb.append(SP).append(DASH).append(SP);
+    sb.append(record.user);
+    sb.append(SP);
+    sb.append(BL).append(date(record.timestamp)).append(BR);
+    sb.append(SP);
+    sb.append(Q).append(record.method);
+    sb.append(SP);
+    sb.append(record.path);
+    sb.append(record.query);
+    sb.append(SP);
+    sb.append(record.protocol);
+    sb.append(Q).append(SP);
+    sb.append(record.status);
+    sb.append(SP);
+    if (record.length >= 0) {
+      sb.append(record.length);
+    } else {
+      sb.append(DASH);
+    }
+    sb.append(SP);
+    sb.append(record.latency);
+    appendHeaders(sb, record.requestHeaders);
+    appendHeaders(sb, record.responseHeaders);
+  }
+
+  private void appendHeaders(StringBuilder buff, String[] values) {
+    if (values != null) {
+      for (String value : values) {
+        buff.append(SP).append(Q).append(value == null ? DASH : value).append(Q);
+      }
+    }
+  }
+
+  private void formatJson(StringBuilder sb, Record record) {
+    sb.append('{');
+    jsonString(sb, "remoteAddress", record.remoteAddress).append(',');
+    jsonString(sb, "user", record.user).append(',');
+    sb.append("\"timestamp\":").append(record.timestamp).append(',');
+    jsonString(sb, "method", record.method).append(',');
+    jsonString(sb, "path", record.path).append(',');
+    jsonString(sb, "query", record.query).append(',');
+    jsonString(sb, "protocol", record.protocol).append(',');
+    sb.append("\"status\":").append(record.status).append(',');
+    sb.append("\"length\":").append(record.length).append(',');
+    sb.append("\"latency\":").append(record.latency);
+    jsonHeaders(sb, "requestHeaders", requestHeaders, record.requestHeaders);
+    jsonHeaders(sb, "responseHeaders", responseHeaders, record.responseHeaders);
+    sb.append('}');
+  }
+
+  private void jsonHeaders(StringBuilder sb, String name, List<String> names, String[] values) {
+    if (values != null) {
+      sb.append(",\"").append(name).append("\":{");
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        jsonString(sb, names.get(i), values[i]);
+      }
+      sb.append('}');
+    }
+  }
+
+  private static StringBuilder jsonString(StringBuilder sb, String name, String value) {
+    escape(sb.append(Q), name).append(Q).append(':');
+    if (value == null) {
+      return sb.append("null");
+    }
+    return escape(sb.append(Q), value).append(Q);
+  }
+
+  private static StringBuilder escape(StringBuilder sb, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (ch < 0x20) {
+            sb.append(String.format("\\u%04x", (int) ch));
+          } else {
+            sb.append(ch);
+          }
+      }
+    }
+    return sb;
+  }
+
+  private String date(long timestamp) {
+    if (!secondResolution) {
+      return df.apply(timestamp);
+    }
+    long second = timestamp / 1000;
+    CachedDate date = this.date;
+    if (date == null || date.second != second) {
+      date = new CachedDate(second, df.apply(timestamp));
+      this.date = date;
+    }
+    return date.value;
+  }
+
+  /**
+   * Log requests from a background thread. Request threads copy the log data into a bounded
+   * buffer of 8192 records. If the buffer is full, records are dropped.
+   *
+   * Call {@link #close()} on application shutdown to write pending records and stop the
+   * background thread, usually by registering the handler with {@link Jooby#onStop(AutoCloseable)}.
+   *
+   * @return This instance.
+   */
+  public @Nonnull AccessLogHandler async() {
+    return async(CAPACITY);
+  }
+
+  /**
+   * Log requests from a background thread. Request threads copy the log data into a bounded
+   * buffer of the given size. If the buffer is full, records are dropped.
+   *
+   * Call {@link #close()} on application shutdown to write pending records and stop the
+   * background thread, usually by registering the handler with {@link Jooby#onStop(AutoCloseable)}.
+   *
+   * @param capacity Max number of pending records.
+   * @return This instance.
+   */
+  public synchronized @Nonnull AccessLogHandler async(int capacity) {
+    if (ring == null) {
+      ring = new RingBuffer<>(capacity, Record::new);
+      running = true;
+      writer = new Thread(this::write, "access-log");
+      writer.setDaemon(true);
+      writer.start();
+    }
+    return this;
+  }
+
+  private void write() {
+    RingBuffer<Record> ring = this.ring;
+    while (running) {
+      if (ring.drain(printer, BATCH_SIZE) == 0) {
+        LockSupport.parkNanos(this, IDLE_NANOS);
+      }
+    }
+    // pending records
+    while (ring.drain(printer, BATCH_SIZE) > 0) {
+      // keep going
+    }
+  }
+
+  /**
+   * Number of records dropped because the async buffer was full.
+   *
+   * @return Number of dropped records.
+   */
+  public synchronized long getDroppedCount() {
+    RingBuffer<Record> ring = this.ring;
+    return ring == null ? dropped : dropped + ring.getDroppedCount();
+  }
+
+  /**
+   * Log records as JSON objects (one per line) instead of NCSA format.
+   *
+   * @return This instance.
+   */
+  public @Nonnull AccessLogHandler json() {
+    this.json = true;
+    return this;
+  }
+
+  /**
+   * Write pending records and stop the background thread, when running in async mode. Requests
+   * completing after this call are logged synchronously. Async mode can be started again with
+   * {@link #async()}.
+   *
+   * The background thread isn't tied to the application lifecycle, register this handler with
+   * {@link Jooby#onStop(AutoCloseable)} to close it on shutdown.
+   *
+   * @throws InterruptedException If interrupted while waiting for the background thread.
+   */
+  @Override public void close() throws InterruptedException {
+    Thread writer;
+    RingBuffer<Record> ring;
+    synchronized (this) {
+      writer = this.writer;
+      ring = this.ring;
+      this.writer = null;
+      // requests completing from now on are logged synchronously
+      this.ring = null;
+    }
+    if (writer != null) {
+      running = false;
+      LockSupport.unpark(writer);
+      writer.join();
+      // wait for request threads that read the ring before it was cleared
+      while (offering.get() > 0) {
+        Thread.yield();
+      }
+      // records offered while the writer was finishing
+      while (ring.drain(printer, BATCH_SIZE) > 0) {
+        // keep going
+      }
+      synchronized (this) {
+        dropped += ring.getDroppedCount();
       }
     }
   }
@@ -298,6 +673,8 @@ public class AccessLogHandler implements Route.Decorator {
   public @Nonnull AccessLogHandler dateFormatter(final Function<Long, String> formatter) {
     requireNonNull(formatter, "Formatter required.");
     this.df = formatter;
+    this.secondResolution = false;
+    this.date = null;
     return this;
   }
 
@@ -308,7 +685,9 @@ public class AccessLogHandler implements Route.Decorator {
    * @return This instance.
    */
   public @Nonnull AccessLogHandler dateFormatter(@Nonnull ZoneId zoneId) {
-    return dateFormatter(FORMATTER.withZone(zoneId));
+    dateFormatter(FORMATTER.withZone(zoneId));
+    this.secondResolution = true;
+    return this;
   }
 
   /**
@@ -5,7 +5,13 @@
  */
 package io.jooby;
 
+import io.jooby.internal.AssetCache;
+import io.jooby.internal.CachedAsset;
+import io.jooby.internal.FileAsset;
+
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -24,6 +30,9 @@ import static java.util.Objects.requireNonNull;
 public class AssetHandler implements Route.Handler {
   private static final int ONE_SEC = 1000;
 
+  /** Supported content encodings (in order of preference) and file extensions. */
+  private static final String[] ENCODINGS = {"br", ".br", "gzip", ".gz"};
+
   private final AssetSource[] sources;
 
   private final CacheControl defaults = CacheControl.defaults();
@@ -34,6 +43,10 @@ public class AssetHandler implements Route.Handler {
 
   private Function<String, CacheControl> cacheControl = path -> defaults;
 
+  private boolean precompressed;
+
+  private AssetCache cache;
+
   /**
    * Creates a new asset handler that fallback to the given fallback asset when the asset
    * is not found. Instead of produces a <code>404</code> its fallback to the given asset.
@@ -82,6 +95,27 @@ public class AssetHandler implements Route.Handler {
       resolvedPath = filepath;
     }
 
+    // Pre-compressed variant: .br or .gz
+    String contentEncoding = null;
+    MediaType contentType = asset.getContentType();
+    if (precompressed) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+      String acceptEncoding = ctx.header("Accept-Encoding").valueOrNull();
+      if (acceptEncoding != null) {
+        for (int i = 0; i < ENCODINGS.length; i += 2) {
+          if (accepts(acceptEncoding, ENCODINGS[i])) {
+            Asset compressed = resolve(resolvedPath + ENCODINGS[i + 1]);
+            if (compressed != null) {
+              asset.close();
+              asset = compressed;
+              contentEncoding = ENCODINGS[i];
+              break;
+            }
+          }
+        }
+      }
+    }
+
     CacheControl cacheParams = cacheControl.apply(resolvedPath);
 
     // handle If-None-Match
@@ -120,8 +154,20 @@ public class AssetHandler implements Route.Handler {
     long length = asset.getSize();
     if (length != -1) {
       ctx.setResponseLength(length);
+      ctx.setResponseHeader("Accept-Ranges", "bytes");
+    }
+    ctx.setResponseType(contentType);
+    if (contentEncoding != null) {
+      ctx.setResponseHeader("Content-Encoding", contentEncoding);
+    }
+    // Send: Range and If-Range are handled here for buffers and by server for files/streams
+    if (asset instanceof CachedAsset) {
+      ByteBuffer content = ((CachedAsset) asset).getContent();
+      return ctx.send(ByteRange.parse(ctx, content.remaining()).apply(ctx).apply(content));
+    }
+    if (asset instanceof FileAsset) {
+      return ctx.send(FileChannel.open(((FileAsset) asset).getPath()));
     }
-    ctx.setResponseType(asset.getContentType());
     return ctx.send(asset.stream());
   }
 
@@ -193,11 +239,90 @@ public class AssetHandler implements Route.Handler {
     return this;
   }
 
+  /**
+   * Turn on/off pre-compressed assets. When on, the handler looks for a <code>.br</code> or
+   * <code>.gz</code> sibling of the requested asset (like <code>app.js.br</code> or
+   * <code>app.js.gz</code>) and send it with a <code>Content-Encoding</code> header when the
+   * client accepts it. Compressed files are sent as they are, so they are not compressed again
+   * per request. Default is: false.
+   *
+   * @param precompressed True for turning on.
+   * @return This handler.
+   */
+  public AssetHandler setPrecompressed(boolean precompressed) {
+    this.precompressed = precompressed;
+    return this;
+  }
+
+  /**
+   * Turn on an asset cache of the given size (in bytes). Cached assets are resolved once: content,
+   * e-tag, content type, length and last modified are computed at load time and responses are
+   * sent from a shared buffer. Small assets are kept in memory, file assets larger than 64kb are
+   * memory-mapped. Assets larger than the cache size are never cached and least used assets are
+   * evicted once the cache is full.
+   *
+   * The cache is for assets that don't change while the application is running, like classpath
+   * assets or a production build of a frontend application. Default is: off.
+   *
+   * @param maxSize Max number of bytes to cache or <code>0</code> for turning off.
+   * @return This handler.
+   */
+  public AssetHandler setCacheSize(long maxSize) {
+    this.cache = maxSize > 0 ? new AssetCache(maxSize) : null;
+    return this;
+  }
+
+  /**
+   * Check if the <code>Accept-Encoding</code> header accepts the given encoding. Encodings with
+   * <code>q=0</code> are not acceptable.
+   *
+   * @param acceptEncoding Accept-Encoding header.
+   * @param encoding Encoding.
+   * @return True when encoding is acceptable.
+   */
+  private static boolean accepts(String acceptEncoding, String encoding) {
+    boolean accepts = false;
+    for (String token : acceptEncoding.split(",")) {
+      int semicolon = token.indexOf(';');
+      String name = (semicolon < 0 ? token : token.substring(0, semicolon)).trim();
+      boolean wildcard = name.equals("*");
+      if (wildcard || name.equalsIgnoreCase(encoding)) {
+        boolean acceptable = semicolon < 0 || !isZero(token.substring(semicolon + 1));
+        if (!wildcard) {
+          // explicit value wins over wildcard
+          return acceptable;
+        }
+        accepts = acceptable;
+      }
+    }
+    return accepts;
+  }
+
+  private static boolean isZero(String params) {
+    for (String param : params.split(";")) {
+      String value = param.trim();
+      if (value.startsWith("q=")) {
+        try {
+          return Double.parseDouble(value.substring(2).trim()) == 0;
+        } catch (NumberFormatException x) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
   private Asset resolve(String filepath) {
+    if (cache != null) {
+      Asset asset = cache.get(filepath);
+      if (asset != null) {
+        return asset;
+      }
+    }
     for (AssetSource source : sources) {
       Asset asset = source.resolve(filepath);
       if (asset != null) {
-        return asset;
+        return cache == null ? asset : cache.put(filepath, asset);
       }
     }
     return null;
@@ -7,12 +7,14 @@ package io.jooby;
 
 import io.jooby.exception.MissingValueException;
 import io.jooby.internal.ByteArrayBody;
+import io.jooby.internal.ByteBufferBody;
 import io.jooby.internal.FileBody;
 import io.jooby.internal.InputStreamBody;
 
 import javax.annotation.Nonnull;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
@@ -52,6 +54,16 @@ public interface Body extends ValueNode {
    */
   @Nonnull byte[] bytes();
 
+  /**
+   * HTTP body as read-only byte buffer. Bodies backed by server buffers return a view of them
+   * without copying, the view is valid until the request completes.
+   *
+   * @return Body as read-only byte buffer.
+   */
+  default @Nonnull ByteBuffer byteBuffer() {
+    return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+  }
+
   /**
    * True if body is on memory. False, indicates body is on file system. Body larger than
    * {@link ServerOptions#getMaxRequestSize()} will be dump to disk.
@@ -144,6 +156,18 @@ public interface Body extends ValueNode {
     return new ByteArrayBody(ctx, bytes);
   }
 
+  /**
+   * Creates a HTTP body from byte buffers, buffers are not copied. Caller is responsible for
+   * releasing them once the request completes.
+   *
+   * @param ctx Current context.
+   * @param buffers Byte buffers, ready to read.
+   * @return A new body.
+   */
+  static @Nonnull Body of(@Nonnull Context ctx, @Nonnull ByteBuffer... buffers) {
+    return new ByteBufferBody(ctx, buffers);
+  }
+
   /**
    * Creates a HTTP body from file.
    *
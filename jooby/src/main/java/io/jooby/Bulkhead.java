@@ -0,0 +1,337 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded executor for isolating routes (a.k.a bulkhead). At most <code>maxConcurrency</code>
+ * tasks run at the same time and at most <code>maxQueue</code> tasks wait for a free slot.
+ * Requests arriving when the bulkhead is full are rejected with
+ * {@link StatusCode#SERVICE_UNAVAILABLE} and a <code>Retry-After</code> header.
+ *
+ * <pre>{@code
+ * {
+ *   Bulkhead db = new Bulkhead("db", 10, 50);
+ *   onStop(db);
+ *
+ *   // script routes
+ *   dispatch(db, () -> {
+ *     get("/orders", ctx -> ...);
+ *   });
+ *
+ *   // mvc routes annotated with @Dispatch("db")
+ *   executor("db", db);
+ *   mvc(new Orders());
+ * }
+ * }</pre>
+ *
+ * Tasks run on a dedicated thread pool of <code>maxConcurrency</code> threads, so a slow
+ * downstream can't exhaust the application worker. Alternatively, tasks run on the executor
+ * provided at creation time.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class Bulkhead implements Executor, AutoCloseable {
+
+  private static final long RETRY_AFTER = 1;
+
+  /** Queued task, keeps track of enqueue time. */
+  private class Task implements Runnable {
+    private final Runnable task;
+
+    private final long enqueued = System.nanoTime();
+
+    Task(Runnable task) {
+      this.task = task;
+    }
+
+    @Override public void run() {
+      queueWait.add(System.nanoTime() - enqueued);
+      dispatched.increment();
+      try {
+        task.run();
+      } finally {
+        running.decrementAndGet();
+        pending.decrementAndGet();
+        drain();
+      }
+    }
+  }
+
+  private final String name;
+
+  private final int maxConcurrency;
+
+  private final int maxQueue;
+
+  private final Executor executor;
+
+  private final boolean ownExecutor;
+
+  private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+
+  /** Running + queued tasks. */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final LongAdder rejected = new LongAdder();
+
+  private final LongAdder dispatched = new LongAdder();
+
+  private final LongAdder queueWait = new LongAdder();
+
+  private long retryAfter = RETRY_AFTER;
+
+  /**
+   * Creates a bulkhead backed by a dedicated thread pool of <code>maxConcurrency</code> threads.
+   *
+   * @param name Bulkhead name, used as thread name prefix.
+   * @param maxConcurrency Max number of tasks running at the same time.
+   * @param maxQueue Max number of tasks waiting for a free slot.
+   */
+  public Bulkhead(@Nonnull String name, int maxConcurrency, int maxQueue) {
+    this(name, maxConcurrency, maxQueue, newExecutor(name, maxConcurrency), true);
+  }
+
+  /**
+   * Creates a bulkhead that runs tasks on the given executor. The executor must be able to run
+   * <code>maxConcurrency</code> tasks at the same time.
+   *
+   * @param name Bulkhead name.
+   * @param maxConcurrency Max number of tasks running at the same time.
+   * @param maxQueue Max number of tasks waiting for a free slot.
+   * @param executor Executor.
+   */
+  public Bulkhead(@Nonnull String name, int maxConcurrency, int maxQueue,
+      @Nonnull Executor executor) {
+    this(name, maxConcurrency, maxQueue, requireNonNull(executor, "Executor required."), false);
+  }
+
+  private Bulkhead(String name, int maxConcurrency, int maxQueue, Executor executor,
+      boolean ownExecutor) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("Max concurrency must be greater than zero");
+    }
+    if (maxQueue < 0) {
+      throw new IllegalArgumentException("Max queue must be positive");
+    }
+    this.name = requireNonNull(name, "Name required.");
+    this.maxConcurrency = maxConcurrency;
+    this.maxQueue = maxQueue;
+    this.executor = executor;
+    this.ownExecutor = ownExecutor;
+  }
+
+  /**
+   * Value of the <code>Retry-After</code> header sent on rejection. Default is: 1 second.
+   *
+   * @param retryAfter Retry after.
+   * @return This bulkhead.
+   */
+  public @Nonnull Bulkhead setRetryAfter(@Nonnull Duration retryAfter) {
+    this.retryAfter = Math.max(retryAfter.getSeconds(), 0);
+    return this;
+  }
+
+  /**
+   * Dispatch a request task. If the bulkhead is full, the request is rejected with
+   * {@link StatusCode#SERVICE_UNAVAILABLE} and a <code>Retry-After</code> header.
+   *
+   * @param ctx Web context.
+   * @param task Task to run.
+   * @return Web context.
+   */
+  public @Nonnull Context dispatch(@Nonnull Context ctx, @Nonnull Runnable task) {
+    if (tryAcquire()) {
+      return ctx.dispatch(this::submit, task);
+    }
+    ctx.removeResponseHeaders();
+    ctx.setResetHeadersOnError(false);
+    ctx.setResponseHeader("Retry-After", retryAfter);
+    return ctx.sendError(new StatusCodeException(StatusCode.SERVICE_UNAVAILABLE,
+        "Bulkhead full: " + name));
+  }
+
+  /**
+   * Execute a task or throws {@link RejectedExecutionException} when the bulkhead is full.
+   *
+   * @param task Task.
+   */
+  @Override public void execute(@Nonnull Runnable task) {
+    if (!tryAcquire()) {
+      throw new RejectedExecutionException("Bulkhead full: " + name);
+    }
+    submit(task);
+  }
+
+  private boolean tryAcquire() {
+    int limit = maxConcurrency + maxQueue;
+    while (true) {
+      int count = pending.get();
+      if (count >= limit) {
+        rejected.increment();
+        return false;
+      }
+      if (pending.compareAndSet(count, count + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void submit(Runnable task) {
+    queue.offer(new Task(task));
+    drain();
+  }
+
+  private void drain() {
+    while (true) {
+      int count = running.get();
+      if (count >= maxConcurrency || queue.isEmpty()) {
+        return;
+      }
+      if (running.compareAndSet(count, count + 1)) {
+        Task task = queue.poll();
+        if (task == null) {
+          // someone else got it
+          running.decrementAndGet();
+        } else {
+          try {
+            executor.execute(task);
+          } catch (RejectedExecutionException x) {
+            running.decrementAndGet();
+            pending.decrementAndGet();
+            throw x;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Bulkhead name.
+   *
+   * @return Bulkhead name.
+   */
+  public @Nonnull String getName() {
+    return name;
+  }
+
+  /**
+   * Max number of tasks running at the same time.
+   *
+   * @return Max number of tasks running at the same time.
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Max number of tasks waiting for a free slot.
+   *
+   * @return Max number of tasks waiting for a free slot.
+   */
+  public int getMaxQueue() {
+    return maxQueue;
+  }
+
+  /**
+   * Number of running tasks.
+   *
+   * @return Number of running tasks.
+   */
+  public int getActiveCount() {
+    return running.get();
+  }
+
+  /**
+   * Number of tasks waiting for a free slot.
+   *
+   * @return Number of tasks waiting for a free slot.
+   */
+  public int getQueueSize() {
+    return Math.max(pending.get() - running.get(), 0);
+  }
+
+  /**
+   * Number of rejected tasks.
+   *
+   * @return Number of rejected tasks.
+   */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * Number of tasks that left the queue and started running.
+   *
+   * @return Number of started tasks.
+   */
+  public long getDispatchedCount() {
+    return dispatched.sum();
+  }
+
+  /**
+   * Total time started tasks spent in the queue.
+   *
+   * @param unit Time unit.
+   * @return Total queue wait time.
+   */
+  public long getQueueWaitTime(@Nonnull TimeUnit unit) {
+    return unit.convert(queueWait.sum(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Average time a task spent in the queue or <code>0</code> when no task was started yet.
+   *
+   * @param unit Time unit.
+   * @return Average queue wait time.
+   */
+  public double getAverageQueueWaitTime(@Nonnull TimeUnit unit) {
+    long count = dispatched.sum();
+    return count == 0 ? 0 : (double) getQueueWaitTime(TimeUnit.NANOSECONDS) / count
+        / unit.toNanos(1);
+  }
+
+  /**
+   * Shutdown the dedicated thread pool, if any.
+   */
+  @Override public void close() {
+    if (ownExecutor) {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  @Override public String toString() {
+    return name + " {active: " + getActiveCount() + ", queue: " + getQueueSize()
+        + ", rejected: " + getRejectedCount() + "}";
+  }
+
+  private static ExecutorService newExecutor(String name, int threads) {
+    AtomicInteger next = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, name + "-" + next.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+}
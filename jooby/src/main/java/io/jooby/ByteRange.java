@@ -5,6 +5,7 @@
  */
 package io.jooby;
 
+import io.jooby.exception.StatusCodeException;
 import io.jooby.internal.NoByteRange;
 import io.jooby.internal.NotSatisfiableByteRange;
 import io.jooby.internal.SingleByteRange;
@@ -13,6 +14,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * Utility class to compute single byte range requests when response content length is known.
@@ -33,6 +35,29 @@ public interface ByteRange {
    */
   String BYTES_RANGE = "bytes=";
 
+  /**
+   * Parse the <code>Range</code> header of the current request. The range is ignored (full
+   * response) when the request has an <code>If-Range</code> header that doesn't match the
+   * <code>ETag</code> or <code>Last-Modified</code> response headers. Weak entity tags never match.
+   *
+   * @param ctx Web context.
+   * @param contentLength Content length.
+   * @return Byte range instance.
+   */
+  static @Nonnull ByteRange parse(@Nonnull Context ctx, long contentLength) {
+    String value = ctx.header("Range").valueOrNull();
+    if (value != null) {
+      String ifRange = ctx.header("If-Range").valueOrNull();
+      if (ifRange != null && (ifRange.startsWith("W/")
+          || !(ifRange.equals(ctx.getResponseHeader("ETag"))
+          || ifRange.equals(ctx.getResponseHeader("Last-Modified"))))) {
+        // validator changed, send full content
+        value = null;
+      }
+    }
+    return parse(value, contentLength);
+  }
+
   /**
    * Parse a byte range request value. Example of valid values:
    *
@@ -177,4 +202,29 @@ public interface ByteRange {
    * @throws IOException When truncation fails.
    */
   @Nonnull InputStream apply(@Nonnull InputStream input) throws IOException;
+
+  /**
+   * For partial requests this method generates a new buffer with the requested slice of the
+   * given buffer. Content is shared, not copied.
+   *
+   * For not satisfiable requests this method throws an exception.
+   *
+   * If there is no range to apply this method returns the given buffer.
+   *
+   * @param buffer Buffer.
+   * @return A buffer slice for partial request or same buffer.
+   */
+  default @Nonnull ByteBuffer apply(@Nonnull ByteBuffer buffer) {
+    StatusCode statusCode = getStatusCode();
+    if (statusCode == StatusCode.REQUESTED_RANGE_NOT_SATISFIABLE) {
+      throw new StatusCodeException(statusCode, toString());
+    }
+    if (statusCode != StatusCode.PARTIAL_CONTENT) {
+      return buffer;
+    }
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(buffer.position() + (int) getStart());
+    slice.limit(slice.position() + (int) getContentLength());
+    return slice.slice();
+  }
 }
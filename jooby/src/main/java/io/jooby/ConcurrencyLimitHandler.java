@@ -0,0 +1,268 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit. Instead of a fixed number of threads/requests, the limit is
+ * computed from observed latency using a gradient algorithm (similar to Netflix
+ * concurrency-limits):
+ *
+ * - A long term RTT (exponential moving average) is compared with the latest RTT. While both are
+ *   similar the limit grows, when latency increases (requests are queueing somewhere) the limit
+ *   shrinks proportionally.
+ * - Server errors (5xx) are handled as drops and decrease the limit multiplicatively.
+ *
+ * Requests exceeding the current limit are rejected with {@link StatusCode#SERVICE_UNAVAILABLE}
+ * and a <code>Retry-After</code> header.
+ *
+ * <pre>{@code
+ * {
+ *   decorator(new ConcurrencyLimitHandler());
+ *
+ *   get("/", ctx -> ...);
+ * }
+ * }</pre>
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class ConcurrencyLimitHandler implements Route.Decorator {
+
+  private static final int INITIAL_LIMIT = 20;
+
+  private static final int MAX_LIMIT = 1000;
+
+  private static final double TOLERANCE = 1.5;
+
+  private static final double SMOOTHING = 0.2;
+
+  private static final double BACKOFF = 0.9;
+
+  private static final int WARMUP = 10;
+
+  private static final int LONG_WINDOW = 600;
+
+  private static final long RETRY_AFTER = 1;
+
+  private static final AtomicIntegerFieldUpdater<ConcurrencyLimitHandler> inflightUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(ConcurrencyLimitHandler.class, "inflight");
+
+  private volatile int inflight;
+
+  private volatile int limit = INITIAL_LIMIT;
+
+  private double estimatedLimit = INITIAL_LIMIT;
+
+  private int minLimit = 1;
+
+  private int maxLimit = MAX_LIMIT;
+
+  private double tolerance = TOLERANCE;
+
+  private volatile long shortRtt;
+
+  private volatile double longRtt;
+
+  private int samples;
+
+  private final LongAdder rejected = new LongAdder();
+
+  private long retryAfter = RETRY_AFTER;
+
+  @Nonnull @Override public Route.Handler apply(@Nonnull Route.Handler next) {
+    return ctx -> {
+      int snapshot = tryAcquire();
+      if (snapshot < 0) {
+        rejected.increment();
+        ctx.removeResponseHeaders();
+        ctx.setResetHeadersOnError(false);
+        ctx.setResponseHeader("Retry-After", retryAfter);
+        return ctx.sendError(new StatusCodeException(StatusCode.SERVICE_UNAVAILABLE,
+            "Concurrency limit reached: " + limit));
+      }
+      long start = System.nanoTime();
+      ctx.onComplete(context -> {
+        inflightUpdater.decrementAndGet(this);
+        sample(System.nanoTime() - start, snapshot,
+            context.getResponseCode().value() >= StatusCode.SERVER_ERROR_CODE);
+      });
+      return next.apply(ctx);
+    };
+  }
+
+  /**
+   * Increment inflight requests.
+   *
+   * @return Number of inflight requests (including this one) or <code>-1</code> when limit was
+   *     reached.
+   */
+  private int tryAcquire() {
+    while (true) {
+      int current = inflight;
+      if (current >= limit) {
+        return -1;
+      }
+      if (inflightUpdater.compareAndSet(this, current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  synchronized void sample(long latency, int inflight, boolean dropped) {
+    long rtt = Math.max(latency, 1);
+    if (dropped) {
+      update(estimatedLimit * BACKOFF);
+      return;
+    }
+    shortRtt = rtt;
+    if (samples < WARMUP) {
+      // simple average
+      samples += 1;
+      longRtt = longRtt + (rtt - longRtt) / samples;
+    } else {
+      longRtt = longRtt + (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+    }
+    // drift: long term rtt was too high, recover faster
+    if (longRtt / rtt > 2) {
+      longRtt = longRtt * 0.95;
+    }
+    // application limited, don't grow the limit
+    if (inflight < estimatedLimit / 2) {
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+    double queueSize = Math.sqrt(estimatedLimit);
+    double newLimit = estimatedLimit * gradient + queueSize;
+    update(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+  }
+
+  private void update(double newLimit) {
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    limit = (int) estimatedLimit;
+  }
+
+  /**
+   * Initial concurrency limit. Default is: <code>20</code>.
+   *
+   * @param initialLimit Initial concurrency limit.
+   * @return This handler.
+   */
+  public synchronized @Nonnull ConcurrencyLimitHandler setInitialLimit(int initialLimit) {
+    update(initialLimit);
+    return this;
+  }
+
+  /**
+   * Min concurrency limit. Default is: <code>1</code>.
+   *
+   * @param minLimit Min concurrency limit.
+   * @return This handler.
+   */
+  public synchronized @Nonnull ConcurrencyLimitHandler setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+    update(estimatedLimit);
+    return this;
+  }
+
+  /**
+   * Max concurrency limit. Default is: <code>1000</code>.
+   *
+   * @param maxLimit Max concurrency limit.
+   * @return This handler.
+   */
+  public synchronized @Nonnull ConcurrencyLimitHandler setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+    update(estimatedLimit);
+    return this;
+  }
+
+  /**
+   * Ratio of latency increase accepted before reducing the limit. Default is: <code>1.5</code>,
+   * (latest RTT must be 50% higher than long term RTT).
+   *
+   * @param tolerance Latency tolerance. Must be greater or equal to <code>1</code>.
+   * @return This handler.
+   */
+  public synchronized @Nonnull ConcurrencyLimitHandler setTolerance(double tolerance) {
+    if (tolerance < 1) {
+      throw new IllegalArgumentException("Tolerance must be >= 1: " + tolerance);
+    }
+    this.tolerance = tolerance;
+    return this;
+  }
+
+  /**
+   * Value of the <code>Retry-After</code> header sent on rejection. Default is: 1 second.
+   *
+   * @param retryAfter Retry after.
+   * @return This handler.
+   */
+  public @Nonnull ConcurrencyLimitHandler setRetryAfter(@Nonnull Duration retryAfter) {
+    this.retryAfter = Math.max(retryAfter.getSeconds(), 0);
+    return this;
+  }
+
+  /**
+   * Current concurrency limit.
+   *
+   * @return Current concurrency limit.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Number of requests in flight.
+   *
+   * @return Number of requests in flight.
+   */
+  public int getInflight() {
+    return inflight;
+  }
+
+  /**
+   * Number of requests rejected due to limit.
+   *
+   * @return Number of requests rejected due to limit.
+   */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * Latest sampled RTT (request latency).
+   *
+   * @param unit Time unit.
+   * @return Latest sampled RTT (request latency).
+   */
+  public long getRtt(@Nonnull TimeUnit unit) {
+    return unit.convert(shortRtt, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Long term RTT (request latency) estimate.
+   *
+   * @param unit Time unit.
+   * @return Long term RTT (request latency) estimate.
+   */
+  public long getLongRtt(@Nonnull TimeUnit unit) {
+    return unit.convert((long) longRtt, TimeUnit.NANOSECONDS);
+  }
+
+  @Override public String toString() {
+    return "limit: " + limit + ", inflight: " + inflight + ", rtt: "
+        + getRtt(TimeUnit.MICROSECONDS) + "us, longRtt: " + getLongRtt(TimeUnit.MICROSECONDS)
+        + "us";
+  }
+}
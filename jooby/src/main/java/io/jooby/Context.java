@@ -725,6 +725,15 @@ public interface Context extends Registry {
    */
   @Nonnull Multipart multipart();
 
+  /**
+   * Read multipart data as a stream of parts, parts are parsed while reading the request body.
+   * Usually combined with {@link Route#setStreamingBody(boolean)}, so nothing is saved in memory
+   * or disk. Only for <code>multipart/form-data</code> request.
+   *
+   * @return Multipart stream.
+   */
+  @Nonnull MultipartStream multipartStream();
+
   /**
    * Get a multipart field that matches the given name.
    *
@@ -1183,6 +1192,21 @@ public interface Context extends Registry {
   @Nonnull Context responseStream(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
       throws Exception;
 
+  /**
+   * Buffered HTTP response. Bytes written by the consumer are kept in server buffers (pooled
+   * when possible) and sent as a single response with a <code>Content-Length</code> header once
+   * the consumer returns. Buffers are released if the consumer fails, so the response isn't
+   * started and error handler is able to send an error response.
+   *
+   * Don't need to close the output stream.
+   *
+   * @param consumer Output stream consumer.
+   * @return This context.
+   * @throws Exception Is something goes wrong.
+   */
+  @Nonnull Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception;
+
   /**
    * HTTP response channel as chunker.
    *
@@ -31,6 +31,7 @@ import org.slf4j.Logger;
 
 import io.jooby.exception.RegistryException;
 import io.jooby.exception.TypeMismatchException;
+import io.jooby.internal.ByteBufferOutputStream;
 import io.jooby.internal.HashValue;
 import io.jooby.internal.MissingValue;
 import io.jooby.internal.SingleValue;
@@ -340,6 +341,10 @@ public interface DefaultContext extends Context {
     return form().to(type);
   }
 
+  @Override @Nonnull default MultipartStream multipartStream() {
+    return MultipartStream.create(this);
+  }
+
   @Override @Nonnull default ValueNode multipart(@Nonnull String name) {
     return multipart().get(name);
   }
@@ -432,13 +437,8 @@ public interface DefaultContext extends Context {
     try {
       Route route = getRoute();
       MessageEncoder encoder = route.getEncoder();
-      byte[] bytes = encoder.encode(this, value);
-      if (bytes == null) {
-        if (!isResponseStarted()) {
-          throw new IllegalStateException("The response was not encoded");
-        }
-      } else {
-        send(bytes);
+      if (!encoder.render(this, value) && !isResponseStarted()) {
+        throw new IllegalStateException("The response was not encoded");
       }
       return this;
     } catch (Exception x) {
@@ -466,6 +466,13 @@ public interface DefaultContext extends Context {
     return this;
   }
 
+  @Override default @Nonnull Context responseBuffer(
+      @Nonnull SneakyThrows.Consumer<OutputStream> consumer) throws Exception {
+    ByteBufferOutputStream out = new ByteBufferOutputStream(ServerOptions._16KB);
+    consumer.tryAccept(out);
+    return send(out.toByteBuffers());
+  }
+
   @Override default @Nonnull PrintWriter responseWriter() {
     return responseWriter(MediaType.text);
   }
@@ -300,6 +300,10 @@ public class ForwardingContext implements Context {
     return ctx.multipart();
   }
 
+  @Override @Nonnull public MultipartStream multipartStream() {
+    return ctx.multipartStream();
+  }
+
   @Nonnull @Override public ValueNode multipart(@Nonnull String name) {
     return ctx.multipart(name);
   }
@@ -493,6 +497,13 @@ public class ForwardingContext implements Context {
     return ctx.responseStream(consumer);
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    ctx.responseBuffer(consumer);
+    return this;
+  }
+
   @Override @Nonnull public Sender responseSender() {
     return ctx.responseSender();
   }
@@ -0,0 +1,66 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+/**
+ * Statistics of the route match cache. Available as a service when the
+ * {@link RouterOption#MATCH_CACHE} option is enabled.
+ *
+ * <pre>{@code
+ * {
+ *   setRouterOptions(RouterOption.MATCH_CACHE);
+ *
+ *   onStarted(() -> {
+ *     MatchCacheStats stats = require(MatchCacheStats.class);
+ *     ...
+ *   });
+ * }
+ * }</pre>
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public interface MatchCacheStats {
+
+  /**
+   * Number of lookups resolved from cache.
+   *
+   * @return Number of lookups resolved from cache.
+   */
+  long getHitCount();
+
+  /**
+   * Number of lookups resolved from route tree.
+   *
+   * @return Number of lookups resolved from route tree.
+   */
+  long getMissCount();
+
+  /**
+   * Number of cached entries.
+   *
+   * @return Number of cached entries.
+   */
+  int getSize();
+
+  /**
+   * Max number of entries.
+   *
+   * @return Max number of entries.
+   */
+  int getCapacity();
+
+  /**
+   * Ratio of lookups resolved from cache or <code>0</code> when there is no lookup yet.
+   *
+   * @return Ratio of lookups resolved from cache.
+   */
+  default double getHitRatio() {
+    long hits = getHitCount();
+    long total = hits + getMissCount();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -12,7 +12,7 @@ import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Render a route output as byte array.
+ * Render a route output as byte array or write it into the response buffer.
  *
  * @author edgar
  * @since 2.0.0
@@ -37,6 +37,40 @@ public interface MessageEncoder {
    */
   @Nullable byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception;
 
+  /**
+   * Encode a value and send the response to client. Default implementation call
+   * {@link #encode(Context, Object)} and send the resulting byte array.
+   *
+   * Encoders that are able to write into an output stream should override this method and write
+   * directly into a server buffer using {@link Context#responseBuffer(SneakyThrows.Consumer)}, so
+   * large responses are not materialized as a byte array.
+   *
+   * @param ctx Web context.
+   * @param value Value to render.
+   * @return True if the response was sent, <code>false</code> if given object isn't supported it.
+   * @throws Exception If something goes wrong.
+   */
+  default boolean render(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    byte[] bytes = encode(ctx, value);
+    if (bytes == null) {
+      return false;
+    }
+    ctx.send(bytes);
+    return true;
+  }
+
+  /**
+   * Bind this encoder to a route. Called once per route at application startup, so an encoder is
+   * able to precompute state for the route return type (like a serializer). Default
+   * implementation returns this encoder.
+   *
+   * @param route Route.
+   * @return Encoder to use for the given route.
+   */
+  @Nonnull default MessageEncoder bind(@Nonnull Route route) {
+    return this;
+  }
+
   /**
    * Execute this renderer only if the <code>Accept</code> header matches the content-type
    * parameter.
@@ -45,11 +79,28 @@ public interface MessageEncoder {
    * @return A new renderer with accept header matching.
    */
   @Nonnull default MessageEncoder accept(@Nonnull MediaType contentType) {
-    return (ctx, value) -> {
-      if (ctx.accept(contentType)) {
-        return encode(ctx, value);
+    MessageEncoder encoder = this;
+    return new MessageEncoder() {
+      @Nullable @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value)
+          throws Exception {
+        if (ctx.accept(contentType)) {
+          return encoder.encode(ctx, value);
+        }
+        return null;
+      }
+
+      @Override public boolean render(@Nonnull Context ctx, @Nonnull Object value)
+          throws Exception {
+        if (ctx.accept(contentType)) {
+          return encoder.render(ctx, value);
+        }
+        return false;
+      }
+
+      @Nonnull @Override public MessageEncoder bind(@Nonnull Route route) {
+        MessageEncoder bound = encoder.bind(route);
+        return bound == encoder ? this : bound.accept(contentType);
       }
-      return null;
     };
   }
 
@@ -0,0 +1,157 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import io.jooby.exception.UnsupportedMediaType;
+import io.jooby.internal.MultipartParser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Multipart request parsed while reading the request body. Parts are available as they arrive,
+ * nothing is saved in memory or disk:
+ *
+ * <pre>{@code
+ * {
+ *   post("/upload", ctx -> {
+ *     for (MultipartStream.Part part : ctx.multipartStream()) {
+ *       if (part.isFile()) {
+ *         Files.copy(part.stream(), target.resolve(part.getFileName()));
+ *       } else {
+ *         String value = part.value();
+ *       }
+ *     }
+ *     return "OK";
+ *   }).setStreamingBody(true);
+ * }
+ * }</pre>
+ *
+ * Part content must be consumed before moving to next part, once a new part is requested the
+ * content of the previous one is skipped.
+ *
+ * Reading is blocking. Routes with a streaming body (see {@link Route#setStreamingBody(boolean)})
+ * always run on a worker thread. Network reads are paused while the handler isn't reading.
+ *
+ * HTTP request must be encoded as {@link MediaType#MULTIPART_FORMDATA}.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public interface MultipartStream extends Iterable<MultipartStream.Part>, Closeable {
+
+  /**
+   * A multipart part: a form field or a file.
+   */
+  interface Part {
+    /**
+     * Form field name.
+     *
+     * @return Form field name.
+     */
+    @Nonnull String getName();
+
+    /**
+     * File name or <code>null</code> for form fields.
+     *
+     * @return File name or <code>null</code> for form fields.
+     */
+    @Nullable String getFileName();
+
+    /**
+     * Part content type or <code>null</code>.
+     *
+     * @return Part content type or <code>null</code>.
+     */
+    @Nullable String getContentType();
+
+    /**
+     * Part header or <code>null</code>.
+     *
+     * @param name Header name (case insensitive).
+     * @return Part header or <code>null</code>.
+     */
+    @Nullable String header(@Nonnull String name);
+
+    /**
+     * True for file parts.
+     *
+     * @return True for file parts.
+     */
+    default boolean isFile() {
+      return getFileName() != null;
+    }
+
+    /**
+     * Part content. Valid until next part is requested.
+     *
+     * @return Part content.
+     */
+    @Nonnull InputStream stream();
+
+    /**
+     * Part content as UTF-8 string. Useful for form fields.
+     *
+     * @return Part content as UTF-8 string.
+     */
+    @Nonnull String value();
+  }
+
+  /**
+   * Next part or <code>null</code> when there is no more parts. Content of previous part is
+   * skipped.
+   *
+   * @return Next part or <code>null</code>.
+   * @throws IOException On read failure or malformed multipart body.
+   */
+  @Nullable Part next() throws IOException;
+
+  @Nonnull @Override default Iterator<Part> iterator() {
+    return new Iterator<Part>() {
+      private Part next;
+
+      @Override public boolean hasNext() {
+        if (next == null) {
+          try {
+            next = MultipartStream.this.next();
+          } catch (IOException x) {
+            throw SneakyThrows.propagate(x);
+          }
+        }
+        return next != null;
+      }
+
+      @Override public Part next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Part result = next;
+        next = null;
+        return result;
+      }
+    };
+  }
+
+  /**
+   * Creates a multipart stream from request body.
+   *
+   * @param ctx Current context.
+   * @return Multipart stream.
+   */
+  static @Nonnull MultipartStream create(@Nonnull Context ctx) {
+    MediaType type = ctx.getRequestType(MediaType.text);
+    String boundary = type.getParameter("boundary");
+    if (!type.getValue().equalsIgnoreCase(MediaType.MULTIPART_FORMDATA) || boundary == null) {
+      throw new UnsupportedMediaType(type.getValue());
+    }
+    return new MultipartParser(ctx.body().stream(), boundary);
+  }
+}
@@ -7,8 +7,10 @@ package io.jooby;
 
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.jooby.internal.TokenBucketTable;
 
 import javax.annotation.Nonnull;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -16,9 +18,21 @@ import java.util.function.Function;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
- * Rate limit handler using https://github.com/vladimir-bukhtoyarov/bucket4j.
+ * Rate limit handler. Ships with a built-in local (in-memory) limiter and supports
+ * https://github.com/vladimir-bukhtoyarov/bucket4j.
  *
- * NOTE: bucket4j must be included as part of your project dependencies (classpath).
+ * Built-in limiter: 100 requests per minute per IP address, no extra dependency:
+ * <pre>{@code
+ * {
+ *   before(RateLimitHandler.local(100, Duration.ofMinutes(1)));
+ * }
+ * }</pre>
+ *
+ * The built-in limiter keeps one token bucket per key in a bounded table (10000 keys by default).
+ * Idle keys are removed when the table is full.
+ *
+ * NOTE: For the next examples, bucket4j must be included as part of your project dependencies
+ * (classpath).
  *
  * Example 1: 10 requests per minute
  * <pre>{@code
@@ -70,7 +84,94 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  */
 public class RateLimitHandler implements Route.Before {
 
-  private final Function<Context, Bucket> factory;
+  private static final int MAX_KEYS = 10_000;
+
+  /** Consume a token or reject the request. */
+  private interface Limiter {
+    void apply(Context ctx) throws Exception;
+
+    default int getKeyCount() {
+      return 0;
+    }
+
+    default long getEvictionCount() {
+      return 0;
+    }
+  }
+
+  /** Built-in limiter. */
+  private static class LocalLimiter implements Limiter {
+    private final TokenBucketTable buckets;
+
+    private final SneakyThrows.Function<Context, String> classifier;
+
+    LocalLimiter(TokenBucketTable buckets, SneakyThrows.Function<Context, String> classifier) {
+      this.buckets = buckets;
+      this.classifier = classifier;
+    }
+
+    @Override public void apply(Context ctx) {
+      long remaining = buckets.tryConsume(classifier.apply(ctx));
+      if (remaining >= 0) {
+        ctx.setResponseHeader("X-Rate-Limit-Remaining", remaining);
+      } else {
+        reject(ctx, -remaining);
+      }
+    }
+
+    @Override public int getKeyCount() {
+      return buckets.getKeyCount();
+    }
+
+    @Override public long getEvictionCount() {
+      return buckets.getEvictionCount();
+    }
+  }
+
+  /** Bucket4j limiter, keep all bucket4j references here (it is an optional dependency). */
+  private static class Bucket4jLimiter implements Limiter {
+    private final Function<Context, Bucket> factory;
+
+    private final Map<String, Bucket> buckets;
+
+    Bucket4jLimiter(Function<Context, Bucket> factory, Map<String, Bucket> buckets) {
+      this.factory = factory;
+      this.buckets = buckets;
+    }
+
+    static Limiter global(Bucket bucket) {
+      return new Bucket4jLimiter(ctx -> bucket, null);
+    }
+
+    static Limiter cluster(SneakyThrows.Function<String, Bucket> proxyManager,
+        SneakyThrows.Function<Context, String> classifier) {
+      return new Bucket4jLimiter(ctx -> proxyManager.apply(classifier.apply(ctx)), null);
+    }
+
+    static Limiter byKey(SneakyThrows.Function<String, Bucket> bucketFactory,
+        SneakyThrows.Function<Context, String> classifier) {
+      Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+      return new Bucket4jLimiter(
+          ctx -> buckets.computeIfAbsent(classifier.apply(ctx), bucketFactory), buckets);
+    }
+
+    @Override public void apply(Context ctx) {
+      Bucket bucket = factory.apply(ctx);
+      // tryConsume returns false immediately if no tokens available with the bucket
+      ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+      if (probe.isConsumed()) {
+        ctx.setResponseHeader("X-Rate-Limit-Remaining", probe.getRemainingTokens());
+      } else {
+        reject(ctx, probe.getNanosToWaitForRefill());
+      }
+    }
+
+    @Override public int getKeyCount() {
+      return buckets == null ? 0 : buckets.size();
+    }
+  }
+
+  private final Limiter limiter;
 
   /**
    * Rate limit per IP/Remote Address.
@@ -100,7 +201,7 @@ public class RateLimitHandler implements Route.Before {
    */
   public RateLimitHandler(@Nonnull SneakyThrows.Function<String, Bucket> bucketFactory,
       @Nonnull SneakyThrows.Function<Context, String> classifier) {
-    this(byKey(bucketFactory, classifier));
+    this(Bucket4jLimiter.byKey(bucketFactory, classifier));
   }
 
   /**
@@ -109,11 +210,71 @@ public class RateLimitHandler implements Route.Before {
    * @param bucket Bucket to use.
    */
   public RateLimitHandler(@Nonnull Bucket bucket) {
-    this((Function<Context, Bucket>) ctx -> bucket);
+    this(Bucket4jLimiter.global(bucket));
+  }
+
+  private RateLimitHandler(Limiter limiter) {
+    this.limiter = limiter;
   }
 
-  private RateLimitHandler(Function<Context, Bucket> factory) {
-    this.factory = factory;
+  /**
+   * Built-in rate limiter per IP/Remote address. Allows <code>capacity</code> requests per
+   * <code>period</code>, tokens are refilled gradually.
+   *
+   * @param capacity Max number of requests per period (burst size).
+   * @param period Time to refill all the tokens.
+   * @return Rate limiter.
+   */
+  public static @Nonnull RateLimitHandler local(long capacity, @Nonnull Duration period) {
+    return local(capacity, period, Context::getRemoteAddress);
+  }
+
+  /**
+   * Built-in rate limiter per header key. Allows <code>capacity</code> requests per
+   * <code>period</code>, tokens are refilled gradually.
+   *
+   * @param capacity Max number of requests per period (burst size).
+   * @param period Time to refill all the tokens.
+   * @param headerName Header to use as key.
+   * @return Rate limiter.
+   */
+  public static @Nonnull RateLimitHandler local(long capacity, @Nonnull Duration period,
+      @Nonnull String headerName) {
+    return local(capacity, period, ctx -> ctx.header(headerName).value());
+  }
+
+  /**
+   * Built-in rate limiter per key. Allows <code>capacity</code> requests per <code>period</code>,
+   * tokens are refilled gradually. Keeps up to <code>10000</code> keys.
+   *
+   * @param capacity Max number of requests per period (burst size).
+   * @param period Time to refill all the tokens.
+   * @param classifier Key provider.
+   * @return Rate limiter.
+   */
+  public static @Nonnull RateLimitHandler local(long capacity, @Nonnull Duration period,
+      @Nonnull SneakyThrows.Function<Context, String> classifier) {
+    return local(capacity, period, MAX_KEYS, classifier);
+  }
+
+  /**
+   * Built-in rate limiter per key. Allows <code>capacity</code> requests per <code>period</code>,
+   * tokens are refilled gradually.
+   *
+   * Keys are kept in a bounded table. When the table is full, keys with a full bucket (idle keys)
+   * are removed first, if still full some other keys are removed (they start again with a full
+   * bucket).
+   *
+   * @param capacity Max number of requests per period (burst size).
+   * @param period Time to refill all the tokens.
+   * @param maxKeys Max number of keys to keep in memory.
+   * @param classifier Key provider.
+   * @return Rate limiter.
+   */
+  public static @Nonnull RateLimitHandler local(long capacity, @Nonnull Duration period,
+      int maxKeys, @Nonnull SneakyThrows.Function<Context, String> classifier) {
+    return new RateLimitHandler(
+        new LocalLimiter(new TokenBucketTable(capacity, period, maxKeys), classifier));
   }
 
   /**
@@ -149,27 +310,35 @@ public class RateLimitHandler implements Route.Before {
   public static RateLimitHandler cluster(
       @Nonnull SneakyThrows.Function<String, Bucket> proxyManager,
       @Nonnull SneakyThrows.Function<Context, String> classifier) {
-    return new RateLimitHandler(
-        (Function<Context, Bucket>) ctx -> proxyManager.apply(classifier.apply(ctx)));
+    return new RateLimitHandler(Bucket4jLimiter.cluster(proxyManager, classifier));
+  }
+
+  /**
+   * Number of keys (buckets) kept in memory. Always <code>0</code> for global and cluster
+   * limiters.
+   *
+   * @return Number of keys (buckets) kept in memory.
+   */
+  public int getKeyCount() {
+    return limiter.getKeyCount();
+  }
+
+  /**
+   * Number of keys removed from memory by the built-in limiter.
+   *
+   * @return Number of keys removed from memory.
+   */
+  public long getEvictionCount() {
+    return limiter.getEvictionCount();
   }
 
   @Override public void apply(@Nonnull Context ctx) throws Exception {
-    Bucket bucket = factory.apply(ctx);
-    // tryConsume returns false immediately if no tokens available with the bucket
-    ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-    if (probe.isConsumed()) {
-      ctx.setResponseHeader("X-Rate-Limit-Remaining", probe.getRemainingTokens());
-    } else {
-      ctx.setResponseHeader("X-Rate-Limit-Retry-After-Milliseconds",
-          NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
-      ctx.send(StatusCode.TOO_MANY_REQUESTS);
-    }
+    limiter.apply(ctx);
   }
 
-  private static Function<Context, Bucket> byKey(
-      SneakyThrows.Function<String, Bucket> bucketFactory,
-      SneakyThrows.Function<Context, String> classifier) {
-    Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    return ctx -> buckets.computeIfAbsent(classifier.apply(ctx), bucketFactory);
+  private static void reject(Context ctx, long nanosToWait) {
+    ctx.setResponseHeader("X-Rate-Limit-Retry-After-Milliseconds",
+        NANOSECONDS.toMillis(nanosToWait));
+    ctx.send(StatusCode.TOO_MANY_REQUESTS);
   }
 }
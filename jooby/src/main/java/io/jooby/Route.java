@@ -387,6 +387,8 @@ public class Route {
 
   private String executorKey;
 
+  private boolean streamingBody;
+
   private List<String> tags = EMPTY_LIST;
 
   private String summary;
@@ -863,6 +865,33 @@ public class Route {
     return this;
   }
 
+  /**
+   * True when the request body is not read before executing the route. See
+   * {@link #setStreamingBody(boolean)}.
+   *
+   * @return True when the request body is not read before executing the route.
+   */
+  public boolean isStreamingBody() {
+    return streamingBody;
+  }
+
+  /**
+   * Set to true when the request body must not be read before executing the route. By default,
+   * the request body is fully read (in memory or in a temporary file) before executing the route.
+   *
+   * A streaming body is read by the route handler while it arrives, using
+   * {@link Context#multipartStream()}, {@link Body#stream()} or {@link Body#channel()}. The route
+   * handler always runs in a worker thread (reading the body is blocking) and the
+   * {@link ServerOptions#getMaxRequestSize()} doesn't apply.
+   *
+   * @param streamingBody True for reading the request body from route handler.
+   * @return This route.
+   */
+  public @Nonnull Route setStreamingBody(boolean streamingBody) {
+    this.streamingBody = streamingBody;
+    return this;
+  }
+
   /**
    * Route tags.
    *
@@ -274,11 +274,16 @@ public interface Router extends Registry {
    * }
    * }</pre>
    *
+   * Domain matching is case insensitive. A domain might start with a wildcard:
+   * <code>*.foo.com</code>, to match any subdomain of <code>foo.com</code>. Domain routes are
+   * resolved from a host index and take precedence over predicate routes (see
+   * {@link #mount(Predicate, Router)}).
+   *
    * NOTE: if you run behind a reverse proxy you might to enabled {@link #setTrustProxy(boolean)}.
    *
    * NOTE: ONLY routes are imported. Services, callback, etc.. are ignored.
    *
-   * @param domain Predicate
+   * @param domain Domain name or wildcard domain name.
    * @param subrouter Subrouter.
    * @return This router.
    */
@@ -298,9 +303,14 @@ public interface Router extends Registry {
    * }
    * }</pre>
    *
+   * Domain matching is case insensitive. A domain might start with a wildcard:
+   * <code>*.foo.com</code>, to match any subdomain of <code>foo.com</code>. Domain routes are
+   * resolved from a host index and take precedence over predicate routes (see
+   * {@link #mount(Predicate, Runnable)}).
+   *
    * NOTE: if you run behind a reverse proxy you might to enabled {@link #setTrustProxy(boolean)}.
    *
-   * @param domain Predicate
+   * @param domain Domain name or wildcard domain name.
    * @param body Route action.
    * @return This router.
    */
@@ -994,30 +1004,32 @@ public interface Router extends Registry {
   @Nonnull Router setFlashCookie(@Nonnull Cookie flashCookie);
 
   /**
-   * Add a custom string value converter.
+   * Add a custom string value converter. Converters must be registered before application starts.
    *
    * @param converter Custom value converter.
    * @return This router.
+   * @throws IllegalStateException If application was already started.
    */
   @Nonnull Router converter(@Nonnull ValueConverter converter);
 
   /**
-   * Add a custom bean value converter.
+   * Add a custom bean value converter. Converters must be registered before application starts.
    *
    * @param converter Custom value converter.
    * @return This router.
+   * @throws IllegalStateException If application was already started.
    */
   @Nonnull Router converter(@Nonnull BeanConverter converter);
 
   /**
-   * Get all simple/string value converters.
+   * Get all simple/string value converters. Once application starts, the list is read-only.
    *
    * @return All simple/string value converters.
    */
   @Nonnull List<ValueConverter> getConverters();
 
   /**
-   * Get all complex/bean value converters.
+   * Get all complex/bean value converters. Once application starts, the list is read-only.
    *
    * @return All complex/bean value converters.
    */
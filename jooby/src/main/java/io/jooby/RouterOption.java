@@ -22,6 +22,10 @@ package io.jooby;
  *    RESET_HEADERS_ON_ERROR: Indicates whenever response headers are clear/reset in case of
  *    exception.
  *  </li>
+ *  <li>
+ *    MATCH_CACHE: Cache route matches of dynamic paths (paths with variables). Domain and
+ *    predicate routes are not cached.
+ *  </li>
  * </ul>
  *
  * @author edgar
@@ -45,5 +49,21 @@ public enum RouterOption {
   NORMALIZE_SLASH,
 
   /** Indicates whenever response headers are clear/reset in case of exception. */
-  RESET_HEADERS_ON_ERROR
+  RESET_HEADERS_ON_ERROR,
+
+  /**
+   * Cache route matches of dynamic paths (paths with variables) by HTTP method and request path.
+   * Static paths are always resolved without traversing the route tree, so they aren't cached.
+   *
+   * The cache is bounded and lock-free, entries are evicted using a second chance (CLOCK) policy.
+   * Cache size is set by the <code>router.matchCache.size</code> application property (defaults
+   * to <code>1024</code>). Hit/miss counters are available as a {@link MatchCacheStats} service.
+   *
+   * Only routes of the main route tree are cached. Routes registered inside
+   * {@link Router#domain(String, Runnable)} or {@link Router#mount(java.util.function.Predicate,
+   * Runnable)} are always resolved by traversing their own route tree.
+   *
+   * @since 2.9.3
+   */
+  MATCH_CACHE
 }
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -20,6 +21,7 @@ import javax.net.ssl.SSLContext;
 
 import com.typesafe.config.Config;
 import io.jooby.internal.SslContextProvider;
+import io.jooby.internal.VirtualThreads;
 
 /**
  * Available server options.
@@ -74,6 +76,9 @@ public class ServerOptions {
   /** Number of worker threads (a.k.a application) to use. */
   private Integer workerThreads;
 
+  /** Run worker (a.k.a application) tasks on virtual threads, when available (JDK 21+). */
+  private boolean virtualThreads;
+
   /**
    * Configure server to default headers: <code>Date</code>, <code>Content-Type</code> and
    * <code>Server</code> header.
@@ -97,6 +102,15 @@ public class ServerOptions {
 
   private Integer compressionLevel;
 
+  /** Enable HTTP/2: h2 (ALPN) on secure port and h2c on HTTP port. */
+  private boolean http2;
+
+  /** Max number of concurrent HTTP/2 streams per connection or <code>null</code>. */
+  private Integer http2MaxConcurrentStreams;
+
+  /** HTTP/2 initial (stream level) flow-control window size in bytes or <code>null</code>. */
+  private Integer http2InitialWindowSize;
+
   /**
    * Creates server options from config object. The configuration options must provided entries
    * like: <code>server.port</code>, <code>server.ioThreads</code>, etc...
@@ -137,9 +151,22 @@ public class ServerOptions {
       if (conf.hasPath("server.workerThreads")) {
         options.setWorkerThreads(conf.getInt("server.workerThreads"));
       }
+      if (conf.hasPath("server.virtualThreads")) {
+        options.setVirtualThreads(conf.getBoolean("server.virtualThreads"));
+      }
       if (conf.hasPath("server.host")) {
         options.setHost(conf.getString("server.host"));
       }
+      if (conf.hasPath("server.http2")) {
+        options.setHttp2(conf.getBoolean("server.http2"));
+      }
+      if (conf.hasPath("server.http2MaxConcurrentStreams")) {
+        options.setHttp2MaxConcurrentStreams(conf.getInt("server.http2MaxConcurrentStreams"));
+      }
+      if (conf.hasPath("server.http2InitialWindowSize")) {
+        options.setHttp2InitialWindowSize(
+            conf.getBytes("server.http2InitialWindowSize").intValue());
+      }
       // ssl
       SslOptions.from(conf, "server.ssl").ifPresent(options::setSsl);
 
@@ -155,12 +182,19 @@ public class ServerOptions {
     if (!"jetty".equals(server)) {
       buff.append(", ioThreads: ").append(Optional.ofNullable(ioThreads).orElse(IO_THREADS));
     }
-    buff.append(", workerThreads: ").append(getWorkerThreads());
+    if (virtualThreads && VirtualThreads.isAvailable()) {
+      buff.append(", workerThreads: virtual");
+    } else {
+      buff.append(", workerThreads: ").append(getWorkerThreads());
+    }
     buff.append(", bufferSize: ").append(bufferSize);
     buff.append(", maxRequestSize: ").append(maxRequestSize);
     if (compressionLevel != null) {
       buff.append(", gzip");
     }
+    if (http2) {
+      buff.append(", http2");
+    }
     buff.append("}");
 
     return buff.toString();
@@ -304,6 +338,39 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * True when worker (a.k.a application) tasks run on virtual threads. Default is: false.
+   *
+   * @return True when worker (a.k.a application) tasks run on virtual threads.
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Run worker (a.k.a application) tasks on virtual threads. Each blocking request gets its own
+   * virtual thread, so {@link #getWorkerThreads()} is ignored. Requires JDK 21 or higher; on
+   * older JVMs the server fallback to the default worker thread pool.
+   *
+   * @param virtualThreads True for running worker tasks on virtual threads.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  /**
+   * Creates a worker executor using virtual threads, when {@link #isVirtualThreads()} is enabled
+   * and the current JVM supports them (JDK 21+).
+   *
+   * @param name Thread name prefix.
+   * @return A new virtual thread executor or <code>null</code>.
+   */
+  public @Nullable ExecutorService newVirtualWorker(@Nonnull String name) {
+    return virtualThreads ? VirtualThreads.newExecutor(name) : null;
+  }
+
   /**
    * True if gzip is enabled.
    *
@@ -442,6 +509,74 @@ public class ServerOptions {
     }
   }
 
+  /**
+   * True when HTTP/2 is enabled: h2 (negotiated via ALPN) on the secure port and h2c (upgrade or
+   * prior knowledge) on the HTTP port. Default is: false.
+   *
+   * @return True when HTTP/2 is enabled.
+   */
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  /**
+   * Enable/disable HTTP/2: h2 (negotiated via ALPN) on the secure port and h2c (upgrade or
+   * prior knowledge) on the HTTP port. HTTP/1.1 clients are still supported. Default is: false.
+   *
+   * @param http2 True for enabling HTTP/2.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setHttp2(boolean http2) {
+    this.http2 = http2;
+    return this;
+  }
+
+  /**
+   * Max number of concurrent HTTP/2 streams a client is allowed to open per connection or
+   * <code>null</code> for server default.
+   *
+   * @return Max number of concurrent HTTP/2 streams or <code>null</code>.
+   */
+  public @Nullable Integer getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  /**
+   * Set max number of concurrent HTTP/2 streams a client is allowed to open per connection.
+   *
+   * @param http2MaxConcurrentStreams Max number of concurrent streams or <code>null</code> for
+   *     server default.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setHttp2MaxConcurrentStreams(
+      @Nullable Integer http2MaxConcurrentStreams) {
+    this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    return this;
+  }
+
+  /**
+   * HTTP/2 initial flow-control window size (in bytes) of each stream or <code>null</code> for
+   * server default.
+   *
+   * @return HTTP/2 initial window size or <code>null</code>.
+   */
+  public @Nullable Integer getHttp2InitialWindowSize() {
+    return http2InitialWindowSize;
+  }
+
+  /**
+   * Set HTTP/2 initial flow-control window size (in bytes) of each stream. Bigger values let
+   * clients upload more data before waiting for a window update.
+   *
+   * @param http2InitialWindowSize Initial window size or <code>null</code> for server default.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setHttp2InitialWindowSize(
+      @Nullable Integer http2InitialWindowSize) {
+    this.http2InitialWindowSize = http2InitialWindowSize;
+    return this;
+  }
+
   /**
    * SSL options.
    *
@@ -0,0 +1,391 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses concurrent identical <code>GET</code> requests into a single handler execution (a.k.a
+ * single flight). The first request (leader) runs the handler, encodes the response and shares
+ * the encoded bytes with all the identical requests (followers) that arrived while it was running.
+ * Nothing is cached: once the leader completes, the next request runs the handler again.
+ *
+ * <pre>{@code
+ * {
+ *   decorator(new SingleFlightHandler()
+ *       .setQueryParams("lang")
+ *       .setVaryHeaders("Accept"));
+ *
+ *   get("/catalog/{id}", ctx -> ...);
+ * }
+ * }</pre>
+ *
+ * Requests are identical when method, host, path, query parameters (all of them or those set via
+ * {@link #setQueryParams(String...)}) and headers set via {@link #setVaryHeaders(String...)} are
+ * equals. Responses must not depend on anything else (like user or session).
+ *
+ * Followers share status code, content type and body of the leader response. Other response
+ * headers are not shared. When the leader doesn't produce an encoded response (it sends the
+ * response itself, a file, a stream, etc.) followers run the handler. Leader errors are propagated
+ * to followers.
+ *
+ * Followers of blocking routes wait on the calling thread, followers of {@link CompletionStage}
+ * routes don't block. Followers wait at most {@link #setTimeout(Duration)}, once expired the
+ * request is rejected with {@link StatusCode#SERVICE_UNAVAILABLE}.
+ *
+ * Routes returning other async types (RxJava, Reactor, reactive streams <code>Publisher</code>,
+ * Kotlin coroutines, etc.) are never collapsed, requests go straight to the handler.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class SingleFlightHandler implements Route.Decorator {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  /**
+   * Async types (besides {@link CompletionStage}) with their own response handler. Referenced by
+   * name, because they are optional dependencies.
+   */
+  private static final Set<String> ASYNC_TYPES = new HashSet<>(Arrays.asList(
+      "io.reactivex.Single",
+      "io.reactivex.Maybe",
+      "io.reactivex.Flowable",
+      "io.reactivex.Observable",
+      "io.reactivex.disposables.Disposable",
+      "reactor.core.publisher.Flux",
+      "reactor.core.publisher.Mono",
+      "kotlinx.coroutines.Deferred",
+      "kotlinx.coroutines.Job",
+      "kotlin.coroutines.Continuation",
+      "org.reactivestreams.Publisher"
+  ));
+
+  /** True for types that can't be collapsed. */
+  private static final ClassValue<Boolean> PASS_THROUGH = new ClassValue<Boolean>() {
+    @Override protected Boolean computeValue(Class<?> type) {
+      return isAsyncType(type);
+    }
+  };
+
+  /** Encoded leader response. */
+  private static class Response {
+    private final StatusCode statusCode;
+
+    private final String contentType;
+
+    private final byte[] body;
+
+    Response(StatusCode statusCode, String contentType, byte[] body) {
+      this.statusCode = statusCode;
+      this.contentType = contentType;
+      this.body = body;
+    }
+  }
+
+  /** Schedule timeouts for non-blocking followers. Created on first use. */
+  private static class Timer {
+    private static final ScheduledExecutorService INSTANCE = newTimer();
+
+    private static ScheduledExecutorService newTimer() {
+      ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(task);
+        thread.setName("single-flight-timer");
+        thread.setDaemon(true);
+        return thread;
+      });
+      timer.setRemoveOnCancelPolicy(true);
+      return timer;
+    }
+  }
+
+  /** Flight: completes with the leader response or <code>null</code> when not shareable. */
+  private final Map<String, CompletableFuture<Response>> flights = new ConcurrentHashMap<>();
+
+  private List<String> queryParams;
+
+  private List<String> varyHeaders = Collections.emptyList();
+
+  private long timeout = TIMEOUT.toMillis();
+
+  private final LongAdder leaders = new LongAdder();
+
+  private final LongAdder followers = new LongAdder();
+
+  private final LongAdder timeouts = new LongAdder();
+
+  @Nonnull @Override public Route.Handler apply(@Nonnull Route.Handler next) {
+    return ctx -> {
+      if (!ctx.getMethod().equals(Router.GET) || isPassThrough(ctx.getRoute())) {
+        return next.apply(ctx);
+      }
+      String key = key(ctx);
+      CompletableFuture<Response> flight = new CompletableFuture<>();
+      CompletableFuture<Response> existing = flights.putIfAbsent(key, flight);
+      if (existing != null) {
+        followers.increment();
+        if (isAsync(ctx.getRoute())) {
+          return followAsync(ctx, next, existing);
+        }
+        return follow(ctx, next, existing);
+      }
+      leaders.increment();
+      try {
+        Object result = next.apply(ctx);
+        if (result instanceof CompletionStage) {
+          return ((CompletionStage<Object>) result).whenComplete((value, x) -> {
+            if (x != null) {
+              fail(key, flight, x);
+            } else {
+              lead(ctx, key, flight, value);
+            }
+          });
+        }
+        return lead(ctx, key, flight, result);
+      } catch (Throwable x) {
+        fail(key, flight, x);
+        throw x;
+      }
+    };
+  }
+
+  private Object lead(Context ctx, String key, CompletableFuture<Response> flight, Object value) {
+    try {
+      flights.remove(key, flight);
+      if (value == null || ctx.isResponseStarted()) {
+        flight.complete(null);
+        return value;
+      }
+      byte[] body = ctx.getRoute().getEncoder().encode(ctx, value);
+      if (body == null) {
+        // response was sent by encoder (file, stream, etc.)
+        flight.complete(null);
+        return ctx;
+      }
+      flight.complete(
+          new Response(ctx.getResponseCode(), ctx.getResponseHeader("Content-Type"), body));
+      return ctx.send(body);
+    } catch (Throwable x) {
+      flight.completeExceptionally(x);
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private void fail(String key, CompletableFuture<Response> flight, Throwable cause) {
+    flights.remove(key, flight);
+    flight.completeExceptionally(cause);
+  }
+
+  private Object follow(Context ctx, Route.Handler next, CompletableFuture<Response> flight)
+      throws Exception {
+    Response response;
+    try {
+      response = flight.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException x) {
+      throw SneakyThrows.propagate(x.getCause());
+    } catch (TimeoutException x) {
+      timeouts.increment();
+      throw timeout();
+    }
+    if (response == null) {
+      return next.apply(ctx);
+    }
+    return send(ctx, response);
+  }
+
+  private CompletionStage<Object> followAsync(Context ctx, Route.Handler next,
+      CompletableFuture<Response> flight) {
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    ScheduledFuture<?> timer = Timer.INSTANCE.schedule(() -> {
+      // count before complete, so counter is up to date once the request completes
+      timeouts.increment();
+      if (!result.completeExceptionally(timeout())) {
+        timeouts.decrement();
+      }
+    }, timeout, TimeUnit.MILLISECONDS);
+    flight.whenComplete((response, x) -> {
+      timer.cancel(false);
+      if (x != null) {
+        result.completeExceptionally(x);
+      } else {
+        result.complete(response);
+      }
+    });
+    return result.thenCompose(response -> {
+      if (response == null) {
+        try {
+          return (CompletionStage<Object>) next.apply(ctx);
+        } catch (Exception x) {
+          throw SneakyThrows.propagate(x);
+        }
+      }
+      return CompletableFuture.completedFuture(send(ctx, response));
+    });
+  }
+
+  private Context send(Context ctx, Response response) {
+    ctx.setResponseCode(response.statusCode);
+    if (response.contentType != null) {
+      ctx.setResponseType(response.contentType);
+    }
+    return ctx.send(response.body);
+  }
+
+  private StatusCodeException timeout() {
+    return new StatusCodeException(StatusCode.SERVICE_UNAVAILABLE,
+        "Timeout while waiting for identical request");
+  }
+
+  private boolean isPassThrough(Route route) {
+    Type type = route.getReturnType();
+    return type != null && PASS_THROUGH.get(Reified.rawType(type));
+  }
+
+  private static boolean isAsyncType(Class<?> type) {
+    if (type == null || type == Object.class) {
+      return false;
+    }
+    if (ASYNC_TYPES.contains(type.getName())) {
+      return true;
+    }
+    for (Class<?> it : type.getInterfaces()) {
+      if (isAsyncType(it)) {
+        return true;
+      }
+    }
+    return isAsyncType(type.getSuperclass());
+  }
+
+  private boolean isAsync(Route route) {
+    Type type = route.getReturnType();
+    return type != null && CompletionStage.class.isAssignableFrom(Reified.rawType(type));
+  }
+
+  private String key(Context ctx) {
+    StringBuilder key = new StringBuilder(ctx.getMethod()).append(' ')
+        .append(ctx.getHost())
+        .append(ctx.getRequestPath());
+    if (queryParams == null) {
+      key.append(ctx.queryString());
+    } else {
+      for (String name : queryParams) {
+        key.append('\n').append(name).append('=').append(ctx.query(name).toList());
+      }
+    }
+    for (String name : varyHeaders) {
+      key.append('\n').append(name).append(':').append(ctx.header(name).toList());
+    }
+    return key.toString();
+  }
+
+  /**
+   * Query parameters that identify a request. Default is: all query parameters (the entire query
+   * string).
+   *
+   * @param names Query parameter names.
+   * @return This handler.
+   */
+  public @Nonnull SingleFlightHandler setQueryParams(@Nonnull String... names) {
+    this.queryParams = Arrays.asList(names);
+    return this;
+  }
+
+  /**
+   * Request headers that identify a request, like <code>Accept</code> or
+   * <code>Accept-Language</code> when the response varies on them. Default is: none.
+   *
+   * @param names Header names.
+   * @return This handler.
+   */
+  public @Nonnull SingleFlightHandler setVaryHeaders(@Nonnull String... names) {
+    this.varyHeaders = Arrays.asList(names);
+    return this;
+  }
+
+  /**
+   * Max time a request waits for an identical request in flight. Default is: <code>10s</code>.
+   *
+   * @param timeout Max wait time.
+   * @return This handler.
+   */
+  public @Nonnull SingleFlightHandler setTimeout(@Nonnull Duration timeout) {
+    this.timeout = timeout.toMillis();
+    return this;
+  }
+
+  /**
+   * Number of handler executions (leader requests).
+   *
+   * @return Number of handler executions (leader requests).
+   */
+  public long getLeaderCount() {
+    return leaders.sum();
+  }
+
+  /**
+   * Number of requests that waited for an identical request (follower requests).
+   *
+   * @return Number of requests that waited for an identical request (follower requests).
+   */
+  public long getFollowerCount() {
+    return followers.sum();
+  }
+
+  /**
+   * Number of followers that timed out while waiting.
+   *
+   * @return Number of followers that timed out while waiting.
+   */
+  public long getTimeoutCount() {
+    return timeouts.sum();
+  }
+
+  /**
+   * Number of requests in flight (distinct keys).
+   *
+   * @return Number of requests in flight (distinct keys).
+   */
+  public int getInflight() {
+    return flights.size();
+  }
+
+  /**
+   * Ratio of coalesced requests: <code>followers / (leaders + followers)</code>.
+   *
+   * @return Ratio of coalesced requests, between <code>0</code> and <code>1</code>.
+   */
+  public double getCoalescingRatio() {
+    long followers = this.followers.sum();
+    long total = leaders.sum() + followers;
+    return total == 0 ? 0 : (double) followers / total;
+  }
+
+  @Override public String toString() {
+    return "leaders: " + getLeaderCount() + ", followers: " + getFollowerCount() + ", timeouts: "
+        + getTimeoutCount() + ", inflight: " + getInflight();
+  }
+}
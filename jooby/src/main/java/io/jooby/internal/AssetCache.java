@@ -0,0 +1,166 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Asset;
+import io.jooby.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of assets keyed by path. Small assets are loaded in memory, file assets larger
+ * than {@link #MAPPED_THRESHOLD} are memory-mapped. The cache is weighted by byte size: an asset
+ * larger than the cache size is never cached.
+ *
+ * Lookups are lock-free. Loads are synchronized and evict entries using a second chance (CLOCK)
+ * policy: a hit marks the entry as used, eviction clears the used bit of used entries and
+ * removes unused ones until the cache fits again. Assets are expected to be immutable while the
+ * application runs.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class AssetCache {
+
+  /** File assets larger than this are memory-mapped. */
+  public static final long MAPPED_THRESHOLD = 64 * 1024;
+
+  private final ConcurrentHashMap<String, CachedAsset> entries = new ConcurrentHashMap<>();
+
+  private final long maxSize;
+
+  /** Current weight. Guarded by this. */
+  private long size;
+
+  /**
+   * Creates a new asset cache.
+   *
+   * @param maxSize Max number of bytes to keep.
+   */
+  public AssetCache(long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Cache size must be greater than 0: " + maxSize);
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Find a cached asset.
+   *
+   * @param path Asset path.
+   * @return Cached asset or <code>null</code>.
+   */
+  public CachedAsset get(@Nonnull String path) {
+    CachedAsset asset = entries.get(path);
+    if (asset != null) {
+      asset.used = true;
+    }
+    return asset;
+  }
+
+  /**
+   * Load and cache an asset. The asset is closed when it gets cached.
+   *
+   * @param path Asset path.
+   * @param asset Asset.
+   * @return A cached asset or the given asset when it can't be cached.
+   */
+  public @Nonnull Asset put(@Nonnull String path, @Nonnull Asset asset) {
+    long len = asset.getSize();
+    if (len < 0 || len > maxSize || len > Integer.MAX_VALUE || asset.isDirectory()) {
+      return asset;
+    }
+    CachedAsset cached;
+    try (Asset source = asset) {
+      cached = new CachedAsset(path, load(source, (int) len), source);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+    synchronized (this) {
+      CachedAsset existing = entries.putIfAbsent(path, cached);
+      if (existing != null) {
+        return existing;
+      }
+      size += cached.getSize();
+      if (size > maxSize) {
+        evict(cached);
+      }
+    }
+    return cached;
+  }
+
+  /**
+   * @return Number of cached bytes.
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return Number of cached assets.
+   */
+  public int count() {
+    return entries.size();
+  }
+
+  private void evict(CachedAsset keep) {
+    // Two passes at most: first one clears used bits, second one removes everything else
+    for (int pass = 0; pass < 2 && size > maxSize; pass++) {
+      Iterator<CachedAsset> it = entries.values().iterator();
+      while (it.hasNext() && size > maxSize) {
+        CachedAsset asset = it.next();
+        if (asset != keep) {
+          if (asset.used) {
+            asset.used = false;
+          } else {
+            it.remove();
+            size -= asset.getSize();
+          }
+        }
+      }
+    }
+  }
+
+  private ByteBuffer load(Asset asset, int len) throws IOException {
+    if (asset instanceof FileAsset && len >= MAPPED_THRESHOLD) {
+      try (FileChannel channel = FileChannel.open(((FileAsset) asset).getPath())) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, len);
+      }
+    }
+    try (InputStream in = asset.stream()) {
+      byte[] bytes = new byte[len];
+      int count = 0;
+      while (true) {
+        if (count == bytes.length) {
+          // size mismatch? keep reading
+          int next = in.read();
+          if (next == -1) {
+            break;
+          }
+          bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, 1024));
+          bytes[count++] = (byte) next;
+        }
+        int n = in.read(bytes, count, bytes.length - count);
+        if (n == -1) {
+          break;
+        }
+        count += n;
+      }
+      return ByteBuffer.wrap(bytes, 0, count);
+    }
+  }
+
+  @Override public String toString() {
+    return "{count: " + count() + ", size: " + size() + ", maxSize: " + maxSize + "}";
+  }
+}
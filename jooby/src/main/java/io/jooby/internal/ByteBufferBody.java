@@ -0,0 +1,149 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Body;
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.ValueNode;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body backed by server buffers. Buffers are never modified, all the read operations work on
+ * duplicates so body can be read more than once while buffers are valid.
+ */
+public class ByteBufferBody implements Body {
+
+  private static class BufferChannel implements ReadableByteChannel {
+    private final ByteBuffer[] buffers;
+
+    private int index;
+
+    private boolean open = true;
+
+    BufferChannel(ByteBuffer[] buffers) {
+      this.buffers = new ByteBuffer[buffers.length];
+      for (int i = 0; i < buffers.length; i++) {
+        this.buffers[i] = buffers[i].duplicate();
+      }
+    }
+
+    @Override public int read(ByteBuffer dst) throws ClosedChannelException {
+      if (!open) {
+        throw new ClosedChannelException();
+      }
+      int read = 0;
+      while (index < buffers.length && dst.hasRemaining()) {
+        ByteBuffer src = buffers[index];
+        int len = Math.min(src.remaining(), dst.remaining());
+        if (len == src.remaining()) {
+          dst.put(src);
+          index += 1;
+        } else {
+          ByteBuffer slice = src.duplicate();
+          slice.limit(slice.position() + len);
+          dst.put(slice);
+          src.position(src.position() + len);
+        }
+        read += len;
+      }
+      return read == 0 && index == buffers.length ? -1 : read;
+    }
+
+    @Override public boolean isOpen() {
+      return open;
+    }
+
+    @Override public void close() {
+      open = false;
+    }
+  }
+
+  private final Context ctx;
+
+  private final ByteBuffer[] buffers;
+
+  private final long size;
+
+  public ByteBufferBody(Context ctx, ByteBuffer[] buffers) {
+    this.ctx = ctx;
+    this.buffers = buffers;
+    long size = 0;
+    for (ByteBuffer buffer : buffers) {
+      size += buffer.remaining();
+    }
+    this.size = size;
+  }
+
+  @Override public long getSize() {
+    return size;
+  }
+
+  @Override public byte[] bytes() {
+    byte[] bytes = new byte[(int) size];
+    int offset = 0;
+    for (ByteBuffer buffer : buffers) {
+      int len = buffer.remaining();
+      buffer.duplicate().get(bytes, offset, len);
+      offset += len;
+    }
+    return bytes;
+  }
+
+  @Nonnull @Override public ByteBuffer byteBuffer() {
+    if (buffers.length == 1) {
+      return buffers[0].asReadOnlyBuffer();
+    }
+    return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+  }
+
+  @Override public ReadableByteChannel channel() {
+    return new BufferChannel(buffers);
+  }
+
+  @Override public boolean isInMemory() {
+    return true;
+  }
+
+  @Override public InputStream stream() {
+    return Channels.newInputStream(channel());
+  }
+
+  @Nonnull @Override public String value() {
+    return value(StandardCharsets.UTF_8);
+  }
+
+  @Nonnull @Override public ValueNode get(@Nonnull int index) {
+    return index == 0 ? this : get(Integer.toString(index));
+  }
+
+  @Nonnull @Override public ValueNode get(@Nonnull String name) {
+    return new MissingValue(name);
+  }
+
+  @Override public String name() {
+    return "body";
+  }
+
+  @Nonnull @Override public <T> T to(@Nonnull Type type) {
+    return ctx.decode(type, ctx.getRequestType(MediaType.text));
+  }
+
+  @Override public Map<String, List<String>> toMultimap() {
+    return Collections.emptyMap();
+  }
+}
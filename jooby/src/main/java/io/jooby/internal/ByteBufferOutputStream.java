@@ -0,0 +1,118 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Output stream backed by a list of byte buffers. Unlike {@link java.io.ByteArrayOutputStream}
+ * buffers are never copied while growing: once a buffer is full a new one is allocated. Written
+ * bytes are exposed via {@link #toByteBuffers()} and sent as a gathering write.
+ *
+ * Default implementation allocates heap buffers of increasing size (up to the given buffer size).
+ * Server implementations allocate buffers from their own pool and return them on
+ * {@link #release()}.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+  private static final int MIN_BUFFER_SIZE = 1024;
+
+  private final int bufferSize;
+
+  private ByteBuffer[] buffers = new ByteBuffer[4];
+
+  private int count;
+
+  private ByteBuffer current;
+
+  private long size;
+
+  /**
+   * Creates a new output stream.
+   *
+   * @param bufferSize Max size of the (heap) buffers allocated by this stream.
+   */
+  public ByteBufferOutputStream(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Allocate a new buffer, ready for writing (position at zero and limit at capacity).
+   *
+   * @param capacity Expected capacity.
+   * @return A new buffer.
+   */
+  protected ByteBuffer allocate(int capacity) {
+    return ByteBuffer.allocate(capacity);
+  }
+
+  /**
+   * Release buffers. Default implementation does nothing, heap buffers are garbage collected.
+   */
+  public void release() {
+  }
+
+  @Override public void write(int b) {
+    if (current == null || !current.hasRemaining()) {
+      next();
+    }
+    current.put((byte) b);
+    size += 1;
+  }
+
+  @Override public void write(byte[] b, int off, int len) {
+    int remaining = len;
+    int offset = off;
+    while (remaining > 0) {
+      if (current == null || !current.hasRemaining()) {
+        next();
+      }
+      int chunk = Math.min(remaining, current.remaining());
+      current.put(b, offset, chunk);
+      offset += chunk;
+      remaining -= chunk;
+    }
+    size += len;
+  }
+
+  /**
+   * Number of written bytes.
+   *
+   * @return Number of written bytes.
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Written bytes as byte buffers, ready for reading. Must be called once, after writing.
+   *
+   * @return Written bytes.
+   */
+  public ByteBuffer[] toByteBuffers() {
+    ByteBuffer[] result = Arrays.copyOf(buffers, count);
+    for (ByteBuffer buffer : result) {
+      buffer.flip();
+    }
+    return result;
+  }
+
+  /**
+   * Does nothing: buffers are sent and released by the owner of this stream.
+   */
+  @Override public void close() {
+  }
+
+  private void next() {
+    int capacity = (int) Math.min(bufferSize, Math.max(MIN_BUFFER_SIZE, size));
+    current = allocate(capacity);
+    if (count == buffers.length) {
+      buffers = Arrays.copyOf(buffers, count * 2);
+    }
+    buffers[count++] = current;
+  }
+}
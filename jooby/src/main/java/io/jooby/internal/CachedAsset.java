@@ -0,0 +1,118 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Asset;
+import io.jooby.MediaType;
+
+import javax.annotation.Nonnull;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Asset held by {@link AssetCache}. Content, e-tag, content type and last modified are computed
+ * once at load time. Content is a read-only heap buffer or a memory-mapped file.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class CachedAsset implements Asset {
+
+  private final String path;
+
+  private final ByteBuffer content;
+
+  private final MediaType contentType;
+
+  private final long lastModified;
+
+  private final String etag;
+
+  /** Second chance bit. Plain field: a lost update is harmless. */
+  boolean used;
+
+  /**
+   * Creates a new cached asset.
+   *
+   * @param path Asset path.
+   * @param content Asset content.
+   * @param source Asset source, used for e-tag, content type and last modified.
+   */
+  public CachedAsset(@Nonnull String path, @Nonnull ByteBuffer content, @Nonnull Asset source) {
+    this.path = path;
+    this.content = content.asReadOnlyBuffer();
+    this.contentType = source.getContentType();
+    this.lastModified = source.getLastModified();
+    this.etag = source.getEtag();
+  }
+
+  /**
+   * Asset content. Callers get their own view of the (shared) content, so it is safe to consume
+   * it.
+   *
+   * @return Asset content.
+   */
+  public @Nonnull ByteBuffer getContent() {
+    return content.duplicate();
+  }
+
+  /**
+   * @return True when the content is a memory-mapped file.
+   */
+  public boolean isMapped() {
+    return content.isDirect();
+  }
+
+  @Override public long getSize() {
+    return content.remaining();
+  }
+
+  @Override public long getLastModified() {
+    return lastModified;
+  }
+
+  @Override public boolean isDirectory() {
+    return false;
+  }
+
+  @Nonnull @Override public String getEtag() {
+    return etag;
+  }
+
+  @Nonnull @Override public MediaType getContentType() {
+    return contentType;
+  }
+
+  @Override public InputStream stream() {
+    ByteBuffer buffer = getContent();
+    return new InputStream() {
+      @Override public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+      }
+
+      @Override public int read(byte[] b, int off, int len) {
+        if (!buffer.hasRemaining()) {
+          return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+      }
+
+      @Override public int available() {
+        return buffer.remaining();
+      }
+    };
+  }
+
+  @Override public void close() {
+    // NOOP
+  }
+
+  @Override public String toString() {
+    return path;
+  }
+}
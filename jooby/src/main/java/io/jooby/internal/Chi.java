@@ -10,10 +10,11 @@ import io.jooby.Route;
 import io.jooby.Router;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -23,12 +24,12 @@ import java.util.stream.Stream;
  */
 class Chi implements RouteTree {
   private static final String EMPTY_STRING = "";
-  private static final byte ntStatic = 0;// /home
-  private static final byte ntRegexp = 1;                // /{id:[0-9]+}
-  private static final byte ntParam = 2;                // /{user}
-  private static final byte ntCatchAll = 3;               // /api/v1/*
+  static final byte ntStatic = 0;// /home
+  static final byte ntRegexp = 1;                // /{id:[0-9]+}
+  static final byte ntParam = 2;                // /{user}
+  static final byte ntCatchAll = 3;               // /api/v1/*
 
-  private static final int NODE_SIZE = ntCatchAll + 1;
+  static final int NODE_SIZE = ntCatchAll + 1;
 
   static final char ZERO_CHAR = (char) 0;
   private MessageEncoder encoder;
@@ -39,6 +40,8 @@ class Chi implements RouteTree {
     void put(String method, StaticRouterMatch route);
 
     boolean matches(String method);
+
+    void forEach(BiConsumer<String, StaticRouterMatch> consumer);
   }
 
   private static class SingleMethodMatcher implements MethodMatcher {
@@ -58,6 +61,10 @@ class Chi implements RouteTree {
       return this.method.equals(method);
     }
 
+    @Override public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      consumer.accept(method, route);
+    }
+
     public void clear() {
       this.method = null;
       this.route = null;
@@ -65,23 +72,45 @@ class Chi implements RouteTree {
   }
 
   private static class MultipleMethodMatcher implements MethodMatcher {
-    private Map<String, StaticRouterMatch> methods = new ConcurrentHashMap<>();
+    /** Standard methods indexed by ordinal. */
+    private StaticRouterMatch[] routes = new StaticRouterMatch[HttpMethods.SIZE];
+
+    /** Custom methods. */
+    private Map<String, StaticRouterMatch> methods = Collections.emptyMap();
 
     public MultipleMethodMatcher(SingleMethodMatcher matcher) {
-      methods.put(matcher.method, matcher.route);
+      put(matcher.method, matcher.route);
       matcher.clear();
     }
 
     @Override public StaticRouterMatch get(String method) {
-      return methods.get(method);
+      int ordinal = HttpMethods.ordinal(method);
+      return ordinal < 0 ? methods.get(method) : routes[ordinal];
     }
 
     @Override public void put(String method, StaticRouterMatch route) {
-      methods.put(method, route);
+      int ordinal = HttpMethods.ordinal(method);
+      if (ordinal < 0) {
+        if (methods.isEmpty()) {
+          methods = new ConcurrentHashMap<>();
+        }
+        methods.put(method, route);
+      } else {
+        routes[ordinal] = route;
+      }
     }
 
     @Override public boolean matches(String method) {
-      return this.methods.containsKey(method);
+      return get(method) != null;
+    }
+
+    @Override public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      for (int i = 0; i < routes.length; i++) {
+        if (routes[i] != null) {
+          consumer.accept(Router.METHODS.get(i), routes[i]);
+        }
+      }
+      methods.forEach(consumer);
     }
   }
 
@@ -96,6 +125,10 @@ class Chi implements RouteTree {
       }
       matcher.put(method, new StaticRouterMatch(route));
     }
+
+    public void forEach(BiConsumer<String, StaticRouterMatch> consumer) {
+      matcher.forEach(consumer);
+    }
   }
 
   static class Segment {
@@ -120,7 +153,7 @@ class Chi implements RouteTree {
     }
   }
 
-  private static class Node implements Comparable<Node> {
+  static class Node implements Comparable<Node> {
     // node type: static, regexp, param, catchAll
     byte typ;
 
@@ -134,7 +167,7 @@ class Chi implements RouteTree {
     String prefix;
 
     // regexp matcher for regexp nodes
-    Pattern rex;
+    SegmentMatcher rex;
 
     // HTTP handler endpoints on the leaf node
     Map<String, Route> endpoints;
@@ -320,7 +353,7 @@ class Chi implements RouteTree {
 
           if (segTyp == ntRegexp) {
             child.prefix = seg.rexPat;
-            child.rex = Pattern.compile(seg.rexPat);
+            child.rex = SegmentMatcher.compile(seg.rexPat);
           }
 
           if (segStartIdx == 0) {
@@ -471,7 +504,7 @@ class Chi implements RouteTree {
                 }
 
                 if (ntyp == ntRegexp && xn.rex != null) {
-                  if (!xn.rex.matcher(xsearch.substring(0, p)).matches()) {
+                  if (!xn.rex.matches(xsearch, 0, p)) {
                     continue;
                   }
                 } else if (xsearch.substring(0, p).indexOf('/') != -1) {
@@ -480,8 +513,9 @@ class Chi implements RouteTree {
                 }
 
                 // rctx.routeParams.Values = append(rctx.routeParams.Values, xsearch[:p])
-                int prevlen = rctx.vars.size();
-                rctx.value(xsearch.substring(0, p));
+                int prevlen = rctx.size();
+                int start = rctx.offset(xsearch);
+                rctx.value(start, start + p);
                 xsearch = xsearch.substring(p);
 
                 if (xsearch.length() == 0) {
@@ -510,7 +544,8 @@ class Chi implements RouteTree {
               // catch-all nodes
               // rctx.routeParams.Values = append(rctx.routeParams.Values, search)
               if (xsearch.length() > 0) {
-                rctx.value(xsearch);
+                int start = rctx.offset(xsearch);
+                rctx.value(start, start + xsearch.length());
               }
               xn = nds[0];
               xsearch = EMPTY_STRING;
@@ -768,7 +803,7 @@ class Chi implements RouteTree {
 
   private Router.Match findInternal(String method, String path) {
     // use radix tree
-    RouterMatch result = new RouterMatch();
+    RouterMatch result = new RouterMatch(path);
     Route route = root.findRoute(result, method, path);
     if (route == null) {
       return result.missing(method, path, encoder);
@@ -779,4 +814,14 @@ class Chi implements RouteTree {
   public void setEncoder(MessageEncoder encoder) {
     this.encoder = encoder;
   }
+
+  /**
+   * Compiles this tree into a read-only, array based route tree. Routes can't be added to the
+   * resulting tree, so this method is expected to be called once application has started.
+   *
+   * @return A frozen route tree.
+   */
+  public RouteTree freeze() {
+    return new FrozenChi(root, staticPaths, encoder);
+  }
 }
@@ -0,0 +1,65 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Read-only list of converters that remembers which converter (if any) supports a type. The
+ * router creates it at startup, once all the converters were registered.
+ *
+ * @param <C> Converter type.
+ */
+public final class ConverterList<C> extends AbstractList<C> implements RandomAccess {
+  /** Marks types without converter. */
+  private static final Object NONE = new Object();
+
+  private final Object[] converters;
+
+  private final BiPredicate<C, Class> supports;
+
+  private final Map<Class, Object> cache = new ConcurrentHashMap<>();
+
+  public ConverterList(List<C> converters, BiPredicate<C, Class> supports) {
+    this.converters = converters.toArray();
+    this.supports = supports;
+  }
+
+  /**
+   * First converter that supports the given type.
+   *
+   * @param type Conversion type.
+   * @return First converter that supports the given type or <code>null</code>.
+   */
+  public @Nullable C converter(Class type) {
+    Object converter = cache.get(type);
+    if (converter == null) {
+      converter = NONE;
+      for (Object candidate : converters) {
+        if (supports.test((C) candidate, type)) {
+          converter = candidate;
+          break;
+        }
+      }
+      cache.putIfAbsent(type, converter);
+    }
+    return converter == NONE ? null : (C) converter;
+  }
+
+  @Override public C get(int index) {
+    return (C) converters[index];
+  }
+
+  @Override public int size() {
+    return converters.length;
+  }
+}
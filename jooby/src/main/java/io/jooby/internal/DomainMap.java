@@ -0,0 +1,106 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Router;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Route trees indexed by host name. Host names are case insensitive and might start with a
+ * wildcard: <code>*.foo.com</code>, which matches <code>bar.foo.com</code> and
+ * <code>baz.bar.foo.com</code> but not <code>foo.com</code>.
+ *
+ * Exact hosts are resolved with a single hash lookup. Wildcard hosts are stored by suffix, lookup
+ * checks one suffix per host label, from the most specific to the least specific one. So, cost of
+ * lookup depends on the size of the host name not on the number of registered domains.
+ */
+final class DomainMap {
+  private static final String WILDCARD = "*.";
+
+  private final Map<String, RouteTree[]> hosts = new HashMap<>();
+
+  private final Map<String, RouteTree[]> wildcards = new HashMap<>();
+
+  public void put(String domain, RouteTree tree) {
+    String host = domain.trim().toLowerCase(Locale.ROOT);
+    if (host.startsWith(WILDCARD)) {
+      append(wildcards, host.substring(WILDCARD.length()), tree);
+    } else {
+      append(hosts, host, tree);
+    }
+  }
+
+  /**
+   * Find a matching route for the given host.
+   *
+   * @param host Host name.
+   * @param method HTTP method.
+   * @param path Request path.
+   * @return A matching route or <code>null</code>.
+   */
+  public Router.Match find(String host, String method, String path) {
+    String key = host.toLowerCase(Locale.ROOT);
+    Router.Match match = find(hosts.get(key), method, path);
+    if (match == null && wildcards.size() > 0) {
+      int dot = key.indexOf('.');
+      while (match == null && dot > 0) {
+        match = find(wildcards.get(key.substring(dot + 1)), method, path);
+        dot = key.indexOf('.', dot + 1);
+      }
+    }
+    return match;
+  }
+
+  public void replaceAll(UnaryOperator<RouteTree> fn) {
+    replaceAll(hosts, fn);
+    replaceAll(wildcards, fn);
+  }
+
+  public void destroy() {
+    replaceAll(tree -> {
+      tree.destroy();
+      return tree;
+    });
+    hosts.clear();
+    wildcards.clear();
+  }
+
+  private static Router.Match find(RouteTree[] trees, String method, String path) {
+    if (trees != null) {
+      for (RouteTree tree : trees) {
+        Router.Match match = tree.find(method, path);
+        if (match.matches()) {
+          return match;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static void replaceAll(Map<String, RouteTree[]> map, UnaryOperator<RouteTree> fn) {
+    for (RouteTree[] trees : map.values()) {
+      for (int i = 0; i < trees.length; i++) {
+        trees[i] = fn.apply(trees[i]);
+      }
+    }
+  }
+
+  private static void append(Map<String, RouteTree[]> map, String key, RouteTree tree) {
+    RouteTree[] trees = map.get(key);
+    if (trees == null) {
+      trees = new RouteTree[]{tree};
+    } else {
+      trees = Arrays.copyOf(trees, trees.length + 1);
+      trees[trees.length - 1] = tree;
+    }
+    map.put(key, trees);
+  }
+}
@@ -0,0 +1,341 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static io.jooby.internal.Chi.NODE_SIZE;
+import static io.jooby.internal.Chi.ZERO_CHAR;
+import static io.jooby.internal.Chi.ntRegexp;
+import static io.jooby.internal.Chi.ntParam;
+import static io.jooby.internal.Chi.ntStatic;
+
+/**
+ * Read-only version of {@link Chi}. Tree nodes are numbered in breadth-first order and flattened
+ * into parallel arrays, so children of a node (grouped by node type) always have consecutive ids.
+ * Child lookup is done by offset: children of node <code>n</code> and type <code>t</code> are
+ * the ids in <code>[children[n * NODE_SIZE + t], children[n * NODE_SIZE + t + 1])</code>.
+ *
+ * Lookup walks the same steps than {@link Chi} but works with path offsets (no substring per
+ * visited node) and resolves endpoints by method index: the {@link HttpMethods} ordinal for
+ * standard methods, custom methods are looked up in a fallback map.
+ */
+final class FrozenChi implements RouteTree {
+
+  /** Node type: static, regexp, param or catchAll. */
+  private byte[] types;
+
+  /** First char of the node prefix, used by binary search on static nodes. */
+  private char[] labels;
+
+  /** Tail delimiter of param and regexp nodes. */
+  private char[] tails;
+
+  /** Static node prefix. */
+  private String[] prefixes;
+
+  /** Regexp matcher for regexp nodes. */
+  private SegmentMatcher[] patterns;
+
+  /** Children offsets. */
+  private int[] children;
+
+  /** Offset on endpoints array or <code>-1</code> when node isn't a leaf. */
+  private int[] leafs;
+
+  /** Value of the <code>Allow</code> response header for leaf nodes. */
+  private String[] allow;
+
+  /** Known HTTP methods. */
+  private String[] methods;
+
+  /** Index of custom HTTP methods. */
+  private Map<String, Integer> customMethods;
+
+  /** Leaf routes, one slot per known HTTP method (standard methods ordinal + custom methods). */
+  private Route[] endpoints;
+
+  private Map<String, StaticRouterMatch[]> staticPaths;
+
+  private final MessageEncoder encoder;
+
+  FrozenChi(Chi.Node root, Map<Object, Chi.StaticRoute> staticPaths, MessageEncoder encoder) {
+    this.encoder = encoder;
+
+    /** Number nodes in breadth-first order: */
+    List<Chi.Node> nodes = new ArrayList<>();
+    Queue<Chi.Node> queue = new ArrayDeque<>();
+    queue.add(root);
+    while (!queue.isEmpty()) {
+      Chi.Node node = queue.poll();
+      nodes.add(node);
+      for (Chi.Node[] group : node.children) {
+        if (group != null) {
+          queue.addAll(Arrays.asList(group));
+        }
+      }
+    }
+
+    /** Methods: standard methods first (indexed by ordinal) followed by custom methods. */
+    TreeSet<String> methodSet = new TreeSet<>();
+    for (Chi.Node node : nodes) {
+      if (node.endpoints != null) {
+        methodSet.addAll(node.endpoints.keySet());
+      }
+    }
+    staticPaths.values().forEach(it -> it.forEach((method, match) -> methodSet.add(method)));
+    methodSet.removeAll(Router.METHODS);
+    List<String> methods = new ArrayList<>(Router.METHODS);
+    this.customMethods = new HashMap<>();
+    for (String method : methodSet) {
+      customMethods.put(method, methods.size());
+      methods.add(method);
+    }
+    this.methods = methods.toArray(new String[0]);
+
+    int size = nodes.size();
+    this.types = new byte[size];
+    this.labels = new char[size];
+    this.tails = new char[size];
+    this.prefixes = new String[size];
+    this.patterns = new SegmentMatcher[size];
+    this.children = new int[size * NODE_SIZE + 1];
+    this.leafs = new int[size];
+    this.allow = new String[size];
+    List<Route> endpoints = new ArrayList<>();
+    int nextChild = 1;
+    for (int id = 0; id < size; id++) {
+      Chi.Node node = nodes.get(id);
+      types[id] = node.typ;
+      labels[id] = node.label;
+      tails[id] = node.tail;
+      prefixes[id] = node.prefix == null ? "" : node.prefix;
+      patterns[id] = node.rex;
+      for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
+        children[id * NODE_SIZE + ntyp] = nextChild;
+        Chi.Node[] group = node.children[ntyp];
+        if (group != null) {
+          nextChild += group.length;
+        }
+      }
+      if (node.endpoints == null) {
+        leafs[id] = -1;
+      } else {
+        leafs[id] = endpoints.size();
+        for (String method : methods) {
+          endpoints.add(node.endpoints.get(method));
+        }
+        allow[id] = String.join(",", node.endpoints.keySet());
+      }
+    }
+    children[size * NODE_SIZE] = nextChild;
+    this.endpoints = endpoints.toArray(new Route[0]);
+
+    /** Static paths: */
+    this.staticPaths = new HashMap<>();
+    staticPaths.forEach((path, route) -> {
+      StaticRouterMatch[] matches = new StaticRouterMatch[this.methods.length];
+      route.forEach((method, match) -> matches[methodIndex(method)] = match);
+      this.staticPaths.put(path.toString(), matches);
+    });
+  }
+
+  @Override public void insert(String method, String pattern, Route route) {
+    throw new IllegalStateException("Route tree is frozen, routes can't be added at runtime: "
+        + method + " " + pattern);
+  }
+
+  @Override public boolean exists(String method, String path) {
+    return find(method, path).matches();
+  }
+
+  @Override public Router.Match find(String method, String path) {
+    int methodIndex = methodIndex(method);
+    if (methodIndex >= 0) {
+      StaticRouterMatch[] matches = staticPaths.get(path);
+      if (matches != null && matches[methodIndex] != null) {
+        return matches[methodIndex];
+      }
+    }
+    RouterMatch result = new RouterMatch(path);
+    Route route = findRoute(result, 0, methodIndex, path, 0);
+    if (route == null) {
+      return result.missing(method, path, encoder);
+    }
+    return result.found(route);
+  }
+
+  @Override public void destroy() {
+    types = null;
+    labels = null;
+    tails = null;
+    prefixes = null;
+    patterns = null;
+    children = null;
+    leafs = null;
+    allow = null;
+    methods = null;
+    customMethods = null;
+    endpoints = null;
+    staticPaths.clear();
+  }
+
+  @Override public String toString() {
+    return Arrays.stream(methods).collect(Collectors.joining(", ", "{methods: [", "], nodes: "))
+        + types.length + "}";
+  }
+
+  private int methodIndex(String method) {
+    int ordinal = HttpMethods.ordinal(method);
+    if (ordinal < 0 && !customMethods.isEmpty()) {
+      return customMethods.getOrDefault(method, ordinal);
+    }
+    return ordinal;
+  }
+
+  private Route endpoint(int node, int method) {
+    return method < 0 ? null : endpoints[leafs[node] + method];
+  }
+
+  private Route findRoute(RouterMatch rctx, int node, int method, String path, int offset) {
+    int len = path.length();
+    int base = node * NODE_SIZE;
+    for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
+      int start = children[base + ntyp];
+      int end = children[base + ntyp + 1];
+      if (start == end) {
+        continue;
+      }
+      int xn;
+      int xsearch = offset;
+      switch (ntyp) {
+        case ntStatic:
+          xn = findEdge(start, end, offset < len ? path.charAt(offset) : ZERO_CHAR);
+          if (xn < 0 || !path.startsWith(prefixes[xn], offset)) {
+            continue;
+          }
+          xsearch += prefixes[xn].length();
+          break;
+
+        case ntParam:
+        case ntRegexp:
+          // short-circuit and return no matching route for empty param values
+          if (xsearch == len) {
+            continue;
+          }
+          xn = start;
+          // serially loop through each node grouped by the tail delimiter
+          for (int idx = start; idx < end; idx++) {
+            xn = idx;
+
+            int p = path.indexOf(tails[xn], xsearch);
+            if (p < 0) {
+              if (tails[xn] == '/') {
+                p = len;
+              } else {
+                continue;
+              }
+            }
+
+            if (ntyp == ntRegexp && patterns[xn] != null) {
+              if (!patterns[xn].matches(path, xsearch, p)) {
+                continue;
+              }
+            } else {
+              // avoid a match across path segments
+              int slash = path.indexOf('/', xsearch);
+              if (slash >= 0 && slash < p) {
+                continue;
+              }
+            }
+
+            int prevlen = rctx.size();
+            rctx.value(xsearch, p);
+            xsearch = p;
+
+            if (xsearch == len && leafs[xn] >= 0) {
+              Route h = endpoint(xn, method);
+              if (h != null) {
+                rctx.key(h.getPathKeys());
+                return h;
+              }
+              rctx.methodNotAllowed(allow[xn]);
+            }
+
+            // recursively find the next node on this branch
+            Route fin = findRoute(rctx, xn, method, path, xsearch);
+            if (fin != null) {
+              return fin;
+            }
+
+            // not found on this branch, reset vars
+            rctx.truncate(prevlen);
+            xsearch = offset;
+          }
+          break;
+
+        default:
+          // catch-all nodes
+          if (xsearch < len) {
+            rctx.value(xsearch, len);
+          }
+          xn = start;
+          xsearch = len;
+      }
+
+      if (xsearch == len && leafs[xn] >= 0) {
+        Route h = endpoint(xn, method);
+        if (h != null) {
+          rctx.key(h.getPathKeys());
+          return h;
+        }
+        // flag that the routing context found a route, but not a corresponding
+        // supported method
+        rctx.methodNotAllowed(allow[xn]);
+      }
+
+      Route fin = findRoute(rctx, xn, method, path, xsearch);
+      if (fin != null) {
+        return fin;
+      }
+
+      // Did not found final handler, let's remove the param here if it was set
+      if (types[xn] > ntStatic) {
+        rctx.pop();
+      }
+    }
+    return null;
+  }
+
+  private int findEdge(int start, int end, char label) {
+    int i = start;
+    int j = end - 1;
+    while (i <= j) {
+      int idx = (i + j) >>> 1;
+      char it = labels[idx];
+      if (label > it) {
+        i = idx + 1;
+      } else if (label < it) {
+        j = idx - 1;
+      } else {
+        return idx;
+      }
+    }
+    return -1;
+  }
+}
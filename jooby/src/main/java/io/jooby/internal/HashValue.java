@@ -28,7 +28,7 @@ import java.util.function.BiConsumer;
 public class HashValue implements ValueNode, Formdata {
   private static final Map<String, ValueNode> EMPTY = Collections.emptyMap();
 
-  private Context ctx;
+  protected final Context ctx;
 
   private Map<String, ValueNode> hash = EMPTY;
 
@@ -142,6 +142,17 @@ public class HeadContext extends ForwardingContext {
     return new NoopOutputStream();
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    NoopOutputStream out = new NoopOutputStream();
+    consumer.tryAccept(out);
+    ctx.setResponseLength(out.size);
+    checkSizeHeaders();
+    ctx.send(StatusCode.OK);
+    return this;
+  }
+
   @Nonnull @Override public PrintWriter responseWriter() {
     return new PrintWriter(responseStream());
   }
@@ -155,13 +166,18 @@ public class HeadContext extends ForwardingContext {
   }
 
   private static class NoopOutputStream extends OutputStream {
+    private long size;
+
     @Override public void write(@NotNull byte[] b) throws IOException {
+      size += b.length;
     }
 
     @Override public void write(@NotNull byte[] b, int off, int len) throws IOException {
+      size += len;
     }
 
     @Override public void write(int b) throws IOException {
+      size += 1;
     }
   }
 
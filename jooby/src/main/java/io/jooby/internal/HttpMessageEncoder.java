@@ -9,6 +9,7 @@ import io.jooby.Context;
 import io.jooby.FileDownload;
 import io.jooby.MessageEncoder;
 import io.jooby.ModelAndView;
+import io.jooby.Route;
 import io.jooby.StatusCode;
 import io.jooby.TemplateEngine;
 
@@ -38,44 +39,121 @@ public class HttpMessageEncoder implements MessageEncoder {
     return this;
   }
 
+  @Nonnull @Override public MessageEncoder bind(@Nonnull Route route) {
+    List<MessageEncoder> bound = new ArrayList<>(encoderList.size());
+    boolean changed = false;
+    for (MessageEncoder encoder : encoderList) {
+      MessageEncoder it = encoder.bind(route);
+      changed = changed || it != encoder;
+      bound.add(it);
+    }
+    if (!changed) {
+      return this;
+    }
+    HttpMessageEncoder result = new HttpMessageEncoder();
+    result.encoderList = bound;
+    result.templateEngineList = templateEngineList;
+    return result;
+  }
+
   @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
     if (value instanceof ModelAndView) {
-      ModelAndView modelAndView = (ModelAndView) value;
-      for (TemplateEngine engine : templateEngineList) {
-        if (engine.supports(modelAndView)) {
-          return engine.encode(ctx, modelAndView);
-        }
+      return encode(ctx, (ModelAndView) value);
+    }
+    if (send(ctx, value)) {
+      return null;
+    }
+    byte[] bytes = toByteArray(value);
+    if (bytes != null) {
+      return bytes;
+    }
+    Iterator<MessageEncoder> iterator = encoderList.iterator();
+    /** NOTE: looks like an infinite loop but there is a default renderer at the end of iterator. */
+    byte[] result = null;
+    while (result == null) {
+      MessageEncoder next = iterator.next();
+      result = next.encode(ctx, value);
+    }
+    return result;
+  }
+
+  @Override public boolean render(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    if (value instanceof ModelAndView) {
+      ctx.send(encode(ctx, (ModelAndView) value));
+      return true;
+    }
+    if (send(ctx, value)) {
+      return true;
+    }
+    byte[] bytes = toByteArray(value);
+    if (bytes != null) {
+      ctx.send(bytes);
+      return true;
+    }
+    Iterator<MessageEncoder> iterator = encoderList.iterator();
+    /** NOTE: looks like an infinite loop but there is a default renderer at the end of iterator. */
+    boolean rendered = false;
+    while (!rendered) {
+      MessageEncoder next = iterator.next();
+      rendered = next.render(ctx, value);
+    }
+    return true;
+  }
+
+  private byte[] encode(Context ctx, ModelAndView modelAndView) throws Exception {
+    for (TemplateEngine engine : templateEngineList) {
+      if (engine.supports(modelAndView)) {
+        return engine.encode(ctx, modelAndView);
       }
-      throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
     }
+    throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+  }
+
+  /**
+   * Send built-in types: input stream, status code, files, etc..
+   *
+   * @param ctx Web context.
+   * @param value Value.
+   * @return True if value was sent.
+   */
+  private boolean send(Context ctx, Object value) {
     /** InputStream: */
     if (value instanceof InputStream) {
       ctx.send((InputStream) value);
-      return null;
+      return true;
     }
     /** StatusCode: */
     if (value instanceof StatusCode) {
       ctx.send((StatusCode) value);
-      return null;
+      return true;
     }
     /** FileChannel: */
     if (value instanceof FileChannel) {
       ctx.send((FileChannel) value);
-      return null;
+      return true;
     }
     if (value instanceof File) {
       ctx.send(((File) value).toPath());
-      return null;
+      return true;
     }
     if (value instanceof Path) {
       ctx.send((Path) value);
-      return null;
+      return true;
     }
     /** FileDownload: */
     if (value instanceof FileDownload) {
       ctx.send((FileDownload) value);
-      return null;
+      return true;
     }
+    /** RawByte: */
+    if (value instanceof ByteBuffer) {
+      ctx.send((ByteBuffer) value);
+      return true;
+    }
+    return false;
+  }
+
+  private static byte[] toByteArray(Object value) {
     /** Strings: */
     if (value instanceof CharSequence) {
       return value.toString().getBytes(StandardCharsets.UTF_8);
@@ -87,17 +165,6 @@ public class HttpMessageEncoder implements MessageEncoder {
     if (value instanceof byte[]) {
       return (byte[]) value;
     }
-    if (value instanceof ByteBuffer) {
-      ctx.send((ByteBuffer) value);
-      return null;
-    }
-    Iterator<MessageEncoder> iterator = encoderList.iterator();
-    /** NOTE: looks like an infinite loop but there is a default renderer at the end of iterator. */
-    byte[] result = null;
-    while (result == null) {
-      MessageEncoder next = iterator.next();
-      result = next.encode(ctx, value);
-    }
-    return result;
+    return null;
   }
 }
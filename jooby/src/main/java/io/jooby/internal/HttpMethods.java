@@ -0,0 +1,67 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Router;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+
+/**
+ * Maps standard HTTP methods to small ordinals (same order as {@link Router#METHODS}).
+ *
+ * Servers canonicalize the method name at request creation time using
+ * {@link #canonical(String)}, so standard methods are always represented by the
+ * {@link Router} constant instances and {@link #ordinal(String)} resolves them by reference
+ * comparison: no hashing and no string comparison per request.
+ */
+public final class HttpMethods {
+
+  private static final String[] METHODS = Router.METHODS.toArray(new String[0]);
+
+  /** Number of standard HTTP methods. Ordinals of standard methods are lower than this value. */
+  public static final int SIZE = METHODS.length;
+
+  private HttpMethods() {
+  }
+
+  /**
+   * Ordinal of a standard HTTP method or <code>-1</code> for custom methods.
+   *
+   * @param method HTTP method (upper case).
+   * @return Ordinal of a standard HTTP method or <code>-1</code> for custom methods.
+   */
+  public static int ordinal(@Nonnull String method) {
+    for (int i = 0; i < SIZE; i++) {
+      if (METHODS[i] == method) {
+        return i;
+      }
+    }
+    // not a canonical instance:
+    for (int i = 0; i < SIZE; i++) {
+      if (METHODS[i].equals(method)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Canonical representation of an HTTP method. For standard methods, it returns the
+   * {@link Router} constant (like {@link Router#GET}), otherwise the upper case method name.
+   *
+   * @param method HTTP method.
+   * @return Canonical representation of HTTP method.
+   */
+  public static @Nonnull String canonical(@Nonnull String method) {
+    for (int i = 0; i < SIZE; i++) {
+      if (METHODS[i] == method || METHODS[i].equalsIgnoreCase(method)) {
+        return METHODS[i];
+      }
+    }
+    return method.toUpperCase(Locale.ROOT);
+  }
+}
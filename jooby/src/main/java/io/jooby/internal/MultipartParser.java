@@ -0,0 +1,345 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.MultipartStream;
+import io.jooby.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming <code>multipart/form-data</code> parser (RFC 7578). Reads parts from the underlying
+ * input stream on demand using a fixed size buffer.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class MultipartParser implements MultipartStream {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final int MAX_HEADER_SIZE = 16384;
+
+  private class PartImpl extends InputStream implements Part {
+    private final String name;
+
+    private final String fileName;
+
+    private final Map<String, String> headers;
+
+    private boolean end;
+
+    PartImpl(String name, String fileName, Map<String, String> headers) {
+      this.name = name;
+      this.fileName = fileName;
+      this.headers = headers;
+    }
+
+    @Nonnull @Override public String getName() {
+      return name;
+    }
+
+    @Nullable @Override public String getFileName() {
+      return fileName;
+    }
+
+    @Nullable @Override public String getContentType() {
+      return headers.get("Content-Type");
+    }
+
+    @Nullable @Override public String header(@Nonnull String name) {
+      return headers.get(name);
+    }
+
+    @Nonnull @Override public InputStream stream() {
+      return this;
+    }
+
+    @Nonnull @Override public String value() {
+      try {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[256];
+        int len;
+        while ((len = read(chunk, 0, chunk.length)) != -1) {
+          out.write(chunk, 0, len);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+      } catch (IOException x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+
+    @Override public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override public int read(byte[] b, int off, int len) throws IOException {
+      if (end || current != this) {
+        return -1;
+      }
+      if (len == 0) {
+        return 0;
+      }
+      int read = readContent(b, off, len);
+      if (read == -1) {
+        end = true;
+      }
+      return read;
+    }
+
+    void skip() throws IOException {
+      byte[] scratch = new byte[BUFFER_SIZE];
+      while (read(scratch, 0, scratch.length) != -1) {
+        // drain
+      }
+    }
+  }
+
+  private final InputStream in;
+
+  /** CRLF + -- + boundary. */
+  private final byte[] delimiter;
+
+  private final byte[] buffer;
+
+  private int pos;
+
+  private int limit;
+
+  private boolean started;
+
+  private boolean done;
+
+  private PartImpl current;
+
+  public MultipartParser(@Nonnull InputStream in, @Nonnull String boundary) {
+    this.in = in;
+    this.delimiter = ("\r\n--" + unquote(boundary)).getBytes(StandardCharsets.ISO_8859_1);
+    this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+    // first boundary isn't preceded by CRLF, add it so preamble is handled as regular content
+    buffer[0] = '\r';
+    buffer[1] = '\n';
+    limit = 2;
+  }
+
+  @Nullable @Override public Part next() throws IOException {
+    if (current != null) {
+      current.skip();
+      current = null;
+    } else if (!started) {
+      // skip preamble
+      started = true;
+      while (readContent(new byte[BUFFER_SIZE], 0, BUFFER_SIZE) != -1) {
+        // drain
+      }
+    }
+    if (done || !afterDelimiter()) {
+      done = true;
+      return null;
+    }
+    Map<String, String> headers = readHeaders();
+    String disposition = headers.get("Content-Disposition");
+    if (disposition == null) {
+      throw new IOException("Missing Content-Disposition header in multipart body");
+    }
+    Map<String, String> params = parameters(disposition);
+    String name = params.getOrDefault("name", "");
+    current = new PartImpl(name, params.get("filename"), headers);
+    return current;
+  }
+
+  @Override public void close() throws IOException {
+    done = true;
+    current = null;
+    in.close();
+  }
+
+  /**
+   * Read part content until next delimiter.
+   *
+   * @return Number of bytes read or <code>-1</code> when delimiter was reached.
+   */
+  private int readContent(byte[] b, int off, int len) throws IOException {
+    while (true) {
+      int index = indexOfDelimiter();
+      if (index >= 0) {
+        int available = index - pos;
+        if (available == 0) {
+          pos = index + delimiter.length;
+          return -1;
+        }
+        int n = Math.min(available, len);
+        System.arraycopy(buffer, pos, b, off, n);
+        pos += n;
+        return n;
+      }
+      // keep enough bytes for a partial delimiter at the end of the buffer
+      int safe = limit - pos - (delimiter.length - 1);
+      if (safe > 0) {
+        int n = Math.min(safe, len);
+        System.arraycopy(buffer, pos, b, off, n);
+        pos += n;
+        return n;
+      }
+      if (!fill()) {
+        throw new IOException("Unexpected end of multipart body");
+      }
+    }
+  }
+
+  private int indexOfDelimiter() {
+    int end = limit - delimiter.length;
+    for (int i = pos; i <= end; i++) {
+      if (buffer[i] == '\r') {
+        int j = 1;
+        while (j < delimiter.length && buffer[i + j] == delimiter[j]) {
+          j++;
+        }
+        if (j == delimiter.length) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Check what follows a delimiter: <code>--</code> (last part) or <code>CRLF</code> (new part).
+   *
+   * @return True when a new part follows.
+   */
+  private boolean afterDelimiter() throws IOException {
+    ensure(2);
+    if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+      pos += 2;
+      return false;
+    }
+    // transport padding
+    while (buffer[pos] == ' ' || buffer[pos] == '\t') {
+      pos += 1;
+      ensure(2);
+    }
+    if (buffer[pos] != '\r' || buffer[pos + 1] != '\n') {
+      throw new IOException("Malformed multipart body");
+    }
+    pos += 2;
+    return true;
+  }
+
+  private Map<String, String> readHeaders() throws IOException {
+    Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    int size = 0;
+    while (true) {
+      int eol = indexOfCRLF();
+      while (eol < 0) {
+        if (limit - pos >= buffer.length - 1 || !fill()) {
+          throw new IOException("Malformed multipart headers");
+        }
+        eol = indexOfCRLF();
+      }
+      int len = eol - pos;
+      size += len;
+      if (size > MAX_HEADER_SIZE) {
+        throw new IOException("Multipart headers too large");
+      }
+      String line = new String(buffer, pos, len, StandardCharsets.UTF_8);
+      pos = eol + 2;
+      if (line.isEmpty()) {
+        return headers;
+      }
+      int sep = line.indexOf(':');
+      if (sep > 0) {
+        headers.put(line.substring(0, sep).trim(), line.substring(sep + 1).trim());
+      }
+    }
+  }
+
+  private int indexOfCRLF() {
+    for (int i = pos; i < limit - 1; i++) {
+      if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void ensure(int len) throws IOException {
+    while (limit - pos < len) {
+      if (!fill()) {
+        throw new IOException("Unexpected end of multipart body");
+      }
+    }
+  }
+
+  private boolean fill() throws IOException {
+    if (pos > 0) {
+      System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+      limit -= pos;
+      pos = 0;
+    }
+    int read = in.read(buffer, limit, buffer.length - limit);
+    if (read == -1) {
+      return false;
+    }
+    limit += read;
+    return true;
+  }
+
+  /**
+   * Parse <code>Content-Disposition</code> parameters: <code>form-data; name="a"</code>.
+   */
+  static Map<String, String> parameters(String value) {
+    Map<String, String> params = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    int i = value.indexOf(';');
+    while (i >= 0 && i < value.length()) {
+      int eq = value.indexOf('=', i);
+      if (eq < 0) {
+        break;
+      }
+      String name = value.substring(i + 1, eq).trim();
+      StringBuilder param = new StringBuilder();
+      int j = eq + 1;
+      while (j < value.length() && value.charAt(j) == ' ') {
+        j++;
+      }
+      if (j < value.length() && value.charAt(j) == '"') {
+        j++;
+        while (j < value.length() && value.charAt(j) != '"') {
+          char ch = value.charAt(j);
+          if (ch == '\\' && j + 1 < value.length()) {
+            j++;
+            ch = value.charAt(j);
+          }
+          param.append(ch);
+          j++;
+        }
+        j = value.indexOf(';', j);
+      } else {
+        int end = value.indexOf(';', j);
+        param.append(value.substring(j, end < 0 ? value.length() : end).trim());
+        j = end;
+      }
+      params.put(name, param.toString());
+      i = j;
+    }
+    return params;
+  }
+
+  private static String unquote(String value) {
+    if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+}
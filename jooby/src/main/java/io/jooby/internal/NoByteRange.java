@@ -12,6 +12,7 @@ import io.jooby.StatusCode;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class NoByteRange implements ByteRange {
   private long contentLength;
@@ -47,4 +48,8 @@ public class NoByteRange implements ByteRange {
   @Nonnull @Override public InputStream apply(@Nonnull InputStream input) throws IOException {
     return input;
   }
+
+  @Nonnull @Override public ByteBuffer apply(@Nonnull ByteBuffer buffer) {
+    return buffer;
+  }
 }
@@ -13,6 +13,7 @@ import io.jooby.StatusCode;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public class NotSatisfiableByteRange implements ByteRange {
   private String value;
@@ -50,4 +51,8 @@ public class NotSatisfiableByteRange implements ByteRange {
   @Nonnull @Override public InputStream apply(@Nonnull InputStream input) throws IOException {
     throw new StatusCodeException(StatusCode.REQUESTED_RANGE_NOT_SATISFIABLE, value);
   }
+
+  @Nonnull @Override public ByteBuffer apply(@Nonnull ByteBuffer buffer) {
+    throw new StatusCodeException(StatusCode.REQUESTED_RANGE_NOT_SATISFIABLE, value);
+  }
 }
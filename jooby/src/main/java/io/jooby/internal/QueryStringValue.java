@@ -7,12 +7,36 @@ package io.jooby.internal;
 
 import io.jooby.Context;
 import io.jooby.QueryString;
+import io.jooby.ValueNode;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Query string parsed on demand. Parameters are indexed on first access and only the ones
+ * looked up by name are decoded. The full tree of values is built when required: iteration,
+ * conversion, nested names like <code>user.name</code> or <code>user[name]</code>, etc.
+ */
 public class QueryStringValue extends HashValue implements QueryString {
   private String queryString;
 
+  private int[] offsets;
+
+  /** True when parameter names can be matched without decoding. */
+  private boolean flat;
+
+  /** Parameters looked up before parsing. Reused by parse, so nodes keep their identity. */
+  private Map<String, ValueNode> lookups;
+
+  /** True once parameters were added to the hash. */
+  private boolean parsed;
+
   public QueryStringValue(Context ctx, String queryString) {
     super(ctx);
     this.queryString = queryString;
@@ -21,4 +45,145 @@ public class QueryStringValue extends HashValue implements QueryString {
   @Nonnull @Override public String queryString() {
     return queryString;
   }
+
+  @Override public ValueNode get(@Nonnull String name) {
+    if (parsed || !isFlat()) {
+      parse();
+      return super.get(name);
+    }
+    ValueNode result = lookups == null ? null : lookups.get(name);
+    if (result != null) {
+      return result;
+    }
+    int len = name.length();
+    for (int i = 0; i < offsets[0]; i++) {
+      int index = 1 + i * 4;
+      int nameStart = offsets[index];
+      if (offsets[index + 1] - nameStart == len
+          && queryString.regionMatches(nameStart, name, 0, len)) {
+        String value = UrlParser.decodeParam(queryString, offsets[index + 2], offsets[index + 3]);
+        if (result == null) {
+          result = new SingleValue(ctx, name, value);
+        } else if (result instanceof ArrayValue) {
+          ((ArrayValue) result).add(value);
+        } else {
+          result = new ArrayValue(ctx, name).add(result).add(value);
+        }
+      }
+    }
+    if (result == null) {
+      return new MissingValue(name);
+    }
+    if (lookups == null) {
+      lookups = new HashMap<>();
+    }
+    lookups.put(name, result);
+    return result;
+  }
+
+  @Override public void put(String path, ValueNode node) {
+    parse();
+    super.put(path, node);
+  }
+
+  @Override public void put(String path, Collection<String> values) {
+    parse();
+    super.put(path, values);
+  }
+
+  @Override public int size() {
+    parse();
+    return super.size();
+  }
+
+  @Override public String value() {
+    parse();
+    return super.value();
+  }
+
+  @Override public Iterator<ValueNode> iterator() {
+    parse();
+    return super.iterator();
+  }
+
+  @Nonnull @Override public <T> List<T> toList(@Nonnull Class<T> type) {
+    parse();
+    return super.toList(type);
+  }
+
+  @Nonnull @Override public <T> Set<T> toSet(@Nonnull Class<T> type) {
+    parse();
+    return super.toSet(type);
+  }
+
+  @Nonnull @Override public <T> Optional<T> toOptional(@Nonnull Class<T> type) {
+    parse();
+    return super.toOptional(type);
+  }
+
+  @Override public Map<String, List<String>> toMultimap() {
+    parse();
+    return super.toMultimap();
+  }
+
+  @Override public String toString() {
+    parse();
+    return super.toString();
+  }
+
+  /**
+   * Index parameters and check names are simple: no paths and no escapes.
+   *
+   * @return True when names are simple and can be matched without decoding.
+   */
+  private boolean isFlat() {
+    if (offsets == null) {
+      offsets = UrlParser.indexParams(queryString);
+      flat = flat(queryString, offsets);
+    }
+    return flat;
+  }
+
+  private static boolean flat(String queryString, int[] offsets) {
+    for (int i = 0; i < offsets[0]; i++) {
+      int index = 1 + i * 4;
+      for (int j = offsets[index]; j < offsets[index + 1]; j++) {
+        switch (queryString.charAt(j)) {
+          case '.':
+          case '[':
+          case '%':
+          case '+':
+            return false;
+          default:
+            // continue
+        }
+      }
+    }
+    return true;
+  }
+
+  private void parse() {
+    if (parsed) {
+      return;
+    }
+    parsed = true;
+    if (offsets == null) {
+      offsets = UrlParser.indexParams(queryString);
+    }
+    for (int i = 0; i < offsets[0]; i++) {
+      int index = 1 + i * 4;
+      String name = UrlParser.decodeParam(queryString, offsets[index], offsets[index + 1]);
+      if (lookups != null && lookups.containsKey(name)) {
+        // first occurrence adds the node with all the values, the rest are skipped
+        ValueNode node = lookups.put(name, null);
+        if (node != null) {
+          super.put(name, node);
+        }
+      } else {
+        String value = UrlParser.decodeParam(queryString, offsets[index + 2], offsets[index + 3]);
+        super.put(name, value);
+      }
+    }
+    lookups = null;
+  }
 }
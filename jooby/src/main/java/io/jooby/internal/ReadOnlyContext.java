@@ -111,6 +111,12 @@ public class ReadOnlyContext extends ForwardingContext {
     throw new IllegalStateException(MESSAGE);
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    throw new IllegalStateException(MESSAGE);
+  }
+
   @Nonnull @Override public Context responseWriter(@Nonnull MediaType contentType,
       @Nonnull SneakyThrows.Consumer<PrintWriter> consumer) throws Exception {
     throw new IllegalStateException(MESSAGE);
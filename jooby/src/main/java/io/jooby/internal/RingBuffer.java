@@ -0,0 +1,139 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer of preallocated (mutable) slots.
+ * Producers reserve a slot, write into it and publish it; the consumer reads published slots in
+ * order and gives them back. When the buffer is full, new items are dropped and counted.
+ *
+ * Based on the bounded queue from Dmitry Vyukov: each slot has a sequence number which tells
+ * producers and consumer whenever the slot is free or published.
+ *
+ * @param <T> Slot type.
+ * @author edgar
+ * @since 2.9.3
+ */
+public class RingBuffer<T> {
+
+  private final Object[] slots;
+
+  private final AtomicLongArray sequences;
+
+  private final int mask;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Consumer position. Single thread. */
+  private long head;
+
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity Capacity, rounded up to a power of two.
+   * @param factory Slot factory.
+   */
+  public RingBuffer(int capacity, @Nonnull Supplier<T> factory) {
+    int size = 2;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    this.slots = new Object[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      slots[i] = factory.get();
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Write into the next free slot. The writer must not keep a reference to the slot.
+   *
+   * @param source Source data.
+   * @param writer Slot writer, called with the slot and source data.
+   * @param <S> Source type.
+   * @return True when published, false when the buffer was full and the item was dropped.
+   */
+  public <S> boolean offer(S source, @Nonnull BiConsumer<T, S> writer) {
+    long pos = tail.get();
+    while (true) {
+      int i = (int) pos & mask;
+      long diff = sequences.get(i) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          try {
+            writer.accept(slot(i), source);
+          } finally {
+            // publish: a failed writer must not stall the consumer
+            sequences.set(i, pos + 1);
+          }
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        dropped.increment();
+        return false;
+      } else {
+        pos = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Consume published slots, in order. Must be called from one thread at a time.
+   *
+   * @param consumer Slot consumer. The slot is given back to producers once consumed.
+   * @param max Max number of slots to consume.
+   * @return Number of consumed slots.
+   */
+  public int drain(@Nonnull Consumer<T> consumer, int max) {
+    int count = 0;
+    while (count < max) {
+      int i = (int) head & mask;
+      if (sequences.get(i) != head + 1) {
+        break;
+      }
+      try {
+        consumer.accept(slot(i));
+      } finally {
+        sequences.set(i, head + slots.length);
+        head += 1;
+        count += 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return Number of dropped items.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return Ring buffer capacity.
+   */
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T slot(int i) {
+    return (T) slots[i];
+  }
+}
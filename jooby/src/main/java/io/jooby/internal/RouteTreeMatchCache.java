@@ -0,0 +1,169 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Context;
+import io.jooby.MatchCacheStats;
+import io.jooby.Route;
+import io.jooby.Router;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free cache of dynamic route matches keyed by HTTP method and request path.
+ *
+ * The cache is a two-way set associative table: a key is stored in one of the two slots of its
+ * set. Replacement is a second chance (CLOCK) policy per set: a hit marks the entry as used, a
+ * new entry replaces an empty or unused slot, otherwise it clears the used bits and takes the
+ * first slot. Entries are immutable and stateless, so a cache hit doesn't allocate. Concurrent
+ * writers might overwrite each other entries, which just costs a future miss.
+ */
+public class RouteTreeMatchCache extends RouteTreeForwarding implements MatchCacheStats {
+
+  private static class Entry implements Router.Match {
+    private final String method;
+
+    private final String path;
+
+    private final Route route;
+
+    private final Map<String, String> pathMap;
+
+    /** Second chance bit. Plain field: a lost update is harmless. */
+    private boolean used;
+
+    Entry(String method, String path, Route route, Map<String, String> pathMap) {
+      this.method = method;
+      this.path = path;
+      this.route = route;
+      this.pathMap = pathMap;
+    }
+
+    boolean matches(String method, String path) {
+      return this.path.equals(path) && (this.method == method || this.method.equals(method));
+    }
+
+    @Override public boolean matches() {
+      return true;
+    }
+
+    @Nonnull @Override public Route route() {
+      return route;
+    }
+
+    @Override public void execute(@Nonnull Context context) {
+      context.setPathMap(pathMap);
+      context.setRoute(route);
+      try {
+        route.getPipeline().apply(context);
+      } catch (Throwable x) {
+        context.sendError(x);
+      }
+    }
+
+    @Nonnull @Override public Map<String, String> pathMap() {
+      return pathMap;
+    }
+  }
+
+  /** Default number of entries. */
+  public static final int DEFAULT_SIZE = 1024;
+
+  private final AtomicReferenceArray<Entry> table;
+
+  private final int mask;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  public RouteTreeMatchCache(RouteTree tree, int size) {
+    super(tree);
+    int capacity = 2;
+    while (capacity < size) {
+      capacity <<= 1;
+    }
+    this.table = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  @Override public boolean exists(String method, String path) {
+    return find(method, path).matches();
+  }
+
+  @Override public Router.Match find(String method, String path) {
+    int h = path.hashCode() * 31 + method.hashCode();
+    int i = (h ^ (h >>> 16)) & mask & ~1;
+    Entry first = table.get(i);
+    if (first != null && first.matches(method, path)) {
+      first.used = true;
+      hits.increment();
+      return first;
+    }
+    Entry second = table.get(i + 1);
+    if (second != null && second.matches(method, path)) {
+      second.used = true;
+      hits.increment();
+      return second;
+    }
+    misses.increment();
+    Router.Match match = super.find(method, path);
+    if (match.matches() && !(match instanceof StaticRouterMatch)) {
+      Map<String, String> pathMap = match.pathMap();
+      Entry entry = new Entry(method, path, match.route(), pathMap.isEmpty()
+          ? Collections.emptyMap()
+          : Collections.unmodifiableMap(new LinkedHashMap<>(pathMap)));
+      if (first == null || !first.used) {
+        table.set(i, entry);
+      } else if (second == null || !second.used) {
+        table.set(i + 1, entry);
+      } else {
+        second.used = false;
+        table.set(i, entry);
+      }
+    }
+    return match;
+  }
+
+  @Override public long getHitCount() {
+    return hits.sum();
+  }
+
+  @Override public long getMissCount() {
+    return misses.sum();
+  }
+
+  @Override public int getSize() {
+    int size = 0;
+    for (int i = 0; i < table.length(); i++) {
+      if (table.get(i) != null) {
+        size += 1;
+      }
+    }
+    return size;
+  }
+
+  @Override public int getCapacity() {
+    return table.length();
+  }
+
+  @Override public void destroy() {
+    for (int i = 0; i < table.length(); i++) {
+      table.set(i, null);
+    }
+    super.destroy();
+  }
+
+  @Override public String toString() {
+    return "{size: " + getSize() + ", capacity: " + getCapacity() + ", hits: " + getHitCount()
+        + ", misses: " + getMissCount() + "}";
+  }
+}
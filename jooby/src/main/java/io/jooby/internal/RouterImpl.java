@@ -13,6 +13,7 @@ import io.jooby.Environment;
 import io.jooby.ErrorHandler;
 import io.jooby.ExecutionMode;
 import io.jooby.Jooby;
+import io.jooby.MatchCacheStats;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
 import io.jooby.MessageEncoder;
@@ -159,6 +160,8 @@ public class RouterImpl implements Router {
 
   private String basePath;
 
+  private DomainMap domainMap;
+
   private Map<Predicate<Context>, RouteTree> predicateMap;
 
   private Executor worker = new ForwardingExecutor();
@@ -260,29 +263,41 @@ public class RouterImpl implements Router {
   }
 
   @Nonnull @Override public RouteSet domain(@Nonnull String domain, @Nonnull Runnable body) {
-    return use(domainPredicate(domain), body);
+    Chi tree = new Chi();
+    putDomain(domain, tree);
+    return mount(tree, body);
   }
 
   @Nonnull @Override public Router domain(@Nonnull String domain, @Nonnull Router subrouter) {
-    return use(domainPredicate(domain), subrouter);
+    Chi tree = new Chi();
+    putDomain(domain, tree);
+    return mount(tree, subrouter);
   }
 
   @Nonnull @Override
   public RouteSet mount(@Nonnull Predicate<Context> predicate, @Nonnull Runnable body) {
-    RouteSet routeSet = new RouteSet();
     Chi tree = new Chi();
     putPredicate(predicate, tree);
+    return mount(tree, body);
+  }
+
+  @Nonnull @Override
+  public Router mount(@Nonnull Predicate<Context> predicate, @Nonnull Router subrouter) {
+    Chi tree = new Chi();
+    putPredicate(predicate, tree);
+    return mount(tree, subrouter);
+  }
+
+  private RouteSet mount(RouteTree tree, Runnable body) {
+    RouteSet routeSet = new RouteSet();
     int start = this.routes.size();
     newStack(tree, "/", body);
     routeSet.setRoutes(this.routes.subList(start, this.routes.size()));
     return routeSet;
   }
 
-  @Nonnull @Override
-  public Router mount(@Nonnull Predicate<Context> predicate, @Nonnull Router subrouter) {
+  private Router mount(RouteTree tree, Router subrouter) {
     syncState(subrouter);
-    Chi tree = new Chi();
-    putPredicate(predicate, tree);
     newStack(tree, "/", () -> {
       for (Route route : subrouter.getRoutes()) {
         Route newRoute = newRoute(route.getMethod(), route.getPattern(), route.getHandler());
@@ -423,15 +438,23 @@ public class RouterImpl implements Router {
   }
 
   @Nonnull @Override public Router converter(ValueConverter converter) {
+    checkConverters();
     converters.add(converter);
     return this;
   }
 
   @Nonnull @Override public Router converter(@Nonnull BeanConverter converter) {
+    checkConverters();
     beanConverters.add(converter);
     return this;
   }
 
+  private void checkConverters() {
+    if (converters instanceof ConverterList) {
+      throw new IllegalStateException("Converters must be registered before application starts");
+    }
+  }
+
   @Nonnull @Override public List<ValueConverter> getConverters() {
     return converters;
   }
@@ -543,6 +566,9 @@ public class RouterImpl implements Router {
     // Must be last, as fallback
     ValueConverters.addFallbackConverters(converters);
     ValueConverters.addFallbackBeanConverters(beanConverters);
+    // No more converters, resolve them once per type
+    converters = new ConverterList<>(converters, ValueConverter::supports);
+    beanConverters = new ConverterList<>(beanConverters, BeanConverter::supports);
 
     ClassSource source = new ClassSource(classLoader);
     RouteAnalyzer analyzer = new RouteAnalyzer(source, false);
@@ -591,10 +617,19 @@ public class RouterImpl implements Router {
           .compute(source.getLoader(), route, forceMode(route, mode), executor, postDispatchInitializer, handlers);
       route.setPipeline(pipeline);
       /** Final render */
-      route.setEncoder(encoder);
+      route.setEncoder(encoder.bind(route));
     }
     ((Chi) chi).setEncoder(encoder);
 
+    /** Routes can't be added from here, compile route trees: */
+    chi = ((Chi) chi).freeze();
+    if (domainMap != null) {
+      domainMap.replaceAll(tree -> ((Chi) tree).freeze());
+    }
+    if (predicateMap != null) {
+      predicateMap.replaceAll((predicate, tree) -> ((Chi) tree).freeze());
+    }
+
     /** router options: */
     if (routerOptions.contains(RouterOption.IGNORE_CASE)) {
       chi = new RouteTreeLowerCasePath(chi);
@@ -605,6 +640,17 @@ public class RouterImpl implements Router {
     if (routerOptions.contains(RouterOption.NORMALIZE_SLASH)) {
       chi = new RouteTreeNormPath(chi);
     }
+    if (routerOptions.contains(RouterOption.MATCH_CACHE)) {
+      // main tree only: domain and predicate trees aren't cached
+      Config conf = app.getConfig();
+      String sizeKey = "router.matchCache.size";
+      int size = conf.hasPath(sizeKey)
+          ? conf.getInt(sizeKey)
+          : RouteTreeMatchCache.DEFAULT_SIZE;
+      RouteTreeMatchCache cache = new RouteTreeMatchCache(chi, size);
+      services.put(MatchCacheStats.class, cache);
+      chi = cache;
+    }
 
     // unwrap executor
     worker = ((ForwardingExecutor) worker).executor;
@@ -649,6 +695,10 @@ public class RouterImpl implements Router {
       errorCodes.clear();
       errorCodes = null;
     }
+    if (this.domainMap != null) {
+      this.domainMap.destroy();
+      this.domainMap = null;
+    }
     if (this.predicateMap != null) {
       this.predicateMap.values().forEach(RouteTree::destroy);
       this.predicateMap.clear();
@@ -664,6 +714,16 @@ public class RouterImpl implements Router {
     if (preDispatchInitializer != null) {
       preDispatchInitializer.apply(ctx);
     }
+    return find(ctx);
+  }
+
+  private Match find(Context ctx) {
+    if (domainMap != null) {
+      Router.Match match = domainMap.find(ctx.getHost(), ctx.getMethod(), ctx.getRequestPath());
+      if (match != null) {
+        return match;
+      }
+    }
     if (predicateMap != null) {
       for (Map.Entry<Predicate<Context>, RouteTree> e : predicateMap.entrySet()) {
         if (e.getKey().test(ctx)) {
@@ -860,6 +920,13 @@ public class RouterImpl implements Router {
     it.setHandle(src.getHandle());
   }
 
+  private void putDomain(@Nonnull String domain, Chi tree) {
+    if (domainMap == null) {
+      domainMap = new DomainMap();
+    }
+    domainMap.put(domain, tree);
+  }
+
   private void putPredicate(@Nonnull Predicate<Context> predicate, Chi tree) {
     if (predicateMap == null) {
       predicateMap = new LinkedHashMap<>();
@@ -902,8 +969,4 @@ public class RouterImpl implements Router {
       this.postDispatchInitializer = initializer;
     }
   }
-
-  private static Predicate<Context> domainPredicate(String domain) {
-    return ctx -> ctx.getHost().equals(domain);
-  }
 }
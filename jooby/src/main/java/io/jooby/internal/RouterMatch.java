@@ -10,51 +10,160 @@ import io.jooby.MessageEncoder;
 import io.jooby.Route;
 import io.jooby.Router;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class RouterMatch implements Router.Match {
 
+  /**
+   * Read-only view of path variables. Values are kept as offsets into the request path and
+   * converted to string on access.
+   */
+  private static class PathMap extends AbstractMap<String, String> {
+    private final String path;
+
+    private final int[] offsets;
+
+    private final List<String> keys;
+
+    private final int size;
+
+    PathMap(String path, int[] offsets, int size, List<String> keys) {
+      this.path = path;
+      this.offsets = offsets;
+      this.keys = keys;
+      this.size = Math.min(size, keys.size());
+    }
+
+    @Override public int size() {
+      return size;
+    }
+
+    @Override public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override public String get(Object key) {
+      int i = indexOf(key);
+      return i < 0 ? null : value(i);
+    }
+
+    @Override public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<Entry<String, String>>() {
+        @Override public Iterator<Entry<String, String>> iterator() {
+          return new Iterator<Entry<String, String>>() {
+            int i = 0;
+
+            @Override public boolean hasNext() {
+              return i < size;
+            }
+
+            @Override public Entry<String, String> next() {
+              if (i >= size) {
+                throw new NoSuchElementException();
+              }
+              Entry<String, String> entry = new SimpleImmutableEntry<>(keys.get(i), value(i));
+              i += 1;
+              return entry;
+            }
+          };
+        }
+
+        @Override public int size() {
+          return size;
+        }
+      };
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < size; i++) {
+        if (keys.get(i).equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private String value(int i) {
+      return path.substring(offsets[i * 2], offsets[i * 2 + 1]);
+    }
+  }
+
   boolean matches;
 
   private Route route;
 
-  Map vars = Collections.EMPTY_MAP;
+  private final String path;
+
+  /** Start/end offsets of path variables, two slots per variable. */
+  private int[] offsets;
+
+  private int size;
+
+  private List<String> keys = Collections.emptyList();
+
+  private Map<String, String> vars;
 
   private Route.Handler handler;
 
-  public RouterMatch() {
+  public RouterMatch(String path) {
+    this.path = path;
   }
 
   public void key(List<String> keys) {
-    for (int i = 0; i < Math.min(keys.size(), vars.size()); i++) {
-      vars.put(keys.get(i), vars.remove(i));
-    }
+    this.keys = keys;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Start offset of a search suffix inside the request path.
+   *
+   * @param search Remaining part of the request path.
+   * @return Start offset.
+   */
+  public int offset(String search) {
+    return path.length() - search.length();
   }
 
   public void truncate(int size) {
-    while (size < vars.size()) {
-      vars.remove(size++);
+    if (size < this.size) {
+      this.size = size;
     }
   }
 
-  public void value(String value) {
-    if (vars == Collections.EMPTY_MAP) {
-      vars = new LinkedHashMap();
+  public void value(int start, int end) {
+    if (offsets == null) {
+      offsets = new int[8];
+    } else if (size * 2 == offsets.length) {
+      offsets = Arrays.copyOf(offsets, offsets.length * 2);
     }
-    vars.put(vars.size(), value);
+    offsets[size * 2] = start;
+    offsets[size * 2 + 1] = end;
+    size += 1;
   }
 
   public void pop() {
-    vars.remove(vars.size() - 1);
+    if (size > 0) {
+      size -= 1;
+    }
   }
 
   public void methodNotAllowed(Set<String> allow) {
-    String allowString = allow.stream().collect(Collectors.joining(","));
+    methodNotAllowed(allow.stream().collect(Collectors.joining(",")));
+  }
+
+  public void methodNotAllowed(String allowString) {
     Route.Decorator decorator = next -> ctx -> {
       ctx.setResponseHeader("Allow", allowString);
       return next.apply(ctx);
@@ -71,6 +180,9 @@ public class RouterMatch implements Router.Match {
   }
 
   @Override public Map<String, String> pathMap() {
+    if (vars == null) {
+      vars = size == 0 ? Collections.emptyMap() : new PathMap(path, offsets, size, keys);
+    }
     return vars;
   }
 
@@ -81,7 +193,7 @@ public class RouterMatch implements Router.Match {
   }
 
   public void execute(Context context) {
-    context.setPathMap(vars);
+    context.setPathMap(pathMap());
     context.setRoute(route);
     try {
       route.getPipeline().apply(context);
@@ -91,6 +203,9 @@ public class RouterMatch implements Router.Match {
       this.handler = null;
       this.route = null;
       this.vars = null;
+      this.offsets = null;
+      this.size = 0;
+      this.keys = null;
     }
   }
 
@@ -0,0 +1,347 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a path segment against a route variable constraint, like <code>{id:[0-9]+}</code>.
+ *
+ * Common constraints are compiled to hand-written char loops: a sequence of ASCII character
+ * classes (<code>[0-9]</code>, <code>[a-fA-F0-9]</code>, <code>[^.]</code>, <code>\d</code>,
+ * <code>\w</code>) or literal chars, each one with an optional quantifier (<code>+</code>,
+ * <code>*</code>, <code>?</code>, <code>{n}</code>, <code>{n,m}</code>). Only the last element of
+ * the sequence is allowed to have a variable length, so matching never need to backtrack. This
+ * covers numbers, hex, alphanumeric, fixed-length codes and UUID constraints.
+ *
+ * Everything else (groups, alternation, flags, etc.) fallback to {@link Pattern}.
+ */
+abstract class SegmentMatcher {
+
+  /**
+   * Matches the region of the given value.
+   *
+   * @param value Value (usually the request path).
+   * @param start Start offset (inclusive).
+   * @param end End offset (exclusive).
+   * @return True if the whole region matches.
+   */
+  public abstract boolean matches(String value, int start, int end);
+
+  /**
+   * Matches the given value.
+   *
+   * @param value Value.
+   * @return True if the whole value matches.
+   */
+  public boolean matches(String value) {
+    return matches(value, 0, value.length());
+  }
+
+  /**
+   * Compile a route variable constraint.
+   *
+   * @param regex Regular expression, optionally with <code>^</code> and <code>$</code> anchors.
+   * @return A segment matcher.
+   */
+  public static SegmentMatcher compile(String regex) {
+    SegmentMatcher matcher = Sequence.parse(regex);
+    return matcher == null ? new RegexMatcher(regex) : matcher;
+  }
+
+  private static class RegexMatcher extends SegmentMatcher {
+    private final Pattern pattern;
+
+    RegexMatcher(String regex) {
+      this.pattern = Pattern.compile(regex);
+    }
+
+    @Override public boolean matches(String value, int start, int end) {
+      return pattern.matcher(value).region(start, end).matches();
+    }
+
+    @Override public String toString() {
+      return pattern.pattern();
+    }
+  }
+
+  /** ASCII character class as a 128 bits set. */
+  private static class CharClass {
+    private long low;
+
+    private long high;
+
+    private boolean negated;
+
+    public CharClass add(char c) {
+      if (c < 64) {
+        low |= 1L << c;
+      } else {
+        high |= 1L << (c - 64);
+      }
+      return this;
+    }
+
+    public CharClass add(char from, char to) {
+      for (char c = from; c <= to; c++) {
+        add(c);
+      }
+      return this;
+    }
+
+    public CharClass digits() {
+      return add('0', '9');
+    }
+
+    public CharClass word() {
+      return digits().add('a', 'z').add('A', 'Z').add('_');
+    }
+
+    public boolean matches(char c) {
+      boolean match;
+      if (c < 64) {
+        match = (low & (1L << c)) != 0;
+      } else if (c < 128) {
+        match = (high & (1L << (c - 64))) != 0;
+      } else {
+        match = false;
+      }
+      return match != negated;
+    }
+  }
+
+  private static class Sequence extends SegmentMatcher {
+    private final String regex;
+
+    private final CharClass[] classes;
+
+    /** Length of fixed size classes, min length for the last one. */
+    private final int[] min;
+
+    /** Max length of the last class. */
+    private final int max;
+
+    Sequence(String regex, List<CharClass> classes, List<Integer> min, int max) {
+      this.regex = regex;
+      this.classes = classes.toArray(new CharClass[0]);
+      this.min = min.stream().mapToInt(Integer::intValue).toArray();
+      this.max = max;
+    }
+
+    @Override public boolean matches(String value, int start, int end) {
+      int pos = start;
+      int last = classes.length - 1;
+      for (int i = 0; i < last; i++) {
+        int to = pos + min[i];
+        if (to > end) {
+          return false;
+        }
+        CharClass cc = classes[i];
+        while (pos < to) {
+          if (!cc.matches(value.charAt(pos++))) {
+            return false;
+          }
+        }
+      }
+      if (last < 0) {
+        return pos == end;
+      }
+      int len = end - pos;
+      if (len < min[last] || len > max) {
+        return false;
+      }
+      CharClass cc = classes[last];
+      while (pos < end) {
+        if (!cc.matches(value.charAt(pos++))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override public String toString() {
+      return regex;
+    }
+
+    /**
+     * Parse a regex into a sequence or returns <code>null</code> when regex isn't supported.
+     *
+     * @param regex Regex.
+     * @return A sequence or <code>null</code>.
+     */
+    static Sequence parse(String regex) {
+      int start = regex.startsWith("^") ? 1 : 0;
+      int end = regex.length();
+      if (end > start && regex.charAt(end - 1) == '$') {
+        if (end - 2 >= start && regex.charAt(end - 2) == '\\') {
+          return null;
+        }
+        end -= 1;
+      }
+      List<CharClass> classes = new ArrayList<>();
+      List<Integer> min = new ArrayList<>();
+      int max = 0;
+      int i = start;
+      while (i < end) {
+        if (classes.size() > 0 && min.get(min.size() - 1) != max) {
+          // variable length is only allowed at the end
+          return null;
+        }
+        char c = regex.charAt(i);
+        CharClass cc;
+        if (c == '[') {
+          cc = new CharClass();
+          i = charClass(regex, i + 1, end, cc);
+          if (i < 0) {
+            return null;
+          }
+        } else if (c == '\\') {
+          if (i + 1 >= end) {
+            return null;
+          }
+          cc = escape(regex.charAt(i + 1), new CharClass());
+          if (cc == null) {
+            return null;
+          }
+          i += 2;
+        } else if (isLiteral(c)) {
+          cc = new CharClass().add(c);
+          i += 1;
+        } else {
+          return null;
+        }
+        // quantifier
+        int from = 1;
+        int to = 1;
+        if (i < end) {
+          char q = regex.charAt(i);
+          if (q == '+') {
+            to = Integer.MAX_VALUE;
+            i += 1;
+          } else if (q == '*') {
+            from = 0;
+            to = Integer.MAX_VALUE;
+            i += 1;
+          } else if (q == '?') {
+            from = 0;
+            i += 1;
+          } else if (q == '{') {
+            int close = regex.indexOf('}', i);
+            if (close < 0 || close >= end) {
+              return null;
+            }
+            String range = regex.substring(i + 1, close);
+            int comma = range.indexOf(',');
+            try {
+              if (comma < 0) {
+                from = Integer.parseInt(range);
+                to = from;
+              } else {
+                from = Integer.parseInt(range.substring(0, comma));
+                String upper = range.substring(comma + 1);
+                to = upper.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(upper);
+              }
+            } catch (NumberFormatException x) {
+              return null;
+            }
+            if (from > to) {
+              return null;
+            }
+            i = close + 1;
+          }
+          if (i < end) {
+            char modifier = regex.charAt(i);
+            if (modifier == '?' || modifier == '+' || modifier == '*' || modifier == '{') {
+              // lazy, possessive or repeated quantifiers
+              return null;
+            }
+          }
+        }
+        classes.add(cc);
+        min.add(from);
+        max = to;
+      }
+      return new Sequence(regex, classes, min, max);
+    }
+
+    private static boolean isLiteral(char c) {
+      return c < 128 && (Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '/'
+          || c == '~' || c == '@' || c == '=' || c == ',' || c == ';' || c == ':' || c == '!'
+          || c == '%' || c == '&' || c == '\'' || c == '"' || c == '#' || c == '<' || c == '>'
+          || c == ' ');
+    }
+
+    private static CharClass escape(char c, CharClass cc) {
+      if (c == 'd') {
+        return cc.digits();
+      }
+      if (c == 'w') {
+        return cc.word();
+      }
+      if (c < 128 && !Character.isLetterOrDigit(c)) {
+        // escaped literal: \. \- \\ etc..
+        return cc.add(c);
+      }
+      return null;
+    }
+
+    /**
+     * Parse a character class, returns the position after the closing <code>]</code> or
+     * <code>-1</code> when character class isn't supported.
+     */
+    private static int charClass(String regex, int i, int end, CharClass cc) {
+      if (i < end && regex.charAt(i) == '^') {
+        cc.negated = true;
+        i += 1;
+      }
+      boolean empty = true;
+      while (i < end) {
+        char c = regex.charAt(i);
+        if (c == ']') {
+          return empty ? -1 : i + 1;
+        }
+        if (c == '[' || c == '&' || c >= 128) {
+          return -1;
+        }
+        empty = false;
+        char from;
+        if (c == '\\') {
+          if (i + 1 >= end) {
+            return -1;
+          }
+          char e = regex.charAt(i + 1);
+          i += 2;
+          if (e == 'd' || e == 'w') {
+            escape(e, cc);
+            continue;
+          }
+          if (e < 128 && !Character.isLetterOrDigit(e)) {
+            from = e;
+          } else {
+            return -1;
+          }
+        } else {
+          from = c;
+          i += 1;
+        }
+        // range?
+        if (i + 1 < end && regex.charAt(i) == '-' && regex.charAt(i + 1) != ']') {
+          char to = regex.charAt(i + 1);
+          if (to == '\\' || to == '[' || to >= 128 || to < from) {
+            return -1;
+          }
+          cc.add(from, to);
+          i += 2;
+        } else {
+          cc.add(from);
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets stored in a bounded table.
+ *
+ * Each bucket is a single <code>long</code>: the theoretical arrival time (GCRA) of the next
+ * request, updated with a CAS. A bucket whose arrival time is in the past is full, so it holds no
+ * state and can be removed at any time. When the table reaches its max size, full buckets are
+ * removed; if still full, arbitrary buckets are evicted (they reset to full).
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class TokenBucketTable {
+
+  private static class Slot {
+    private static final AtomicLongFieldUpdater<Slot> TAT =
+        AtomicLongFieldUpdater.newUpdater(Slot.class, "tat");
+
+    /** Theoretical arrival time. */
+    private volatile long tat;
+
+    Slot(long now) {
+      this.tat = now;
+    }
+  }
+
+  private final long capacity;
+
+  /** Time between tokens. */
+  private final long interval;
+
+  /** Burst window: capacity * interval. */
+  private final long window;
+
+  private final int maxKeys;
+
+  private final LongSupplier clock;
+
+  private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates a new table.
+   *
+   * @param capacity Max number of tokens per bucket.
+   * @param period Time to refill an empty bucket.
+   * @param maxKeys Max number of buckets.
+   */
+  public TokenBucketTable(long capacity, @Nonnull Duration period, int maxKeys) {
+    this(capacity, period, maxKeys, System::nanoTime);
+  }
+
+  TokenBucketTable(long capacity, Duration period, int maxKeys, LongSupplier clock) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be greater than zero: " + capacity);
+    }
+    if (maxKeys <= 0) {
+      throw new IllegalArgumentException("Max keys must be greater than zero: " + maxKeys);
+    }
+    this.capacity = capacity;
+    this.interval = Math.max(period.toNanos() / capacity, 1);
+    this.window = interval * capacity;
+    this.maxKeys = maxKeys;
+    this.clock = clock;
+  }
+
+  /**
+   * Consume a token from the bucket of the given key.
+   *
+   * @param key Bucket key.
+   * @return Remaining tokens (zero or positive) when the token was consumed, otherwise a negative
+   *     number whose absolute value is the time to wait in nanoseconds.
+   */
+  public long tryConsume(@Nonnull String key) {
+    long now = clock.getAsLong();
+    Slot slot = slots.get(key);
+    if (slot == null) {
+      if (slots.size() >= maxKeys) {
+        sweep(now);
+      }
+      slot = slots.computeIfAbsent(key, k -> new Slot(now));
+    }
+    while (true) {
+      long tat = slot.tat;
+      long next = Math.max(tat, now) + interval;
+      long delay = next - now;
+      if (delay > window) {
+        return -(delay - window);
+      }
+      if (Slot.TAT.compareAndSet(slot, tat, next)) {
+        return (window - delay) / interval;
+      }
+    }
+  }
+
+  /**
+   * Number of tracked keys.
+   *
+   * @return Number of tracked keys.
+   */
+  public int getKeyCount() {
+    return slots.size();
+  }
+
+  /**
+   * Number of keys removed from table.
+   *
+   * @return Number of keys removed from table.
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Bucket capacity.
+   *
+   * @return Bucket capacity.
+   */
+  public long getCapacity() {
+    return capacity;
+  }
+
+  private void sweep(long now) {
+    // one thread at a time, others keep going (table might grow a bit over max)
+    if (sweeping.compareAndSet(false, true)) {
+      try {
+        // full buckets first
+        Iterator<Slot> it = slots.values().iterator();
+        while (it.hasNext()) {
+          if (it.next().tat <= now) {
+            it.remove();
+            evictions.increment();
+          }
+        }
+        // still full, reset some buckets (down to 75%) so next insert doesn't sweep again
+        if (slots.size() >= maxKeys) {
+          it = slots.values().iterator();
+          int target = maxKeys - maxKeys / 4;
+          while (slots.size() >= target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+          }
+        }
+      } finally {
+        sweeping.set(false);
+      }
+    }
+  }
+}
@@ -16,17 +16,18 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public final class UrlParser {
   private static final char SPACE = 0x20;
 
+  private static final int PARAMS_LIMIT = 1024;
+
   public static QueryString queryString(Context ctx, String queryString) {
     if (queryString == null || queryString.length() == 0) {
       return new QueryStringValue(ctx, "");
     }
-    QueryStringValue result = new QueryStringValue(ctx, "?" + queryString);
-    decodeParams(result, queryString, 0, StandardCharsets.UTF_8, 1024);
-    return result;
+    return new QueryStringValue(ctx, "?" + queryString);
   }
 
   public static String decodePathSegment(String value) {
@@ -36,15 +37,18 @@ public final class UrlParser {
     return decodeComponent(value, 0, value.length(), StandardCharsets.UTF_8, true);
   }
 
-  private static void decodeParams(HashValue root, String s, int from, Charset charset,
-      int paramsLimit) {
+  /**
+   * Find parameters without decoding them. Each parameter takes four offsets: name start, name
+   * end, value start and value end.
+   *
+   * @param s Query string.
+   * @return Parameter offsets. First element is the number of parameters.
+   */
+  static int[] indexParams(String s) {
+    int[] offsets = new int[1 + 4 * 8];
     int len = s.length();
-    if (from >= len) {
-      return;
-    }
-    if (s.charAt(from) == '?') {
-      from++;
-    }
+    int from = len > 0 && s.charAt(0) == '?' ? 1 : 0;
+    int paramsLimit = PARAMS_LIMIT;
     int nameStart = from;
     int valueStart = -1;
     int i;
@@ -60,10 +64,11 @@ public final class UrlParser {
           break;
         case '&':
         case ';':
-          if (addParam(root, s, nameStart, valueStart, i, charset)) {
+          if (nameStart < i) {
+            offsets = addParam(offsets, nameStart, valueStart, i);
             paramsLimit--;
             if (paramsLimit == 0) {
-              return;
+              return offsets;
             }
           }
           nameStart = i + 1;
@@ -74,21 +79,34 @@ public final class UrlParser {
           // continue
       }
     }
-    addParam(root, s, nameStart, valueStart, i, charset);
+    if (nameStart < i) {
+      offsets = addParam(offsets, nameStart, valueStart, i);
+    }
+    return offsets;
   }
 
-  private static boolean addParam(HashValue root, String s, int nameStart, int valueStart,
-      int valueEnd, Charset charset) {
-    if (nameStart >= valueEnd) {
-      return false;
+  private static int[] addParam(int[] offsets, int nameStart, int valueStart, int valueEnd) {
+    int index = 1 + offsets[0] * 4;
+    if (index + 4 > offsets.length) {
+      offsets = Arrays.copyOf(offsets, 1 + (offsets.length - 1) * 2);
     }
     if (valueStart <= nameStart) {
-      valueStart = valueEnd + 1;
+      // no value
+      offsets[index] = nameStart;
+      offsets[index + 1] = valueEnd;
+      offsets[index + 2] = valueEnd;
+    } else {
+      offsets[index] = nameStart;
+      offsets[index + 1] = valueStart - 1;
+      offsets[index + 2] = valueStart;
     }
-    String name = decodeComponent(s, nameStart, valueStart - 1, charset, false);
-    String value = decodeComponent(s, valueStart, valueEnd, charset, false);
-    root.put(name, value);
-    return true;
+    offsets[index + 3] = valueEnd;
+    offsets[0] += 1;
+    return offsets;
+  }
+
+  static String decodeParam(String s, int from, int toExcluded) {
+    return decodeComponent(s, from, toExcluded, StandardCharsets.UTF_8, false);
   }
 
   private static String decodeComponent(String s, int from, int toExcluded, Charset charset,
@@ -109,16 +127,14 @@ public final class UrlParser {
       return s.substring(from, toExcluded);
     }
 
-    CharsetDecoder decoder = charset.newDecoder();
-
-    // Each encoded byte takes 3 characters (e.g. "%20")
-    int decodedCapacity = (toExcluded - firstEscaped) / 3;
-    ByteBuffer byteBuf = ByteBuffer.allocate(decodedCapacity);
-    CharBuffer charBuf = CharBuffer.allocate(decodedCapacity);
-
     StringBuilder strBuf = new StringBuilder(len);
     strBuf.append(s, from, firstEscaped);
 
+    // Created on first non-ASCII byte. Each encoded byte takes 3 characters (e.g. "%20")
+    byte[] bytes = null;
+    CharsetDecoder decoder = null;
+    CharBuffer charBuf = null;
+
     for (int i = firstEscaped; i < toExcluded; i++) {
       char c = s.charAt(i);
       if (c != '%') {
@@ -126,32 +142,47 @@ public final class UrlParser {
         continue;
       }
 
-      byteBuf.clear();
+      int count = 0;
       do {
         if (i + 3 > toExcluded) {
           throw new IllegalArgumentException(
               "unterminated escape sequence at index " + i + " of: " + s);
         }
-        byteBuf.put(decodeHexByte(s, i + 1));
+        byte b = decodeHexByte(s, i + 1);
+        if (b >= 0 && count == 0) {
+          // ASCII
+          strBuf.append((char) b);
+        } else {
+          if (bytes == null) {
+            bytes = new byte[(toExcluded - i) / 3];
+          }
+          bytes[count++] = b;
+        }
         i += 3;
       } while (i < toExcluded && s.charAt(i) == '%');
       i--;
 
-      byteBuf.flip();
-      charBuf.clear();
-      CoderResult result = decoder.reset().decode(byteBuf, charBuf, true);
-      try {
-        if (!result.isUnderflow()) {
-          result.throwException();
+      if (count > 0) {
+        if (decoder == null) {
+          decoder = charset.newDecoder();
+          charBuf = CharBuffer.allocate(bytes.length);
         }
-        result = decoder.flush(charBuf);
-        if (!result.isUnderflow()) {
-          result.throwException();
+        charBuf.clear();
+        CoderResult result = decoder.reset()
+            .decode(ByteBuffer.wrap(bytes, 0, count), charBuf, true);
+        try {
+          if (!result.isUnderflow()) {
+            result.throwException();
+          }
+          result = decoder.flush(charBuf);
+          if (!result.isUnderflow()) {
+            result.throwException();
+          }
+        } catch (CharacterCodingException ex) {
+          throw SneakyThrows.propagate(ex);
         }
-      } catch (CharacterCodingException ex) {
-        throw SneakyThrows.propagate(ex);
+        strBuf.append(charBuf.flip());
       }
-      strBuf.append(charBuf.flip());
     }
     return strBuf.toString();
   }
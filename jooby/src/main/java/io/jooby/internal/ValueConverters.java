@@ -34,9 +34,23 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiPredicate;
 
 public class ValueConverters {
 
+  /** Built-in conversion: string, primitives, wrappers and enums. */
+  private interface Conversion {
+    Object convert(ValueNode value, Class type);
+  }
+
+  private static final Conversion NONE = (value, type) -> null;
+
+  private static final ClassValue<Conversion> BUILTIN = new ClassValue<Conversion>() {
+    @Override protected Conversion computeValue(Class<?> type) {
+      return builtin(type);
+    }
+  };
+
   static List<ValueConverter> defaultConverters() {
     List<ValueConverter> result = new ArrayList<>();
     result.add(new UUIDConverter());
@@ -88,61 +102,81 @@ public class ValueConverters {
   }
 
   public static <T> T convert(ValueNode value, Class type, Router router) {
+    Conversion builtin = BUILTIN.get(type);
+    if (builtin != NONE) {
+      return (T) builtin.convert(value, type);
+    }
+    if (value.isSingle()) {
+      ValueConverter converter = converter(router.getConverters(), type,
+          ValueConverter::supports);
+      if (converter != null) {
+        return (T) converter.convert(value, type);
+      }
+    } else if (value.isObject()) {
+      BeanConverter converter = converter(router.getBeanConverters(), type,
+          BeanConverter::supports);
+      if (converter != null) {
+        return (T) converter.convert(value, type);
+      }
+    }
+    return null;
+  }
+
+  private static <C> C converter(List<C> converters, Class type,
+      BiPredicate<C, Class> supports) {
+    if (converters instanceof ConverterList) {
+      return ((ConverterList<C>) converters).converter(type);
+    }
+    for (C converter : converters) {
+      if (supports.test(converter, type)) {
+        return converter;
+      }
+    }
+    return null;
+  }
+
+  private static Conversion builtin(Class type) {
     if (type == String.class) {
-      return (T) value.valueOrNull();
+      return (value, t) -> value.valueOrNull();
     }
     if (type == int.class) {
-      return (T) Integer.valueOf(value.intValue());
+      return (value, t) -> value.intValue();
     }
     if (type == long.class) {
-      return (T) Long.valueOf(value.longValue());
+      return (value, t) -> value.longValue();
     }
     if (type == float.class) {
-      return (T) Float.valueOf(value.floatValue());
+      return (value, t) -> value.floatValue();
     }
     if (type == double.class) {
-      return (T) Double.valueOf(value.doubleValue());
+      return (value, t) -> value.doubleValue();
     }
     if (type == boolean.class) {
-      return (T) Boolean.valueOf(value.booleanValue());
+      return (value, t) -> value.booleanValue();
     }
     if (type == byte.class) {
-      return (T) Byte.valueOf(value.byteValue());
+      return (value, t) -> value.byteValue();
     }
     if (Enum.class.isAssignableFrom(type)) {
-      return (T) enumValue(value, type);
+      return ValueConverters::enumValue;
     }
     // Wrapper
     if (type == Integer.class) {
-      return (T) (value.isMissing() ? null : Integer.valueOf(value.intValue()));
+      return (value, t) -> value.isMissing() ? null : value.intValue();
     }
     if (type == Long.class) {
-      return (T) (value.isMissing() ? null : Long.valueOf(value.longValue()));
+      return (value, t) -> value.isMissing() ? null : value.longValue();
     }
     if (type == Float.class) {
-      return (T) (value.isMissing() ? null : Float.valueOf(value.floatValue()));
+      return (value, t) -> value.isMissing() ? null : value.floatValue();
     }
     if (type == Double.class) {
-      return (T) (value.isMissing() ? null : Double.valueOf(value.doubleValue()));
+      return (value, t) -> value.isMissing() ? null : value.doubleValue();
     }
     if (type == Byte.class) {
-      return (T) (value.isMissing() ? null : Byte.valueOf(value.byteValue()));
-    }
-
-    if (value.isSingle()) {
-      for (ValueConverter converter : router.getConverters()) {
-        if (converter.supports(type)) {
-          return (T) converter.convert(value, type);
-        }
-      }
-    } else if (value.isObject()) {
-      for (BeanConverter converter : router.getBeanConverters()) {
-        if (converter.supports(type)) {
-          return (T) converter.convert(value, type);
-        }
-      }
+      return (value, t) -> value.isMissing() ? null : value.byteValue();
     }
-    return null;
+    return NONE;
   }
 
   private static Object enumValue(ValueNode value, Class type) {
@@ -0,0 +1,103 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates a thread per task executor backed by virtual threads on JDK 21+. Virtual threads are
+ * looked up at runtime, so the library keeps compiling and running on Java 8.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public final class VirtualThreads {
+
+  private static final int JAVA_21 = 21;
+
+  /** Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory()). */
+  private static final MethodHandle FACTORY = lookup();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * True when the current JVM supports virtual threads.
+   *
+   * @return True when the current JVM supports virtual threads.
+   */
+  public static boolean isAvailable() {
+    return FACTORY != null;
+  }
+
+  /**
+   * Creates a new executor which runs each task on a new virtual thread.
+   *
+   * @param name Thread name prefix.
+   * @return A new executor or <code>null</code> when virtual threads are not available.
+   */
+  public static @Nullable ExecutorService newExecutor(@Nonnull String name) {
+    if (FACTORY == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) FACTORY.invoke(name + "-", 0L);
+    } catch (Throwable x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  private static MethodHandle lookup() {
+    if (javaVersion() < JAVA_21) {
+      // JDK 19/20 has virtual threads as preview feature
+      return null;
+    }
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      // Thread.ofVirtual()
+      MethodHandle newBuilder = lookup
+          .findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtual));
+      // builder.name(String, long)
+      MethodHandle name = lookup.findVirtual(ofVirtual, "name",
+          MethodType.methodType(ofVirtual, String.class, long.class));
+      // builder.factory()
+      MethodHandle factory = lookup
+          .findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+      // Executors.newThreadPerTaskExecutor(ThreadFactory)
+      MethodHandle executor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+          MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+
+      // (String, long) -> ExecutorService
+      MethodHandle namedBuilder = MethodHandles.foldArguments(name, newBuilder);
+      MethodHandle threadFactory = MethodHandles.filterReturnValue(namedBuilder,
+          factory.asType(MethodType.methodType(ThreadFactory.class, ofVirtual)));
+      return MethodHandles.filterReturnValue(threadFactory, executor);
+    } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException x) {
+      return null;
+    }
+  }
+
+  private static int javaVersion() {
+    String version = System.getProperty("java.specification.version", "1.8");
+    try {
+      return version.startsWith("1.") ? Integer.parseInt(version.substring(2))
+          : Integer.parseInt(version);
+    } catch (NumberFormatException x) {
+      return 0;
+    }
+  }
+}
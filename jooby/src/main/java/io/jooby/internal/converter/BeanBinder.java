@@ -0,0 +1,349 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.converter;
+
+import static io.jooby.SneakyThrows.propagate;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import io.jooby.FileUpload;
+import io.jooby.Multipart;
+import io.jooby.Usage;
+import io.jooby.ValueNode;
+import io.jooby.exception.BadRequestException;
+import io.jooby.exception.MissingValueException;
+import io.jooby.exception.ProvisioningException;
+import io.jooby.internal.reflect.$Types;
+
+/**
+ * Creates a bean from a {@link ValueNode}. Constructor, setters and parameter types are resolved
+ * once per bean type, instances are created and populated via method handles.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public final class BeanBinder {
+  private static final String AMBIGUOUS_CONSTRUCTOR =
+      "Ambiguous constructor found. Expecting a single constructor or only one annotated with "
+          + Inject.class.getName();
+
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final MethodType CONSTRUCTOR = MethodType
+      .methodType(Object.class, Object[].class);
+
+  private static final MethodType SETTER = MethodType
+      .methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<BeanBinder> BINDERS = new ClassValue<BeanBinder>() {
+    @Override protected BeanBinder computeValue(Class<?> type) {
+      return new BeanBinder(type);
+    }
+  };
+
+  private enum Kind {
+    SET,
+    LIST,
+    OPTIONAL,
+    INT,
+    LONG,
+    BOOLEAN,
+    DOUBLE,
+    VALUE
+  }
+
+  /** Constructor or setter parameter. */
+  private static final class Property {
+    private final Parameter parameter;
+
+    private final String name;
+
+    private final Class type;
+
+    private final Class elementType;
+
+    private final Kind kind;
+
+    private final boolean fileUpload;
+
+    /**
+     * Setter as <code>(Object, int|long|boolean|double)void</code> for primitives or
+     * <code>(Object, Object)void</code>. It is <code>null</code> for constructor parameters.
+     */
+    private final MethodHandle setter;
+
+    Property(Parameter parameter, String name, MethodHandle setter) {
+      this.parameter = parameter;
+      this.name = name;
+      this.type = parameter.getType();
+      this.elementType = $Types.parameterizedType0(parameter.getParameterizedType());
+      this.fileUpload = elementType == FileUpload.class;
+      if (Set.class.isAssignableFrom(type)) {
+        kind = Kind.SET;
+      } else if (Collection.class.isAssignableFrom(type)) {
+        kind = Kind.LIST;
+      } else if (Optional.class.isAssignableFrom(type)) {
+        kind = Kind.OPTIONAL;
+      } else if (type == int.class) {
+        kind = Kind.INT;
+      } else if (type == long.class) {
+        kind = Kind.LONG;
+      } else if (type == boolean.class) {
+        kind = Kind.BOOLEAN;
+      } else if (type == double.class) {
+        kind = Kind.DOUBLE;
+      } else {
+        kind = Kind.VALUE;
+      }
+      if (setter == null) {
+        this.setter = null;
+      } else if (kind == Kind.INT || kind == Kind.LONG || kind == Kind.BOOLEAN
+          || kind == Kind.DOUBLE) {
+        this.setter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+      } else {
+        this.setter = setter.asType(SETTER);
+      }
+    }
+
+    void set(Object bean, ValueNode node, ValueNode value) {
+      try {
+        // primitives are parsed and set without boxing
+        switch (kind) {
+          case INT:
+            setter.invokeExact(bean, value.intValue());
+            break;
+          case LONG:
+            setter.invokeExact(bean, value.longValue());
+            break;
+          case BOOLEAN:
+            setter.invokeExact(bean, value.booleanValue());
+            break;
+          case DOUBLE:
+            setter.invokeExact(bean, value.doubleValue());
+            break;
+          default:
+            setter.invokeExact(bean, value(node, value));
+        }
+      } catch (ProvisioningException x) {
+        throw x;
+      } catch (Exception x) {
+        throw new ProvisioningException(parameter, x);
+      } catch (Throwable x) {
+        throw propagate(x);
+      }
+    }
+
+    Object value(ValueNode node, ValueNode value) {
+      try {
+        if (fileUpload) {
+          Multipart multipart = (Multipart) node;
+          switch (kind) {
+            case SET:
+              return new HashSet<>(multipart.files(value.name()));
+            case LIST:
+              return multipart.files(value.name());
+            case OPTIONAL:
+              List<FileUpload> files = multipart.files(value.name());
+              return files.isEmpty() ? Optional.empty() : Optional.of(files.get(0));
+            default:
+              return multipart.file(value.name());
+          }
+        }
+        switch (kind) {
+          case SET:
+            return value.toSet(elementType);
+          case LIST:
+            return value.toList(elementType);
+          case OPTIONAL:
+            return value.toOptional(elementType);
+          default:
+            if (value.isMissing() && type.isPrimitive()) {
+              // fail
+              value.value();
+            }
+            return value.to(type);
+        }
+      } catch (MissingValueException x) {
+        throw new ProvisioningException(parameter, x);
+      } catch (BadRequestException x) {
+        throw new ProvisioningException(parameter, x);
+      }
+    }
+  }
+
+  /** Constructor as <code>(Object[])Object</code>. */
+  private final MethodHandle constructor;
+
+  private final Property[] args;
+
+  /** Setters by value name. Constructor parameters are excluded. */
+  private final Map<String, Property> setters;
+
+  private BeanBinder(Class type) {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Constructor[] constructors = type.getConstructors();
+      Constructor constructor = constructors.length == 0
+          ? type.getDeclaredConstructor()
+          : selectConstructor(constructors);
+      this.constructor = lookup.unreflectConstructor(constructor)
+          .asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(CONSTRUCTOR);
+      Parameter[] parameters = constructor.getParameters();
+      this.args = new Property[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        args[i] = new Property(parameters[i], paramName(parameters[i]), null);
+      }
+      this.setters = setters(lookup, type);
+      for (Property arg : args) {
+        setters.remove(arg.name);
+      }
+    } catch (NoSuchMethodException | IllegalAccessException x) {
+      throw propagate(x);
+    }
+  }
+
+  /**
+   * Get or create a binder for the given type.
+   *
+   * @param type Bean type.
+   * @return Bean binder.
+   */
+  public static BeanBinder get(Class type) {
+    return BINDERS.get(type);
+  }
+
+  /**
+   * Create a new bean: call constructor and then setters.
+   *
+   * @param node Bean values.
+   * @return New bean.
+   */
+  public Object bind(ValueNode node) {
+    Object[] values = args.length == 0 ? NO_ARGS : new Object[args.length];
+    for (int i = 0; i < args.length; i++) {
+      Property arg = args[i];
+      values[i] = arg.value(node, node.get(arg.name));
+    }
+    Object bean;
+    try {
+      bean = constructor.invokeExact(values);
+    } catch (Throwable x) {
+      throw propagate(x);
+    }
+    if (setters.size() > 0) {
+      for (ValueNode value : node) {
+        Property setter = setters.get(value.name());
+        if (setter != null) {
+          setter.set(bean, node, value);
+        }
+      }
+    }
+    return bean;
+  }
+
+  private static Constructor selectConstructor(Constructor[] constructors) {
+    if (constructors.length == 1) {
+      return constructors[0];
+    } else {
+      Constructor injectConstructor = null;
+      Constructor defaultConstructor = null;
+      for (Constructor constructor : constructors) {
+        if (Modifier.isPublic(constructor.getModifiers())) {
+          Annotation inject = constructor.getAnnotation(Inject.class);
+          if (inject == null) {
+            if (constructor.getParameterCount() == 0) {
+              defaultConstructor = constructor;
+            }
+          } else {
+            if (injectConstructor == null) {
+              injectConstructor = constructor;
+            } else {
+              throw new IllegalStateException(AMBIGUOUS_CONSTRUCTOR);
+            }
+          }
+        }
+      }
+      Constructor result = injectConstructor == null ? defaultConstructor : injectConstructor;
+      if (result == null) {
+        throw new IllegalStateException(AMBIGUOUS_CONSTRUCTOR);
+      }
+      return result;
+    }
+  }
+
+  private static String paramName(Parameter parameter) {
+    Named named = parameter.getAnnotation(Named.class);
+    if (named != null && named.value().length() > 0) {
+      return named.value();
+    }
+    if (parameter.isNamePresent()) {
+      return parameter.getName();
+    }
+    throw Usage.parameterNameNotPresent(parameter);
+  }
+
+  /**
+   * Map value names to single argument methods. A value named <code>foo</code> (or
+   * <code>Foo</code>) is bound to <code>setFoo</code> or when missing to <code>foo</code>.
+   */
+  private static Map<String, Property> setters(MethodHandles.Lookup lookup, Class type)
+      throws IllegalAccessException, NoSuchMethodException {
+    Map<String, Property> methods = new HashMap<>();
+    Map<String, Property> setters = new HashMap<>();
+    for (Method method : type.getMethods()) {
+      if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      String name = method.getName();
+      Property property = null;
+      if (!methods.containsKey(name)) {
+        property = property(lookup, type, method);
+        methods.put(name, property);
+      }
+      if (name.length() > 3 && name.startsWith("set")) {
+        char ch = name.charAt(3);
+        String suffix = name.substring(4);
+        char lower = Character.toLowerCase(ch);
+        for (char first : new char[]{ch, lower}) {
+          String key = first + suffix;
+          if (Character.toUpperCase(first) == ch && !setters.containsKey(key)) {
+            if (property == null) {
+              property = property(lookup, type, method);
+            }
+            setters.put(key, property);
+          }
+        }
+      }
+    }
+    methods.putAll(setters);
+    return methods;
+  }
+
+  private static Property property(MethodHandles.Lookup lookup, Class type, Method method)
+      throws IllegalAccessException, NoSuchMethodException {
+    MethodHandle setter = lookup.findVirtual(type, method.getName(),
+        MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+    return new Property(method.getParameters()[0], method.getName(), setter);
+  }
+}
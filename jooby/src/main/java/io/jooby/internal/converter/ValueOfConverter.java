@@ -9,44 +9,61 @@ import io.jooby.Value;
 import io.jooby.ValueConverter;
 import io.jooby.SneakyThrows;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
 
-public class ValueOfConverter implements ValueConverter, BiFunction<Class, Method, Method> {
+/**
+ * Convert a string using a public static <code>valueOf(String)</code> method or a public
+ * <code>(String)</code> constructor. Factory is resolved once per type.
+ */
+public class ValueOfConverter implements ValueConverter {
+
+  private static final MethodType FACTORY = MethodType.methodType(Object.class, String.class);
 
-  private Map<Class, Method> cache = new ConcurrentHashMap<>();
+  /** Marks types without factory. */
+  private static final MethodHandle NONE = MethodHandles.identity(Object.class);
+
+  private static final ClassValue<MethodHandle> FACTORIES = new ClassValue<MethodHandle>() {
+    @Override protected MethodHandle computeValue(Class<?> type) {
+      return factory(type);
+    }
+  };
 
   @Override public boolean supports(Class type) {
-    return cache.compute(type, this) != null;
+    return FACTORIES.get(type) != NONE;
   }
 
   @Override public Object convert(Value value, Class type) {
     try {
-      return cache.compute(type, this).invoke(null, value.value());
-    } catch (InvocationTargetException x) {
-      throw SneakyThrows.propagate(x.getTargetException());
-    } catch (IllegalAccessException x) {
+      return FACTORIES.get(type).invokeExact(value.value());
+    } catch (Throwable x) {
       throw SneakyThrows.propagate(x);
     }
   }
 
-  @Override public Method apply(Class type, Method method) {
-    if (method == null) {
-      try {
-        Method valueOf = type.getDeclaredMethod("valueOf", String.class);
-        if (Modifier.isStatic(valueOf.getModifiers()) && Modifier
-            .isPublic(valueOf.getModifiers())) {
-          return valueOf;
-        }
-        return null;
-      } catch (NoSuchMethodException x) {
-        return null;
+  private static MethodHandle factory(Class<?> type) {
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    try {
+      Method valueOf = type.getDeclaredMethod("valueOf", String.class);
+      if (Modifier.isStatic(valueOf.getModifiers()) && Modifier
+          .isPublic(valueOf.getModifiers())) {
+        return lookup.unreflect(valueOf).asType(FACTORY);
       }
+    } catch (NoSuchMethodException | IllegalAccessException x) {
+      // try constructor
+    }
+    if (Modifier.isAbstract(type.getModifiers())) {
+      return NONE;
+    }
+    try {
+      Constructor<?> constructor = type.getConstructor(String.class);
+      return lookup.unreflectConstructor(constructor).asType(FACTORY);
+    } catch (NoSuchMethodException | IllegalAccessException x) {
+      return NONE;
     }
-    return method;
   }
 }
@@ -30,7 +30,8 @@ public class CompletionStageHandler implements LinkedHandler {
         try {
           if (x != null) {
             ctx.sendError((Throwable) x);
-          } else {
+          } else if (!ctx.isResponseStarted()) {
+            // response might be sent by a decorator (like SingleFlightHandler)
             ctx.render(value);
           }
         } catch (Throwable cause) {
@@ -5,6 +5,7 @@
  */
 package io.jooby.internal.handler;
 
+import io.jooby.Bulkhead;
 import io.jooby.Context;
 import io.jooby.Route;
 
@@ -21,13 +22,17 @@ public class DispatchHandler implements LinkedHandler {
   }
 
   @Nonnull @Override public Object apply(@Nonnull Context ctx) {
-    return ctx.dispatch(executor, () -> {
+    Runnable task = () -> {
       try {
         next.apply(ctx);
       } catch (Throwable x) {
         ctx.sendError(x);
       }
-    });
+    };
+    if (executor instanceof Bulkhead) {
+      return ((Bulkhead) executor).dispatch(ctx, task);
+    }
+    return ctx.dispatch(executor, task);
   }
 
   @Override public Route.Handler next() {
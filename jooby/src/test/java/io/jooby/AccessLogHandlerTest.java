@@ -0,0 +1,186 @@
+package io.jooby;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AccessLogHandlerTest {
+
+  @Test
+  public void ncsa() throws Exception {
+    List<String> lines = new ArrayList<>();
+    AccessLogHandler handler = new AccessLogHandler()
+        .dateFormatter(ZoneId.of("UTC"))
+        .log(lines::add)
+        .extended();
+
+    List<Route.Complete> listeners = new ArrayList<>();
+    Context ctx = request(listeners);
+    handler.apply(c -> "OK").apply(ctx);
+    assertEquals(0, lines.size());
+
+    complete(listeners, ctx);
+
+    assertEquals(1, lines.size());
+    String line = lines.get(0);
+    assertTrue(line.startsWith("127.0.0.1 - - ["), line);
+    assertTrue(line.contains(" +0000] \"GET /path?q=1 HTTP/1.1\" 200 2 "), line);
+    assertTrue(line.endsWith(" \"curl\" \"-\""), line);
+  }
+
+  @Test
+  public void json() throws Exception {
+    List<String> lines = new ArrayList<>();
+    AccessLogHandler handler = new AccessLogHandler()
+        .json()
+        .log(lines::add)
+        .requestHeader("User-Agent");
+
+    List<Route.Complete> listeners = new ArrayList<>();
+    Context ctx = request(listeners);
+    handler.apply(c -> "OK").apply(ctx);
+    complete(listeners, ctx);
+
+    String line = lines.get(0);
+    assertTrue(line.startsWith("{\"remoteAddress\":\"127.0.0.1\",\"user\":\"-\",\"timestamp\":"),
+        line);
+    assertTrue(line.contains(",\"method\":\"GET\",\"path\":\"/path\",\"query\":\"?q=1\","
+        + "\"protocol\":\"HTTP/1.1\",\"status\":200,\"length\":2,\"latency\":"), line);
+    assertTrue(line.endsWith(",\"requestHeaders\":{\"User-Agent\":\"curl\"}}"), line);
+  }
+
+  @Test
+  public void async() throws Exception {
+    List<String> lines = new ArrayList<>();
+    AccessLogHandler handler = new AccessLogHandler()
+        .log(lines::add)
+        .async(16);
+
+    List<Route.Complete> listeners = new ArrayList<>();
+    Context ctx = request(listeners);
+    Route.Handler pipeline = handler.apply(c -> "OK");
+    for (int i = 0; i < 3; i++) {
+      pipeline.apply(ctx);
+    }
+    complete(listeners, ctx);
+
+    handler.close();
+
+    assertEquals(3, lines.size());
+    assertEquals(0, handler.getDroppedCount());
+    for (String line : lines) {
+      assertTrue(line.contains("\"GET /path?q=1 HTTP/1.1\" 200 2 "), line);
+    }
+  }
+
+  @Test
+  public void logInflightRequestsAfterClose() throws Exception {
+    List<String> lines = new ArrayList<>();
+    AccessLogHandler handler = new AccessLogHandler()
+        .log(lines::add)
+        .async(16);
+
+    List<Route.Complete> listeners = new ArrayList<>();
+    Context ctx = request(listeners);
+    handler.apply(c -> "OK").apply(ctx);
+
+    handler.close();
+    // completes during shutdown
+    complete(listeners, ctx);
+    assertEquals(1, lines.size());
+
+    // restart
+    listeners.clear();
+    handler.async(16);
+    handler.apply(c -> "OK").apply(ctx);
+    complete(listeners, ctx);
+    handler.close();
+    assertEquals(2, lines.size());
+  }
+
+  @Test
+  public void closeWaitsForPendingOffer() throws Exception {
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch recording = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AccessLogHandler handler = new AccessLogHandler(ctx -> {
+      // request thread got the ring and is copying the record
+      recording.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+      return "-";
+    }).log(lines::add).async(16);
+
+    List<Route.Complete> listeners = new ArrayList<>();
+    Context ctx = request(listeners);
+    handler.apply(c -> "OK").apply(ctx);
+
+    Thread request = new Thread(() -> {
+      try {
+        complete(listeners, ctx);
+      } catch (Exception x) {
+        throw SneakyThrows.propagate(x);
+      }
+    });
+    request.start();
+    assertTrue(recording.await(5, TimeUnit.SECONDS));
+
+    CountDownLatch closed = new CountDownLatch(1);
+    Thread close = new Thread(() -> {
+      try {
+        handler.close();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+      closed.countDown();
+    });
+    close.start();
+    assertFalse(closed.await(200, TimeUnit.MILLISECONDS));
+
+    release.countDown();
+    assertTrue(closed.await(5, TimeUnit.SECONDS));
+    request.join();
+    assertEquals(1, lines.size());
+    assertEquals(0, handler.getDroppedCount());
+  }
+
+  private void complete(List<Route.Complete> listeners, Context ctx) throws Exception {
+    for (Route.Complete listener : listeners) {
+      listener.apply(ctx);
+    }
+  }
+
+  private Context request(List<Route.Complete> listeners) {
+    Context ctx = mock(Context.class);
+    when(ctx.getRemoteAddress()).thenReturn("127.0.0.1");
+    when(ctx.getMethod()).thenReturn("GET");
+    when(ctx.getRequestPath()).thenReturn("/path");
+    when(ctx.queryString()).thenReturn("?q=1");
+    when(ctx.getProtocol()).thenReturn("HTTP/1.1");
+    when(ctx.getResponseCode()).thenReturn(StatusCode.OK);
+    when(ctx.getResponseLength()).thenReturn(2L);
+    when(ctx.header(anyString())).then(invocation -> Value.missing(invocation.getArgument(0)));
+    when(ctx.header("User-Agent")).thenReturn(Value.value(ctx, "User-Agent", "curl"));
+    when(ctx.onComplete(any())).then(invocation -> {
+      listeners.add(invocation.getArgument(0));
+      return ctx;
+    });
+    return ctx;
+  }
+}
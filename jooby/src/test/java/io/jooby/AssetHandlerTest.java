@@ -0,0 +1,194 @@
+package io.jooby;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AssetHandlerTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void precompressedOff() throws Exception {
+    files();
+    Context ctx = request("app.js", "gzip, deflate, br");
+
+    handler(false).apply(ctx);
+
+    verify(ctx).setResponseLength(5);
+    verify(ctx).setResponseType(MediaType.js);
+    verify(ctx, never()).setResponseHeader(eq("Content-Encoding"), any(Object.class));
+    verify(ctx, never()).setResponseHeader(eq("Vary"), any(Object.class));
+  }
+
+  @Test
+  public void preferBrotli() throws Exception {
+    files();
+    Context ctx = request("app.js", "gzip, deflate, br");
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(2);
+    verify(ctx).setResponseType(MediaType.js);
+    verify(ctx).setResponseHeader("Content-Encoding", "br");
+    verify(ctx).setResponseHeader("Vary", "Accept-Encoding");
+  }
+
+  @Test
+  public void gzip() throws Exception {
+    files();
+    Context ctx = request("app.js", "gzip");
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(3);
+    verify(ctx).setResponseType(MediaType.js);
+    verify(ctx).setResponseHeader("Content-Encoding", "gzip");
+  }
+
+  @Test
+  public void qualityZero() throws Exception {
+    files();
+    Context ctx = request("app.js", "br;q=0, gzip;q=0.8");
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(3);
+    verify(ctx).setResponseHeader("Content-Encoding", "gzip");
+
+    ctx = request("app.js", "*;q=0.5, br;q=0");
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(3);
+    verify(ctx).setResponseHeader("Content-Encoding", "gzip");
+  }
+
+  @Test
+  public void identity() throws Exception {
+    files();
+    Context ctx = request("app.js", null);
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(5);
+    verify(ctx).setResponseHeader("Vary", "Accept-Encoding");
+    verify(ctx, never()).setResponseHeader(eq("Content-Encoding"), any(Object.class));
+  }
+
+  @Test
+  public void missingVariant() throws Exception {
+    files();
+    Context ctx = request("app.css", "gzip, br");
+
+    handler(true).apply(ctx);
+
+    verify(ctx).setResponseLength(4);
+    verify(ctx).setResponseType(MediaType.css);
+    verify(ctx, never()).setResponseHeader(eq("Content-Encoding"), any(Object.class));
+  }
+
+  @Test
+  public void cache() throws Exception {
+    files();
+    AssetHandler handler = handler(true).setCacheSize(1024);
+    Context ctx = request("app.js", "gzip");
+
+    handler.apply(ctx);
+
+    verify(ctx).setResponseLength(3);
+    verify(ctx).setResponseHeader("Content-Encoding", "gzip");
+    verify(ctx).send(ByteBuffer.wrap("gz!".getBytes(StandardCharsets.UTF_8)));
+
+    // served from cache
+    write("app.js.gz", "changed");
+    ctx = request("app.js", "gzip");
+
+    handler.apply(ctx);
+
+    verify(ctx).setResponseLength(3);
+    verify(ctx).setResponseType(MediaType.js);
+    verify(ctx).send(ByteBuffer.wrap("gz!".getBytes(StandardCharsets.UTF_8)));
+    verify(ctx, never()).send(any(InputStream.class));
+  }
+
+  @Test
+  public void cacheRange() throws Exception {
+    files();
+    AssetHandler handler = handler(false).setCacheSize(1024);
+    Context ctx = request("app.js", null);
+    when(ctx.header("Range")).thenReturn(Value.value(ctx, "Range", "bytes=1-3"));
+
+    handler.apply(ctx);
+
+    verify(ctx).setResponseCode(StatusCode.PARTIAL_CONTENT);
+    verify(ctx).setResponseHeader("Content-Range", "bytes 1-3/5");
+    verify(ctx).setResponseLength(3);
+    verify(ctx).send(ByteBuffer.wrap("ler".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void fileChannel() throws Exception {
+    files();
+    Context ctx = request("app.js", null);
+
+    handler(false).apply(ctx);
+
+    verify(ctx).setResponseHeader("Accept-Ranges", "bytes");
+    verify(ctx).send(any(FileChannel.class));
+    verify(ctx, never()).send(any(InputStream.class));
+  }
+
+  private void files() throws IOException {
+    write("app.js", "alert");
+    write("app.js.gz", "gz!");
+    write("app.js.br", "br");
+    write("app.css", "body");
+  }
+
+  private void write(String name, String content) throws IOException {
+    Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private AssetHandler handler(boolean precompressed) {
+    AssetHandler handler = new AssetHandler(AssetSource.create(dir))
+        .setPrecompressed(precompressed);
+    handler.setRoute(new Route(Router.GET, "/{file}", handler)
+        .setPathKeys(Collections.singletonList("file")));
+    return handler;
+  }
+
+  private Context request(String file, String acceptEncoding) {
+    Context ctx = mock(Context.class);
+    when(ctx.pathMap()).thenReturn(Collections.singletonMap("file", file));
+    when(ctx.header(anyString())).then(invocation -> Value.missing(invocation.getArgument(0)));
+    if (acceptEncoding != null) {
+      when(ctx.header("Accept-Encoding"))
+          .thenReturn(Value.value(ctx, "Accept-Encoding", acceptEncoding));
+    }
+    when(ctx.send(any(InputStream.class))).thenReturn(ctx);
+    when(ctx.send(any(ByteBuffer.class))).thenReturn(ctx);
+    when(ctx.send(any(FileChannel.class))).then(invocation -> {
+      invocation.<FileChannel>getArgument(0).close();
+      return ctx;
+    });
+    return ctx;
+  }
+}
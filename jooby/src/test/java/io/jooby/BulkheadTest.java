@@ -0,0 +1,112 @@
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkheadTest {
+
+  @Test
+  public void queueAndReject() {
+    List<Runnable> tasks = new ArrayList<>();
+    Executor executor = tasks::add;
+    Bulkhead bulkhead = new Bulkhead("db", 2, 1, executor);
+
+    List<String> calls = new ArrayList<>();
+    bulkhead.execute(() -> calls.add("1"));
+    bulkhead.execute(() -> calls.add("2"));
+    bulkhead.execute(() -> calls.add("3"));
+
+    assertEquals(2, tasks.size());
+    assertEquals(2, bulkhead.getActiveCount());
+    assertEquals(1, bulkhead.getQueueSize());
+
+    assertThrows(RejectedExecutionException.class, () -> bulkhead.execute(() -> calls.add("4")));
+    assertEquals(1, bulkhead.getRejectedCount());
+
+    // complete first task, queued task starts
+    tasks.get(0).run();
+    assertEquals(3, tasks.size());
+    assertEquals(2, bulkhead.getActiveCount());
+    assertEquals(0, bulkhead.getQueueSize());
+
+    tasks.get(1).run();
+    tasks.get(2).run();
+    assertEquals(0, bulkhead.getActiveCount());
+    assertEquals(3, bulkhead.getDispatchedCount());
+    assertEquals("[1, 2, 3]", calls.toString());
+  }
+
+  @Test
+  public void rejectRequest() {
+    List<Runnable> tasks = new ArrayList<>();
+    Executor executor = tasks::add;
+    Bulkhead bulkhead = new Bulkhead("db", 1, 0, executor)
+        .setRetryAfter(Duration.ofSeconds(5));
+
+    Context ctx = context();
+    bulkhead.dispatch(ctx, () -> {
+    });
+    verify(ctx, never()).sendError(any(Throwable.class));
+    assertEquals(1, tasks.size());
+
+    Context rejected = context();
+    bulkhead.dispatch(rejected, () -> {
+    });
+    verify(rejected).setResponseHeader("Retry-After", 5L);
+    verify(rejected).setResetHeadersOnError(false);
+    ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+    verify(rejected).sendError(cause.capture());
+    assertEquals(StatusCode.SERVICE_UNAVAILABLE,
+        ((StatusCodeException) cause.getValue()).getStatusCode());
+    assertEquals(1, bulkhead.getRejectedCount());
+  }
+
+  @Test
+  public void dedicatedThreads() throws Exception {
+    Bulkhead bulkhead = new Bulkhead("db", 2, 10);
+    try {
+      CountDownLatch latch = new CountDownLatch(5);
+      List<String> threads = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        bulkhead.execute(() -> {
+          synchronized (threads) {
+            threads.add(Thread.currentThread().getName());
+          }
+          latch.countDown();
+        });
+      }
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      threads.forEach(name -> assertTrue(name.startsWith("db-"), name));
+    } finally {
+      bulkhead.close();
+    }
+  }
+
+  private Context context() {
+    Context ctx = mock(Context.class);
+    when(ctx.dispatch(any(Executor.class), any(Runnable.class))).then(invocation -> {
+      invocation.<Executor>getArgument(0).execute(invocation.getArgument(1));
+      return ctx;
+    });
+    when(ctx.sendError(any(Throwable.class))).thenReturn(ctx);
+    return ctx;
+  }
+}
@@ -2,11 +2,16 @@ package io.jooby;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Consumer;
 
 import static io.jooby.StatusCode.PARTIAL_CONTENT;
 import static io.jooby.StatusCode.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ByteRangeTest {
 
@@ -66,6 +71,56 @@ public class ByteRangeTest {
     });
   }
 
+  @Test
+  public void ifRange() {
+    Context ctx = request("bytes=0-4", null);
+    assertEquals(PARTIAL_CONTENT, ByteRange.parse(ctx, 10).getStatusCode());
+
+    ctx = request("bytes=0-4", "\"abc\"");
+    when(ctx.getResponseHeader("ETag")).thenReturn("\"abc\"");
+    assertEquals(PARTIAL_CONTENT, ByteRange.parse(ctx, 10).getStatusCode());
+
+    ctx = request("bytes=0-4", "Wed, 21 Oct 2015 07:28:00 GMT");
+    when(ctx.getResponseHeader("Last-Modified")).thenReturn("Wed, 21 Oct 2015 07:28:00 GMT");
+    assertEquals(PARTIAL_CONTENT, ByteRange.parse(ctx, 10).getStatusCode());
+
+    // changed
+    ctx = request("bytes=0-4", "\"abc\"");
+    when(ctx.getResponseHeader("ETag")).thenReturn("\"xyz\"");
+    assertEquals(StatusCode.OK, ByteRange.parse(ctx, 10).getStatusCode());
+
+    // weak
+    ctx = request("bytes=0-4", "W/\"abc\"");
+    when(ctx.getResponseHeader("ETag")).thenReturn("W/\"abc\"");
+    assertEquals(StatusCode.OK, ByteRange.parse(ctx, 10).getStatusCode());
+  }
+
+  @Test
+  public void byteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap("0123456789".getBytes(StandardCharsets.UTF_8));
+
+    assertEquals("234", toString(ByteRange.parse("bytes=2-4", 10).apply(buffer)));
+    assertEquals("789", toString(ByteRange.parse("bytes=-3", 10).apply(buffer)));
+    assertEquals("0123456789", toString(ByteRange.parse((String) null, 10).apply(buffer)));
+    assertEquals(10, buffer.remaining());
+  }
+
+  private String toString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private Context request(String range, String ifRange) {
+    Context ctx = mock(Context.class);
+    when(ctx.header(anyString())).then(invocation -> Value.missing(invocation.getArgument(0)));
+    when(ctx.header("Range")).thenReturn(Value.value(ctx, "Range", range));
+    if (ifRange != null) {
+      when(ctx.header("If-Range")).thenReturn(Value.value(ctx, "If-Range", ifRange));
+    }
+    return ctx;
+  }
+
   private void range(String value, long len, Consumer<ByteRange> consumer) {
     consumer.accept(ByteRange.parse(value, len));
   }
@@ -0,0 +1,117 @@
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitHandlerTest {
+
+  private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void rejectWhenLimitReached() throws Exception {
+    ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler()
+        .setInitialLimit(2)
+        .setRetryAfter(Duration.ofSeconds(5));
+    Route.Handler handler = limiter.apply(ctx -> "OK");
+
+    Context ctx1 = context();
+    Context ctx2 = context();
+    Context ctx3 = context();
+
+    assertEquals("OK", handler.apply(ctx1));
+    assertEquals("OK", handler.apply(ctx2));
+    assertEquals(2, limiter.getInflight());
+
+    handler.apply(ctx3);
+    verify(ctx3).setResponseHeader("Retry-After", 5L);
+    verify(ctx3).setResetHeadersOnError(false);
+    ArgumentCaptor<Throwable> cause = ArgumentCaptor.forClass(Throwable.class);
+    verify(ctx3).sendError(cause.capture());
+    assertEquals(StatusCode.SERVICE_UNAVAILABLE,
+        ((StatusCodeException) cause.getValue()).getStatusCode());
+    verify(ctx3, never()).onComplete(any());
+    assertEquals(1, limiter.getRejectedCount());
+
+    // complete first request
+    complete(ctx1);
+    assertEquals(1, limiter.getInflight());
+
+    Context ctx4 = context();
+    assertEquals("OK", handler.apply(ctx4));
+    verify(ctx4, never()).sendError(any(Throwable.class));
+  }
+
+  @Test
+  public void growWhileLatencyIsStable() {
+    ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler()
+        .setInitialLimit(10);
+    for (int i = 0; i < 50; i++) {
+      limiter.sample(10 * MS, limiter.getLimit(), false);
+    }
+    assertTrue(limiter.getLimit() > 10, "limit: " + limiter.getLimit());
+    assertEquals(10, limiter.getRtt(TimeUnit.MILLISECONDS));
+    assertEquals(10, limiter.getLongRtt(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void shrinkWhenLatencyIncreases() {
+    ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler()
+        .setInitialLimit(100);
+    for (int i = 0; i < 20; i++) {
+      limiter.sample(10 * MS, 100, false);
+    }
+    int limit = limiter.getLimit();
+    for (int i = 0; i < 20; i++) {
+      limiter.sample(100 * MS, limiter.getLimit(), false);
+    }
+    assertTrue(limiter.getLimit() < limit / 2, "limit: " + limiter.getLimit());
+  }
+
+  @Test
+  public void applicationLimited() {
+    ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler()
+        .setInitialLimit(100);
+    for (int i = 0; i < 50; i++) {
+      limiter.sample(10 * MS, 1, false);
+    }
+    assertEquals(100, limiter.getLimit());
+  }
+
+  @Test
+  public void backoffOnDrop() {
+    ConcurrencyLimitHandler limiter = new ConcurrencyLimitHandler()
+        .setInitialLimit(100)
+        .setMinLimit(80);
+    limiter.sample(10 * MS, 100, true);
+    assertEquals(90, limiter.getLimit());
+    limiter.sample(10 * MS, 100, true);
+    limiter.sample(10 * MS, 100, true);
+    assertEquals(80, limiter.getLimit());
+  }
+
+  private Context context() {
+    Context ctx = mock(Context.class);
+    when(ctx.sendError(any(Throwable.class))).thenReturn(ctx);
+    when(ctx.getResponseCode()).thenReturn(StatusCode.OK);
+    return ctx;
+  }
+
+  private void complete(Context ctx) throws Exception {
+    ArgumentCaptor<Route.Complete> listener = ArgumentCaptor.forClass(Route.Complete.class);
+    verify(ctx, times(1)).onComplete(listener.capture());
+    listener.getValue().apply(ctx);
+  }
+}
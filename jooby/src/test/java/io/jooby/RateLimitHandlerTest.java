@@ -0,0 +1,49 @@
+package io.jooby;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RateLimitHandlerTest {
+
+  @Test
+  public void local() throws Exception {
+    RateLimitHandler handler = RateLimitHandler.local(2, Duration.ofMinutes(1));
+
+    Context ctx = context("10.0.0.1");
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 1L);
+
+    ctx = context("10.0.0.1");
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 0L);
+    verify(ctx, never()).send(any(StatusCode.class));
+
+    ctx = context("10.0.0.1");
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader(eq("X-Rate-Limit-Retry-After-Milliseconds"), anyLong());
+    verify(ctx).send(StatusCode.TOO_MANY_REQUESTS);
+
+    ctx = context("10.0.0.2");
+    handler.apply(ctx);
+    verify(ctx).setResponseHeader("X-Rate-Limit-Remaining", 1L);
+
+    assertEquals(2, handler.getKeyCount());
+    assertEquals(0, handler.getEvictionCount());
+  }
+
+  private Context context(String remoteAddress) {
+    Context ctx = mock(Context.class);
+    when(ctx.getRemoteAddress()).thenReturn(remoteAddress);
+    return ctx;
+  }
+}
@@ -22,6 +22,10 @@ public class ServerOptionsTest {
         .withValue("server.maxRequestSize", fromAnyRef(2048))
         .withValue("server.workerThreads", fromAnyRef(32))
         .withValue("server.host", fromAnyRef("0.0.0.0"))
+        .withValue("server.virtualThreads", fromAnyRef(true))
+        .withValue("server.http2", fromAnyRef(true))
+        .withValue("server.http2MaxConcurrentStreams", fromAnyRef(64))
+        .withValue("server.http2InitialWindowSize", fromAnyRef("1m"))
         .resolve()
     ).get();
     assertEquals(9090, options.getPort());
@@ -34,5 +38,9 @@ public class ServerOptionsTest {
     assertEquals(2048, options.getMaxRequestSize());
     assertEquals(32, options.getWorkerThreads());
     assertEquals("0.0.0.0", options.getHost());
+    assertEquals(true, options.isVirtualThreads());
+    assertEquals(true, options.isHttp2());
+    assertEquals(64, options.getHttp2MaxConcurrentStreams());
+    assertEquals(1048576, options.getHttp2InitialWindowSize());
   }
 }
@@ -0,0 +1,246 @@
+package io.jooby;
+
+import io.jooby.exception.StatusCodeException;
+import io.jooby.internal.MissingValue;
+import io.reactivex.Single;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SingleFlightHandlerTest {
+
+  @Test
+  public void coalesceBlockingRequests() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    Route.Handler handler = singleFlight.apply(ctx -> {
+      calls.incrementAndGet();
+      running.countDown();
+      release.await();
+      return "catalog";
+    });
+
+    Route route = route(String.class);
+    Context leader = context(route, "/catalog/1", "");
+    Context follower = context(route, "/catalog/1", "");
+    Context other = context(route, "/catalog/2", "");
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      Future<Object> leaderResult = executor.submit(() -> handler.apply(leader));
+      assertTrue(running.await(5, TimeUnit.SECONDS));
+      Future<Object> followerResult = executor.submit(() -> handler.apply(follower));
+      while (singleFlight.getFollowerCount() == 0) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+      // different key runs the handler
+      handler.apply(other);
+
+      leaderResult.get(5, TimeUnit.SECONDS);
+      followerResult.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+
+    byte[] body = "catalog".getBytes(UTF_8);
+    verify(leader).send(body);
+    verify(follower).send(body);
+    verify(follower).setResponseCode(StatusCode.OK);
+    verify(follower).setResponseType("text/plain;charset=utf-8");
+    assertEquals(2, calls.get());
+    assertEquals(2, singleFlight.getLeaderCount());
+    assertEquals(1, singleFlight.getFollowerCount());
+    assertEquals(1.0 / 3, singleFlight.getCoalescingRatio(), 0.001);
+    assertEquals(0, singleFlight.getInflight());
+  }
+
+  @Test
+  public void coalesceCompletionStage() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    CompletableFuture<String> future = new CompletableFuture<>();
+    AtomicInteger calls = new AtomicInteger();
+    Route.Handler handler = singleFlight.apply(ctx -> {
+      calls.incrementAndGet();
+      return future;
+    });
+
+    Route route = route(CompletableFuture.class);
+    Context leader = context(route, "/catalog/1", "?lang=en");
+    Context follower = context(route, "/catalog/1", "?lang=en");
+
+    CompletionStage<?> leaderResult = (CompletionStage<?>) handler.apply(leader);
+    CompletionStage<?> followerResult = (CompletionStage<?>) handler.apply(follower);
+    verify(follower, never()).send(any(byte[].class));
+
+    future.complete("catalog");
+
+    byte[] body = "catalog".getBytes(UTF_8);
+    verify(leader).send(body);
+    verify(follower).send(body);
+    assertEquals(follower, followerResult.toCompletableFuture().get());
+    assertTrue(leaderResult.toCompletableFuture().isDone());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void propagateError() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    CompletableFuture<String> future = new CompletableFuture<>();
+    Route.Handler handler = singleFlight.apply(ctx -> future);
+
+    Route route = route(CompletableFuture.class);
+    handler.apply(context(route, "/catalog/1", ""));
+    CompletionStage<?> follower = (CompletionStage<?>) handler
+        .apply(context(route, "/catalog/1", ""));
+
+    IllegalStateException cause = new IllegalStateException("db down");
+    future.completeExceptionally(cause);
+
+    assertTrue(follower.toCompletableFuture().isCompletedExceptionally());
+    assertEquals(0, singleFlight.getInflight());
+  }
+
+  @Test
+  public void followerTimeout() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler()
+        .setTimeout(Duration.ofMillis(50));
+    Route.Handler handler = singleFlight.apply(ctx -> new CompletableFuture<>());
+
+    Route route = route(String.class);
+    handler.apply(context(route, "/catalog/1", ""));
+    StatusCodeException x = assertThrows(StatusCodeException.class,
+        () -> handler.apply(context(route, "/catalog/1", "")));
+    assertEquals(StatusCode.SERVICE_UNAVAILABLE, x.getStatusCode());
+    assertEquals(1, singleFlight.getTimeoutCount());
+
+    Route async = route(CompletableFuture.class);
+    CompletionStage<?> follower = (CompletionStage<?>) handler
+        .apply(context(async, "/catalog/1", ""));
+    CountDownLatch timedOut = new CountDownLatch(1);
+    follower.whenComplete((value, cause) -> timedOut.countDown());
+    assertTrue(timedOut.await(5, TimeUnit.SECONDS));
+    assertTrue(follower.toCompletableFuture().isCompletedExceptionally());
+    assertEquals(2, singleFlight.getTimeoutCount());
+  }
+
+  @Test
+  public void ignoreNonGetRequests() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    Route.Handler handler = singleFlight.apply(ctx -> "OK");
+
+    Context ctx = context(route(String.class), "/catalog/1", "");
+    when(ctx.getMethod()).thenReturn(Router.POST);
+    assertEquals("OK", handler.apply(ctx));
+    verify(ctx, never()).send(any(byte[].class));
+    assertEquals(0, singleFlight.getLeaderCount());
+  }
+
+  @Test
+  public void ignoreReactiveRoutes() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    Single<String> single = Single.just("catalog");
+    Route.Handler handler = singleFlight.apply(ctx -> single);
+
+    Route route = route(Single.class);
+    Context ctx = context(route, "/catalog/1", "");
+    assertSame(single, handler.apply(ctx));
+    assertSame(single, handler.apply(context(route, "/catalog/1", "")));
+    verify(ctx, never()).send(any(byte[].class));
+
+    // subtypes of Publisher
+    Flux<String> flux = Flux.just("catalog");
+    Route.Handler fluxHandler = singleFlight.apply(it -> flux);
+    assertSame(flux, fluxHandler.apply(context(route(Flux.class), "/catalog/1", "")));
+
+    assertEquals(0, singleFlight.getLeaderCount());
+    assertEquals(0, singleFlight.getFollowerCount());
+    assertEquals(0, singleFlight.getInflight());
+  }
+
+  @Test
+  public void varyHeaders() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler()
+        .setVaryHeaders("Accept");
+    CompletableFuture<String> future = new CompletableFuture<>();
+    Route.Handler handler = singleFlight.apply(ctx -> future);
+
+    Route route = route(CompletableFuture.class);
+    Context json = context(route, "/catalog/1", "");
+    when(json.header("Accept")).thenReturn(Value.value(json, "Accept", "application/json"));
+    Context xml = context(route, "/catalog/1", "");
+    when(xml.header("Accept")).thenReturn(Value.value(xml, "Accept", "application/xml"));
+
+    handler.apply(json);
+    handler.apply(xml);
+    assertEquals(2, singleFlight.getLeaderCount());
+    assertEquals(2, singleFlight.getInflight());
+    future.complete("catalog");
+    verify(xml, timeout(1000)).send(any(byte[].class));
+  }
+
+  @Test
+  public void keyIncludesHost() throws Exception {
+    SingleFlightHandler singleFlight = new SingleFlightHandler();
+    CompletableFuture<String> future = new CompletableFuture<>();
+    Route.Handler handler = singleFlight.apply(ctx -> future);
+
+    Route route = route(CompletableFuture.class);
+    Context foo = context(route, "/catalog/1", "");
+    when(foo.getHost()).thenReturn("foo.com");
+    Context bar = context(route, "/catalog/1", "");
+    when(bar.getHost()).thenReturn("bar.com");
+
+    handler.apply(foo);
+    handler.apply(bar);
+    assertEquals(2, singleFlight.getLeaderCount());
+    assertEquals(2, singleFlight.getInflight());
+    future.complete("catalog");
+    verify(bar, timeout(1000)).send(any(byte[].class));
+  }
+
+  private Route route(Class<?> returnType) {
+    Route route = new Route(Router.GET, "/catalog/{id}", ctx -> null);
+    route.setReturnType(returnType);
+    route.setEncoder((ctx, value) -> value.toString().getBytes(UTF_8));
+    return route;
+  }
+
+  private Context context(Route route, String path, String queryString) {
+    Context ctx = mock(Context.class);
+    when(ctx.getMethod()).thenReturn(Router.GET);
+    when(ctx.getHost()).thenReturn("localhost");
+    when(ctx.getRequestPath()).thenReturn(path);
+    when(ctx.queryString()).thenReturn(queryString);
+    when(ctx.header(anyString())).thenReturn(new MissingValue("header"));
+    when(ctx.getRoute()).thenReturn(route);
+    when(ctx.getResponseCode()).thenReturn(StatusCode.OK);
+    when(ctx.getResponseHeader("Content-Type")).thenReturn("text/plain;charset=utf-8");
+    when(ctx.send(any(byte[].class))).thenReturn(ctx);
+    return ctx;
+  }
+}
@@ -18,6 +18,7 @@ import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ValueTest {
 
@@ -275,6 +276,37 @@ public class ValueTest {
     queryString("tail=a%20%2B", queryString -> {
       assertEquals("a +", queryString.get("tail").value());
     });
+    queryString("utf8=%C3%A1rbol%20%F0%9F%8C%B3%21&mixed=%41%C3%A9%41", queryString -> {
+      assertEquals("\u00e1rbol \ud83c\udf33!", queryString.get("utf8").value());
+      assertEquals("A\u00e9A", queryString.get("mixed").value());
+    });
+    queryString("n%61me=x&a+b=y", queryString -> {
+      assertEquals("x", queryString.get("name").value());
+      assertEquals("y", queryString.get("a b").value());
+    });
+    queryString("bad=%C3%28", queryString -> {
+      assertThrows(Exception.class, () -> queryString.get("bad").value());
+    });
+  }
+
+  @Test
+  public void lazyQueryString() {
+    queryString("q=jooby&utm_source=x&utm_medium=y&bad=%ZZ&tag=a&tag=b", queryString -> {
+      // only looked up parameters are decoded
+      assertEquals("jooby", queryString.get("q").value());
+      assertEquals(Arrays.asList("a", "b"), queryString.get("tag").toList());
+      assertTrue(queryString.get("missing").isMissing());
+      assertEquals("x", queryString.get("utm_source").value());
+      // full tree decodes everything
+      assertThrows(IllegalArgumentException.class, () -> queryString.size());
+    });
+
+    queryString("q=jooby&tag=a&tag=b", queryString -> {
+      assertEquals("jooby", queryString.get("q").value());
+      assertEquals(2, queryString.size());
+      assertEquals(Arrays.asList("a", "b"), queryString.get("tag").toList());
+      assertEquals("{q=jooby, tag=[a, b]}", queryString.toString());
+    });
   }
 
   @Test
@@ -1,5 +1,6 @@
 package io.jooby;
 
+import io.jooby.exception.ProvisioningException;
 import io.jooby.internal.UrlParser;
 import io.jooby.internal.ValueConverterHelper;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ValueToBeanTest {
 
@@ -326,6 +328,43 @@ public class ValueToBeanTest {
     }
   }
 
+  public static class Fluent {
+    private String name;
+
+    private int age;
+
+    public Fluent setName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public void age(int age) {
+      this.age = age;
+    }
+
+    @Override public String toString() {
+      return name + ":" + age;
+    }
+  }
+
+  @Test
+  public void fluentSetters() {
+    queryString("name=edgar&age=40", queryString -> {
+      assertEquals("edgar:40", queryString.to(Fluent.class).toString());
+    });
+
+    queryString("Name=edgar", queryString -> {
+      assertEquals("edgar:0", queryString.to(Fluent.class).toString());
+    });
+
+    queryString("name=edgar&age=x", queryString -> {
+      ProvisioningException x = assertThrows(ProvisioningException.class,
+          () -> queryString.to(Fluent.class));
+      assertEquals("Unable to provision parameter: 'age: int', require by: method "
+          + "io.jooby.ValueToBeanTest.Fluent.age(int)", x.getMessage());
+    });
+  }
+
   @Test
   public void constructorInjection() {
     queryString("name=user&password=pass", queryString -> {
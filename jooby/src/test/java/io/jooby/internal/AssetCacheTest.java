@@ -0,0 +1,157 @@
+package io.jooby.internal;
+
+import io.jooby.Asset;
+import io.jooby.MediaType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AssetCacheTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  public void memory() throws IOException {
+    Path file = write("app.js", 10);
+    FileAsset source = new FileAsset(file);
+    AssetCache cache = new AssetCache(100);
+
+    Asset asset = cache.put("app.js", source);
+    assertTrue(asset instanceof CachedAsset);
+    CachedAsset cached = (CachedAsset) asset;
+    assertFalse(cached.isMapped());
+    assertEquals(10, cached.getSize());
+    assertEquals(source.getEtag(), cached.getEtag());
+    assertEquals(source.getLastModified(), cached.getLastModified());
+    assertEquals(MediaType.js, cached.getContentType());
+    assertEquals(ByteBuffer.wrap(Files.readAllBytes(file)), cached.getContent());
+    assertEquals(10, cached.getContent().remaining());
+
+    assertSame(cached, cache.get("app.js"));
+    assertEquals(10, cache.size());
+    assertEquals(1, cache.count());
+  }
+
+  @Test
+  public void mapped() throws IOException {
+    int len = (int) AssetCache.MAPPED_THRESHOLD + 1;
+    Path file = write("video.mp4", len);
+    AssetCache cache = new AssetCache(len);
+
+    CachedAsset cached = (CachedAsset) cache.put("video.mp4", new FileAsset(file));
+    assertTrue(cached.isMapped());
+    assertEquals(len, cached.getSize());
+    assertEquals(ByteBuffer.wrap(Files.readAllBytes(file)), cached.getContent());
+  }
+
+  @Test
+  public void stream() throws IOException {
+    byte[] bytes = "[1, 2, 3]".getBytes();
+    // size mismatch
+    Asset source = asset("data.json", bytes, 4);
+    AssetCache cache = new AssetCache(100);
+
+    CachedAsset cached = (CachedAsset) cache.put("data.json", source);
+    assertEquals(bytes.length, cached.getSize());
+    assertEquals(ByteBuffer.wrap(bytes), cached.getContent());
+
+    byte[] read = new byte[bytes.length];
+    try (InputStream in = cached.stream()) {
+      assertEquals(bytes.length, in.read(read));
+      assertEquals(-1, in.read());
+    }
+    assertEquals(new String(bytes), new String(read));
+  }
+
+  @Test
+  public void tooLarge() throws IOException {
+    AssetCache cache = new AssetCache(5);
+    FileAsset source = new FileAsset(write("app.js", 10));
+
+    assertSame(source, cache.put("app.js", source));
+    assertNull(cache.get("app.js"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void evictUnused() throws IOException {
+    AssetCache cache = new AssetCache(30);
+    cache.put("a", new FileAsset(write("a", 10)));
+    cache.put("b", new FileAsset(write("b", 10)));
+    cache.put("c", new FileAsset(write("c", 10)));
+    cache.get("a");
+    cache.get("c");
+
+    cache.put("d", new FileAsset(write("d", 10)));
+
+    assertEquals(30, cache.size());
+    assertEquals(3, cache.count());
+    assertNull(cache.get("b"));
+    assertTrue(cache.get("a") != null);
+    assertTrue(cache.get("c") != null);
+    assertTrue(cache.get("d") != null);
+  }
+
+  @Test
+  public void evictAll() throws IOException {
+    AssetCache cache = new AssetCache(30);
+    cache.put("a", new FileAsset(write("a", 10)));
+    cache.put("b", new FileAsset(write("b", 10)));
+    cache.get("a");
+    cache.get("b");
+
+    cache.put("c", new FileAsset(write("c", 30)));
+
+    assertEquals(30, cache.size());
+    assertEquals(1, cache.count());
+    assertTrue(cache.get("c") != null);
+  }
+
+  private Path write(String name, int len) throws IOException {
+    byte[] bytes = new byte[len];
+    for (int i = 0; i < len; i++) {
+      bytes[i] = (byte) ('a' + i % 26);
+    }
+    return Files.write(dir.resolve(name), bytes);
+  }
+
+  private Asset asset(String path, byte[] bytes, long size) {
+    return new Asset() {
+      @Override public long getSize() {
+        return size;
+      }
+
+      @Override public long getLastModified() {
+        return 1;
+      }
+
+      @Override public boolean isDirectory() {
+        return false;
+      }
+
+      @Override public MediaType getContentType() {
+        return MediaType.byFile(path);
+      }
+
+      @Override public InputStream stream() {
+        return new ByteArrayInputStream(bytes);
+      }
+
+      @Override public void close() {
+      }
+    };
+  }
+}
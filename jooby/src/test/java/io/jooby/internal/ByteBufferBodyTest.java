@@ -0,0 +1,83 @@
+package io.jooby.internal;
+
+import io.jooby.Body;
+import io.jooby.Context;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ByteBufferBodyTest {
+
+  @Test
+  public void singleBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+    buffer.put("hello".getBytes(UTF_8));
+    buffer.flip();
+
+    Body body = Body.of(mock(Context.class), buffer);
+    assertEquals(5, body.getSize());
+    assertTrue(body.isInMemory());
+
+    ByteBuffer view = body.byteBuffer();
+    assertTrue(view.isReadOnly());
+    assertTrue(view.isDirect());
+    assertEquals(5, view.remaining());
+    // source buffer untouched
+    assertEquals(0, buffer.position());
+
+    assertEquals("hello", body.value());
+    assertEquals("hello", new String(body.bytes(), UTF_8));
+  }
+
+  @Test
+  public void multipleBuffers() throws Exception {
+    Body body = Body.of(mock(Context.class), buffer("hello "), buffer("beautiful "),
+        buffer("world"));
+    assertEquals(21, body.getSize());
+    assertEquals("hello beautiful world", body.value());
+    assertEquals("hello beautiful world", UTF_8.decode(body.byteBuffer()).toString());
+
+    // small reads across buffers
+    ReadableByteChannel channel = body.channel();
+    ByteBuffer dst = ByteBuffer.allocate(4);
+    StringBuilder result = new StringBuilder();
+    while (channel.read(dst) != -1) {
+      dst.flip();
+      result.append(UTF_8.decode(dst));
+      dst.clear();
+    }
+    assertEquals("hello beautiful world", result.toString());
+
+    // can be read again
+    try (InputStream stream = body.stream()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] chunk = new byte[3];
+      int len;
+      while ((len = stream.read(chunk)) != -1) {
+        out.write(chunk, 0, len);
+      }
+      assertEquals("hello beautiful world", new String(out.toByteArray(), UTF_8));
+    }
+  }
+
+  @Test
+  public void emptyBody() throws Exception {
+    Body body = Body.of(mock(Context.class), new ByteBuffer[0]);
+    assertEquals(0, body.getSize());
+    assertEquals(0, body.bytes().length);
+    assertEquals(-1, body.channel().read(ByteBuffer.allocate(1)));
+    assertEquals(0, body.byteBuffer().remaining());
+  }
+
+  private ByteBuffer buffer(String value) {
+    return ByteBuffer.wrap(value.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,87 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteBufferOutputStreamTest {
+
+  @Test
+  public void empty() {
+    ByteBufferOutputStream out = new ByteBufferOutputStream(16);
+    assertEquals(0, out.size());
+    assertEquals(0, out.toByteBuffers().length);
+  }
+
+  @Test
+  public void write() {
+    ByteBufferOutputStream out = new ByteBufferOutputStream(2048);
+    out.write('{');
+    byte[] bytes = "\"k\":\"v\"".getBytes(StandardCharsets.UTF_8);
+    out.write(bytes, 0, bytes.length);
+    out.write('}');
+
+    assertEquals(9, out.size());
+    assertEquals("{\"k\":\"v\"}", toString(out.toByteBuffers()));
+  }
+
+  @Test
+  public void growWithoutCopy() {
+    ByteBufferOutputStream out = new ByteBufferOutputStream(2048);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      String chunk = "item" + i + ",";
+      expected.append(chunk);
+      byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+      out.write(bytes, 0, bytes.length);
+    }
+
+    ByteBuffer[] buffers = out.toByteBuffers();
+    assertTrue(buffers.length > 1);
+    for (ByteBuffer buffer : buffers) {
+      assertTrue(buffer.capacity() <= 2048);
+    }
+    assertEquals(expected.length(), out.size());
+    assertEquals(expected.toString(), toString(buffers));
+  }
+
+  @Test
+  public void allocateAndRelease() {
+    List<ByteBuffer> pool = new ArrayList<>();
+    ByteBufferOutputStream out = new ByteBufferOutputStream(4) {
+      @Override protected ByteBuffer allocate(int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        pool.add(buffer);
+        return buffer;
+      }
+
+      @Override public void release() {
+        pool.clear();
+      }
+    };
+    byte[] bytes = "abcdefghij".getBytes(StandardCharsets.UTF_8);
+    out.write(bytes, 0, bytes.length);
+
+    assertEquals(3, pool.size());
+    assertEquals("abcdefghij", toString(out.toByteBuffers()));
+
+    out.release();
+    assertEquals(0, pool.size());
+  }
+
+  private String toString(ByteBuffer[] buffers) {
+    StringBuilder result = new StringBuilder();
+    for (ByteBuffer buffer : buffers) {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      result.append(new String(bytes, StandardCharsets.UTF_8));
+    }
+    return result.toString();
+  }
+}
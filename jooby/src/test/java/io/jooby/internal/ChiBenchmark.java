@@ -13,6 +13,7 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Fork(5)
 @Warmup(iterations = 3)
@@ -22,8 +23,19 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Benchmark)
 public class ChiBenchmark {
 
+  private static final String UUID =
+      "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+
+  private static final String UUID_VALUE = "123e4567-e89b-12d3-a456-426614174000";
+
   private Chi router;
 
+  private RouteTree frozen;
+
+  private Pattern uuidPattern = Pattern.compile("^" + UUID + "$");
+
+  private SegmentMatcher uuidMatcher = SegmentMatcher.compile("^" + UUID + "$");
+
   @Setup
   public void setup() {
     router = new Chi();
@@ -31,6 +43,17 @@ public class ChiBenchmark {
     router.insert(route("GET", "/plaintext"));
     router.insert(route("GET", "/articles/{id}"));
     router.insert(route("GET", "/articles/{id}/edit"));
+    router.insert(route("GET", "/users/{id:[0-9]+}"));
+    router.insert(route("GET", "/objects/{id:" + UUID + "}"));
+
+    // a large route table: 900 patterns
+    for (int i = 0; i < 300; i++) {
+      router.insert(route("GET", "/api/resource" + i));
+      router.insert(route("GET", "/api/resource" + i + "/{id}"));
+      router.insert(route("PUT", "/api/resource" + i + "/{id}/items/{item}"));
+    }
+
+    frozen = router.freeze();
   }
 
   private Route route(String method, String pattern) {
@@ -52,4 +75,59 @@ public class ChiBenchmark {
     router.find("GET", "/articles/123/edit");
   }
 
+  @Benchmark
+  public void resourceItem() {
+    router.find("PUT", "/api/resource150/123/items/456");
+  }
+
+  @Benchmark
+  public void regexDigits() {
+    router.find("GET", "/users/123");
+  }
+
+  @Benchmark
+  public void regexUuid() {
+    router.find("GET", "/objects/123e4567-e89b-12d3-a456-426614174000");
+  }
+
+  @Benchmark
+  public void frozenPlaintext() {
+    frozen.find("GET", "/plaintext");
+  }
+
+  @Benchmark
+  public void frozenArticles() {
+    frozen.find("GET", "/articles/123");
+  }
+
+  @Benchmark
+  public void frozenArticlesEdit() {
+    frozen.find("GET", "/articles/123/edit");
+  }
+
+  @Benchmark
+  public void frozenResourceItem() {
+    frozen.find("PUT", "/api/resource150/123/items/456");
+  }
+
+  @Benchmark
+  public void frozenRegexDigits() {
+    frozen.find("GET", "/users/123");
+  }
+
+  @Benchmark
+  public void frozenRegexUuid() {
+    frozen.find("GET", "/objects/123e4567-e89b-12d3-a456-426614174000");
+  }
+
+  @Benchmark
+  public boolean uuidPattern() {
+    return uuidPattern.matcher(UUID_VALUE).matches();
+  }
+
+  @Benchmark
+  public boolean uuidMatcher() {
+    return uuidMatcher.matches(UUID_VALUE);
+  }
+
 }
@@ -7,8 +7,11 @@ import io.jooby.Router;
 import io.jooby.SneakyThrows;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +30,10 @@ public class ChiTest {
         .find("GET", "/abcd");
     assertTrue(result.matches());
     assertEquals(bar, result.route());
+
+    result = router.freeze().find("GET", "/abcd");
+    assertTrue(result.matches());
+    assertEquals(bar, result.route());
   }
 
   @Test
@@ -41,6 +48,10 @@ public class ChiTest {
         .find("GET", "/abcd/");
     assertTrue(result.matches());
     assertEquals(foos, result.route());
+
+    result = router.freeze().find("GET", "/abcd/");
+    assertTrue(result.matches());
+    assertEquals(foos, result.route());
   }
 
   @Test
@@ -171,11 +182,110 @@ public class ChiTest {
     });
   }
 
+  @Test
+  public void frozenTree() throws Exception {
+    Chi router = new Chi();
+
+    router.insert(route("GET", "/articles/{id}", stringHandler("id")));
+    router.insert(route("POST", "/articles/{id}", stringHandler("post")));
+    router.insert(route("GET", "/articles/{id}/edit", stringHandler("edit")));
+    router.insert(route("GET", "/regex/{nid:[0-9]+}", stringHandler("nid")));
+    router.insert(route("GET", "/static", stringHandler("static")));
+    router.insert(route("PUT", "/static", stringHandler("put-static")));
+    router.insert(route("GET", "/files/*", stringHandler("*")));
+
+    RouteTree frozen = router.freeze();
+
+    Router.Match result = frozen.find("POST", "/articles/123");
+    assertTrue(result.matches());
+    assertEquals("post", result.route().getPipeline().apply(ctx("/articles/123")));
+    assertEquals("123", result.pathMap().get("id"));
+
+    result = frozen.find("GET", "/articles/123/edit");
+    assertTrue(result.matches());
+    assertEquals("edit", result.route().getPipeline().apply(ctx("/articles/123/edit")));
+    assertEquals("123", result.pathMap().get("id"));
+
+    result = frozen.find("PUT", "/static");
+    assertTrue(result.matches());
+    assertEquals("put-static", result.route().getPipeline().apply(ctx("/static")));
+
+    result = frozen.find("GET", "/files/js/app.js");
+    assertTrue(result.matches());
+    assertEquals("js/app.js", result.pathMap().get("*"));
+
+    assertFalse(frozen.exists("GET", "/regex/abc"));
+    assertFalse(frozen.exists("DELETE", "/articles/123"));
+    assertFalse(frozen.exists("PATCH", "/static"));
+
+    assertThrows(IllegalStateException.class,
+        () -> frozen.insert("GET", "/new", route("GET", "/new", stringHandler("new"))));
+  }
+
+  @Test
+  public void customMethods() throws Exception {
+    Chi router = new Chi();
+
+    router.insert(route("GET", "/dav/{file}", stringHandler("get")));
+    router.insert(route("PROPFIND", "/dav/{file}", stringHandler("propfind")));
+    router.insert(route("GET", "/dav", stringHandler("get-static")));
+    router.insert(route("MKCOL", "/dav", stringHandler("mkcol")));
+
+    for (RouteTree tree : new RouteTree[]{router, router.freeze()}) {
+      Router.Match result = tree.find("PROPFIND", "/dav/x.txt");
+      assertTrue(result.matches());
+      assertEquals("propfind", result.route().getPipeline().apply(ctx("/dav/x.txt")));
+
+      result = tree.find(new String("GET"), "/dav/x.txt");
+      assertTrue(result.matches());
+      assertEquals("get", result.route().getPipeline().apply(ctx("/dav/x.txt")));
+
+      result = tree.find("MKCOL", "/dav");
+      assertTrue(result.matches());
+      assertEquals("mkcol", result.route().getPipeline().apply(ctx("/dav")));
+
+      result = tree.find("GET", "/dav");
+      assertTrue(result.matches());
+      assertEquals("get-static", result.route().getPipeline().apply(ctx("/dav")));
+
+      assertFalse(tree.exists("COPY", "/dav/x.txt"));
+      assertFalse(tree.exists("POST", "/dav"));
+    }
+  }
+
+  @Test
+  public void pathMap() throws Exception {
+    Chi router = new Chi();
+
+    router.insert(route("GET", "/api/{tenant}/orders/{id}", stringHandler("order")));
+    router.insert(route("GET", "/api/{tenant}/files/*", stringHandler("files")));
+
+    find(router, "/api/acme/orders/123", (ctx, result) -> {
+      assertTrue(result.matches());
+      Map<String, String> vars = result.pathMap();
+      assertEquals(2, vars.size());
+      assertEquals("acme", vars.get("tenant"));
+      assertEquals("123", vars.get("id"));
+      assertEquals(null, vars.get("missing"));
+      assertEquals("{tenant=acme, id=123}", vars.toString());
+      assertThrows(UnsupportedOperationException.class, () -> vars.put("id", "456"));
+    });
+
+    find(router, "/api/acme/files/js/app.js", (ctx, result) -> {
+      assertTrue(result.matches());
+      assertEquals("{tenant=acme, *=js/app.js}", result.pathMap().toString());
+    });
+  }
+
   private void find(Chi router, String pattern,
       SneakyThrows.Consumer2<Context, Router.Match> consumer) {
     Router.Match result = router
         .find("GET", pattern);
     consumer.accept(ctx(pattern), result);
+
+    Router.Match frozen = router.freeze()
+        .find("GET", pattern);
+    consumer.accept(ctx(pattern), frozen);
   }
 
   private Route.Handler stringHandler(String foo) {
@@ -184,6 +294,7 @@ public class ChiTest {
 
   private Route route(String method, String pattern, Route.Handler handler) {
     return new Route(method, pattern, handler)
+        .setPathKeys(Router.pathKeys(pattern))
         .setEncoder(MessageEncoder.TO_STRING);
   }
 
@@ -0,0 +1,113 @@
+package io.jooby.internal;
+
+import io.jooby.BeanConverter;
+import io.jooby.Jooby;
+import io.jooby.Value;
+import io.jooby.ValueConverter;
+import io.jooby.internal.converter.ValueOfConverter;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ConverterListTest {
+
+  public static class Token {
+    private final String value;
+
+    public Token(String value) {
+      this.value = value;
+    }
+  }
+
+  @Test
+  public void resolveOncePerType() {
+    AtomicInteger calls = new AtomicInteger();
+    ValueConverter first = converter(StringBuilder.class, calls);
+    ValueConverter second = converter(StringBuffer.class, calls);
+    ConverterList<ValueConverter> converters = new ConverterList<>(Arrays.asList(first, second),
+        ValueConverter::supports);
+
+    assertSame(second, converters.converter(StringBuffer.class));
+    assertSame(second, converters.converter(StringBuffer.class));
+    assertEquals(2, calls.get());
+
+    assertNull(converters.converter(Token.class));
+    assertNull(converters.converter(Token.class));
+    assertEquals(4, calls.get());
+
+    assertSame(first, converters.converter(StringBuilder.class));
+    assertEquals(5, calls.get());
+
+    assertEquals(2, converters.size());
+    assertSame(first, converters.get(0));
+  }
+
+  @Test
+  public void frozen() {
+    List<ValueConverter> source = new ArrayList<>();
+    source.add(new ValueOfConverter());
+    ConverterList<ValueConverter> converters = new ConverterList<>(source,
+        ValueConverter::supports);
+    source.clear();
+    assertEquals(1, converters.size());
+    assertThrows(UnsupportedOperationException.class,
+        () -> converters.add(new ValueOfConverter()));
+  }
+
+  @Test
+  public void registerAfterStart() {
+    RouterImpl router = new RouterImpl(getClass().getClassLoader());
+    router.start(new Jooby());
+
+    IllegalStateException x = assertThrows(IllegalStateException.class,
+        () -> router.converter(new ValueOfConverter()));
+    assertEquals("Converters must be registered before application starts", x.getMessage());
+    assertThrows(IllegalStateException.class,
+        () -> router.converter(mock(BeanConverter.class)));
+    assertThrows(UnsupportedOperationException.class,
+        () -> router.getConverters().add(new ValueOfConverter()));
+  }
+
+  @Test
+  public void valueOfConverter() {
+    ValueOfConverter converter = new ValueOfConverter();
+    assertTrue(converter.supports(DayOfWeek.class));
+    assertEquals(DayOfWeek.MONDAY,
+        converter.convert(Value.value(null, "day", "MONDAY"), DayOfWeek.class));
+
+    assertTrue(converter.supports(Token.class));
+    assertEquals("abc",
+        ((Token) converter.convert(Value.value(null, "token", "abc"), Token.class)).value);
+
+    assertFalse(converter.supports(Runnable.class));
+    assertFalse(converter.supports(Object.class));
+
+    assertThrows(NumberFormatException.class,
+        () -> converter.convert(Value.value(null, "n", "x"), Integer.class));
+  }
+
+  private ValueConverter converter(Class supported, AtomicInteger calls) {
+    return new ValueConverter() {
+      @Override public boolean supports(Class type) {
+        calls.incrementAndGet();
+        return type == supported;
+      }
+
+      @Override public Object convert(Value value, Class type) {
+        return null;
+      }
+    };
+  }
+}
@@ -0,0 +1,69 @@
+package io.jooby.internal;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DomainMapTest {
+
+  @Test
+  public void exactHost() {
+    DomainMap domains = new DomainMap();
+    Route foo = route("/");
+    Route bar = route("/");
+    domains.put("foo.com", tree(foo));
+    domains.put("Bar.com", tree(bar));
+
+    assertEquals(foo, domains.find("foo.com", Router.GET, "/").route());
+    assertEquals(foo, domains.find("FOO.com", Router.GET, "/").route());
+    assertEquals(bar, domains.find("bar.com", Router.GET, "/").route());
+    assertNull(domains.find("foo.com", Router.GET, "/missing"));
+    assertNull(domains.find("baz.com", Router.GET, "/"));
+    assertNull(domains.find("www.foo.com", Router.GET, "/"));
+  }
+
+  @Test
+  public void sameHost() {
+    DomainMap domains = new DomainMap();
+    Route foo = route("/foo");
+    Route bar = route("/bar");
+    domains.put("foo.com", tree(foo));
+    domains.put("foo.com", tree(bar));
+
+    assertEquals(foo, domains.find("foo.com", Router.GET, "/foo").route());
+    assertEquals(bar, domains.find("foo.com", Router.GET, "/bar").route());
+  }
+
+  @Test
+  public void wildcardHost() {
+    DomainMap domains = new DomainMap();
+    Route any = route("/");
+    Route api = route("/");
+    Route www = route("/");
+    domains.put("*.foo.com", tree(any));
+    domains.put("*.api.foo.com", tree(api));
+    domains.put("www.foo.com", tree(www));
+
+    assertEquals(www, domains.find("www.foo.com", Router.GET, "/").route());
+    assertEquals(any, domains.find("tenant.foo.com", Router.GET, "/").route());
+    assertEquals(any, domains.find("api.foo.com", Router.GET, "/").route());
+    assertEquals(api, domains.find("v1.api.foo.com", Router.GET, "/").route());
+    assertNull(domains.find("foo.com", Router.GET, "/"));
+    assertNull(domains.find("tenant.bar.com", Router.GET, "/"));
+  }
+
+  private RouteTree tree(Route route) {
+    Chi chi = new Chi();
+    chi.insert(route);
+    return chi.freeze();
+  }
+
+  private Route route(String pattern) {
+    return new Route(Router.GET, pattern, ctx -> "")
+        .setEncoder(MessageEncoder.TO_STRING);
+  }
+}
@@ -0,0 +1,29 @@
+package io.jooby.internal;
+
+import io.jooby.Router;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpMethodsTest {
+
+  @Test
+  public void ordinal() {
+    for (int i = 0; i < Router.METHODS.size(); i++) {
+      String method = Router.METHODS.get(i);
+      assertEquals(i, HttpMethods.ordinal(method));
+      assertEquals(i, HttpMethods.ordinal(new String(method)));
+    }
+    assertEquals(-1, HttpMethods.ordinal("PROPFIND"));
+    assertEquals(-1, HttpMethods.ordinal(Router.WS));
+  }
+
+  @Test
+  public void canonical() {
+    assertSame(Router.GET, HttpMethods.canonical(new String("GET")));
+    assertSame(Router.POST, HttpMethods.canonical("post"));
+    assertSame(Router.OPTIONS, HttpMethods.canonical("Options"));
+    assertEquals("PROPFIND", HttpMethods.canonical("propfind"));
+  }
+}
@@ -0,0 +1,223 @@
+package io.jooby.internal;
+
+import io.jooby.MultipartStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultipartParserTest {
+
+  private static final String BOUNDARY = "----jooby12345";
+
+  @Test
+  public void fieldsAndFiles() throws IOException {
+    byte[] file = new byte[20000];
+    new Random(7).nextBytes(file);
+    byte[] body = new Multipart()
+        .preamble("ignore me")
+        .field("name", "Pedro")
+        .file("file", "pic.png", "image/png", file)
+        .field("empty", "")
+        .epilogue("bye")
+        .bytes();
+
+    try (MultipartStream multipart = new MultipartParser(new ByteArrayInputStream(body),
+        BOUNDARY)) {
+      MultipartStream.Part name = multipart.next();
+      assertEquals("name", name.getName());
+      assertFalse(name.isFile());
+      assertEquals("Pedro", name.value());
+
+      MultipartStream.Part pic = multipart.next();
+      assertEquals("file", pic.getName());
+      assertTrue(pic.isFile());
+      assertEquals("pic.png", pic.getFileName());
+      assertEquals("image/png", pic.getContentType());
+      assertEquals("image/png", pic.header("content-type"));
+      assertArrayEquals(file, readAll(pic.stream()));
+
+      MultipartStream.Part empty = multipart.next();
+      assertEquals("empty", empty.getName());
+      assertEquals("", empty.value());
+
+      assertNull(multipart.next());
+      assertNull(multipart.next());
+    }
+  }
+
+  @Test
+  public void splitBoundary() throws IOException {
+    byte[] file = new byte[10000];
+    new Random(11).nextBytes(file);
+    byte[] body = new Multipart()
+        .file("f1", "a.bin", "application/octet-stream", file)
+        .field("name", "value\r\n--not a boundary")
+        .bytes();
+
+    // every possible split of the delimiter
+    for (int chunk = 1; chunk < 64; chunk++) {
+      MultipartStream multipart = new MultipartParser(new Chunked(body, chunk), BOUNDARY);
+      assertArrayEquals(file, readAll(multipart.next().stream()));
+      assertEquals("value\r\n--not a boundary", multipart.next().value());
+      assertNull(multipart.next());
+    }
+  }
+
+  @Test
+  public void skipUnreadParts() throws IOException {
+    byte[] body = new Multipart()
+        .file("f1", "a.bin", "application/octet-stream", new byte[50000])
+        .field("f2", "two")
+        .field("f3", "three")
+        .bytes();
+
+    List<String> names = new ArrayList<>();
+    MultipartParser multipart = new MultipartParser(new Chunked(body, 1000), BOUNDARY);
+    for (MultipartStream.Part part : multipart) {
+      names.add(part.getName());
+      if (part.getName().equals("f3")) {
+        assertEquals("three", part.value());
+      }
+    }
+    assertEquals(3, names.size());
+    assertEquals("f1", names.get(0));
+  }
+
+  @Test
+  public void stalePart() throws IOException {
+    byte[] body = new Multipart()
+        .field("f1", "one")
+        .field("f2", "two")
+        .bytes();
+
+    MultipartParser multipart = new MultipartParser(new ByteArrayInputStream(body), BOUNDARY);
+    MultipartStream.Part f1 = multipart.next();
+    MultipartStream.Part f2 = multipart.next();
+    assertEquals(-1, f1.stream().read());
+    assertEquals("two", f2.value());
+  }
+
+  @Test
+  public void quotedBoundary() throws IOException {
+    byte[] body = new Multipart().field("name", "v").bytes();
+
+    MultipartParser multipart = new MultipartParser(new ByteArrayInputStream(body),
+        "\"" + BOUNDARY + "\"");
+    assertEquals("v", multipart.next().value());
+    assertNull(multipart.next());
+  }
+
+  @Test
+  public void truncatedBody() throws IOException {
+    byte[] body = new Multipart().field("name", "value").bytes();
+    byte[] truncated = new byte[body.length - 20];
+    System.arraycopy(body, 0, truncated, 0, truncated.length);
+
+    MultipartParser multipart = new MultipartParser(new ByteArrayInputStream(truncated),
+        BOUNDARY);
+    MultipartStream.Part part = multipart.next();
+    assertThrows(IOException.class, () -> readAll(part.stream()));
+  }
+
+  @Test
+  public void missingContentDisposition() {
+    byte[] body = ("--" + BOUNDARY + "\r\nContent-Type: text/plain\r\n\r\nvalue\r\n--" + BOUNDARY
+        + "--").getBytes(UTF_8);
+
+    MultipartParser multipart = new MultipartParser(new ByteArrayInputStream(body), BOUNDARY);
+    assertThrows(IOException.class, multipart::next);
+  }
+
+  @Test
+  public void contentDisposition() {
+    Map<String, String> params = MultipartParser
+        .parameters("form-data; name=\"file\"; filename=\"a \\\"b\\\"; c.txt\"");
+    assertEquals("file", params.get("name"));
+    assertEquals("a \"b\"; c.txt", params.get("filename"));
+
+    params = MultipartParser.parameters("form-data; name=field ;Filename=x.txt");
+    assertEquals("field", params.get("name"));
+    assertEquals("x.txt", params.get("filename"));
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[777];
+    int len;
+    while ((len = in.read(buffer)) != -1) {
+      out.write(buffer, 0, len);
+    }
+    return out.toByteArray();
+  }
+
+  /** Returns at most <code>size</code> bytes per read. */
+  private static class Chunked extends FilterInputStream {
+    private final int size;
+
+    Chunked(byte[] bytes, int size) {
+      super(new ByteArrayInputStream(bytes));
+      this.size = size;
+    }
+
+    @Override public int read(byte[] b, int off, int len) throws IOException {
+      return super.read(b, off, Math.min(len, size));
+    }
+  }
+
+  private static class Multipart {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    Multipart preamble(String value) {
+      write(value + "\r\n");
+      return this;
+    }
+
+    Multipart field(String name, String value) {
+      write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+          + value + "\r\n");
+      return this;
+    }
+
+    Multipart file(String name, String fileName, String contentType, byte[] content) {
+      write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name
+          + "\"; filename=\"" + fileName + "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+      out.write(content, 0, content.length);
+      write("\r\n");
+      return this;
+    }
+
+    Multipart epilogue(String value) {
+      write("--" + BOUNDARY + "--\r\n" + value);
+      return this;
+    }
+
+    byte[] bytes() {
+      String body = new String(out.toByteArray(), UTF_8);
+      if (!body.contains("--" + BOUNDARY + "--")) {
+        write("--" + BOUNDARY + "--\r\n");
+      }
+      return out.toByteArray();
+    }
+
+    private void write(String value) {
+      byte[] bytes = value.getBytes(UTF_8);
+      out.write(bytes, 0, bytes.length);
+    }
+  }
+}
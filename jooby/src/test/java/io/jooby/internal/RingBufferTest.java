@@ -0,0 +1,81 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferTest {
+
+  private static class Slot {
+    int value;
+  }
+
+  @Test
+  public void offerAndDrain() {
+    RingBuffer<Slot> ring = new RingBuffer<>(4, Slot::new);
+    assertEquals(4, ring.getCapacity());
+    for (int i = 0; i < 4; i++) {
+      assertTrue(ring.offer(i, (slot, value) -> slot.value = value));
+    }
+    // full
+    assertFalse(ring.offer(4, (slot, value) -> slot.value = value));
+    assertEquals(1, ring.getDroppedCount());
+
+    List<Integer> values = new ArrayList<>();
+    assertEquals(2, ring.drain(slot -> values.add(slot.value), 2));
+    assertTrue(ring.offer(5, (slot, value) -> slot.value = value));
+    assertEquals(3, ring.drain(slot -> values.add(slot.value), 10));
+    assertEquals(0, ring.drain(slot -> values.add(slot.value), 10));
+
+    assertEquals("[0, 1, 2, 3, 5]", values.toString());
+  }
+
+  @Test
+  public void failedWriterDoesNotStall() {
+    RingBuffer<Slot> ring = new RingBuffer<>(2, Slot::new);
+    try {
+      ring.offer(1, (slot, value) -> {
+        throw new IllegalStateException();
+      });
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    assertTrue(ring.offer(2, (slot, value) -> slot.value = value));
+    assertEquals(2, ring.drain(slot -> {
+    }, 10));
+  }
+
+  @Test
+  public void concurrentProducers() throws InterruptedException {
+    int producers = 4;
+    int items = 10_000;
+    RingBuffer<Slot> ring = new RingBuffer<>(1024, Slot::new);
+    CountDownLatch latch = new CountDownLatch(producers);
+    AtomicInteger published = new AtomicInteger();
+    for (int p = 0; p < producers; p++) {
+      new Thread(() -> {
+        for (int i = 0; i < items; i++) {
+          if (ring.offer(1, (slot, value) -> slot.value = value)) {
+            published.incrementAndGet();
+          }
+        }
+        latch.countDown();
+      }).start();
+    }
+    AtomicInteger consumed = new AtomicInteger();
+    while (latch.getCount() > 0) {
+      ring.drain(slot -> consumed.addAndGet(slot.value), 128);
+    }
+    ring.drain(slot -> consumed.addAndGet(slot.value), Integer.MAX_VALUE);
+
+    assertEquals(published.get(), consumed.get());
+    assertEquals(producers * items, published.get() + ring.getDroppedCount());
+  }
+}
@@ -0,0 +1,82 @@
+package io.jooby.internal;
+
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.Router;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteTreeMatchCacheTest {
+
+  @Test
+  public void shouldCacheDynamicMatches() {
+    Route product = route("GET", "/products/{id}");
+    RouteTreeMatchCache cache = cache(16, product, route("GET", "/products"));
+
+    Router.Match match = cache.find("GET", "/products/123");
+    assertTrue(match.matches());
+    assertEquals("123", match.pathMap().get("id"));
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    Router.Match cached = cache.find("GET", new String("/products/123"));
+    assertSame(product, cached.route());
+    assertEquals("123", cached.pathMap().get("id"));
+    assertSame(cached, cache.find("GET", "/products/123"));
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.6666, cache.getHitRatio(), 0.001);
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  public void shouldNotCacheStaticOrMissingPaths() {
+    RouteTreeMatchCache cache = cache(16, route("GET", "/products/{id}"),
+        route("GET", "/products"));
+
+    assertTrue(cache.find("GET", "/products").matches());
+    assertTrue(cache.find("GET", "/products").matches());
+    assertFalse(cache.find("GET", "/missing").matches());
+    assertFalse(cache.find("POST", "/products/123").matches());
+    assertFalse(cache.find("POST", "/products/123").matches());
+
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void shouldBeBounded() {
+    RouteTreeMatchCache cache = cache(8, route("GET", "/products/{id}"));
+    assertEquals(8, cache.getCapacity());
+
+    for (int i = 0; i < 1000; i++) {
+      Router.Match match = cache.find("GET", "/products/" + i);
+      assertEquals(String.valueOf(i), match.pathMap().get("id"));
+    }
+    assertTrue(cache.getSize() <= 8);
+    assertEquals(1000, cache.getMissCount());
+
+    for (int i = 0; i < 1000; i++) {
+      Router.Match match = cache.find("GET", "/products/" + i);
+      assertEquals(String.valueOf(i), match.pathMap().get("id"));
+    }
+  }
+
+  private RouteTreeMatchCache cache(int size, Route... routes) {
+    Chi chi = new Chi();
+    for (Route route : routes) {
+      chi.insert(route);
+    }
+    return new RouteTreeMatchCache(chi.freeze(), size);
+  }
+
+  private Route route(String method, String pattern) {
+    return new Route(method, pattern, ctx -> "")
+        .setPathKeys(Router.pathKeys(pattern))
+        .setEncoder(MessageEncoder.TO_STRING);
+  }
+}
@@ -0,0 +1,69 @@
+package io.jooby.internal;
+
+import io.jooby.Route;
+import io.jooby.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path variable capture. Run it with the GC profiler (<code>-prof gc</code>) to get allocations
+ * per match (<code>gc.alloc.rate.norm</code>).
+ */
+@Fork(5)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RouterMatchBenchmark {
+
+  private RouteTree router;
+
+  @Setup
+  public void setup() {
+    Chi chi = new Chi();
+
+    chi.insert(route("GET", "/api/{tenant}/orders"));
+    chi.insert(route("GET", "/api/{tenant}/orders/{id}"));
+    chi.insert(route("GET", "/api/{tenant}/orders/{id}/items/{item}"));
+
+    router = chi.freeze();
+  }
+
+  private Route route(String method, String pattern) {
+    return new Route(method, pattern, ctx -> "")
+        .setPathKeys(Router.pathKeys(pattern))
+        .setReturnType(String.class);
+  }
+
+  @Benchmark
+  public void match(Blackhole blackhole) {
+    blackhole.consume(router.find("GET", "/api/acme/orders/123").pathMap());
+  }
+
+  @Benchmark
+  public void matchAndRead(Blackhole blackhole) {
+    Map<String, String> vars = router.find("GET", "/api/acme/orders/123").pathMap();
+    blackhole.consume(vars.get("id"));
+  }
+
+  @Benchmark
+  public void matchAndReadAll(Blackhole blackhole) {
+    Map<String, String> vars = router.find("GET", "/api/acme/orders/123/items/456").pathMap();
+    blackhole.consume(vars.get("tenant"));
+    blackhole.consume(vars.get("id"));
+    blackhole.consume(vars.get("item"));
+  }
+}
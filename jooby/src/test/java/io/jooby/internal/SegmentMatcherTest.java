@@ -0,0 +1,74 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentMatcherTest {
+
+  private static final String UUID =
+      "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+
+  private static final List<String> INPUTS = Arrays.asList("", "0", "1", "123", "0123456789",
+      "12a", "a12", "abc", "ABC", "aB3", "ab", "abcd", "x", "xy", "a_b", "a-b", "a.b", "page",
+      "page.html", "v1", "v12", "v", "1.0", "ff", "FF0a", "g1", "ñ", "añb", "12345678",
+      "123e4567-e89b-12d3-a456-426614174000", "123E4567-E89B-12D3-A456-426614174000",
+      "123e4567-e89b-12d3-a456-42661417400", "123e4567-e89b-12d3-a456-4266141740000",
+      "123e4567_e89b-12d3-a456-426614174000", "123g4567-e89b-12d3-a456-426614174000",
+      "a\n", "\n", "1 2", "]", "^", "-", "/", "a/b");
+
+  @Test
+  public void shouldBehaveLikeRegex() {
+    List<String> regexes = Arrays.asList(
+        "[0-9]+", "\\d+", "\\d*", "[0-9]{4}", "[0-9]{2,4}", "[0-9]{2,}", "[a-z]{2}",
+        "[a-z][a-z]", "[a-fA-F0-9]+", "[0-9a-f]+", "[a-zA-Z0-9]+", "\\w+", "[^.]+", "[^/]+",
+        "[-a-z]+", "[a-z-]+", "[a\\-z]+", "[\\d.]+", UUID, "v[0-9]+", "v\\d?", "page\\.html",
+        "[a-z]+\\.html", "x?", "[^0-9]*", "", "1\\.0", "a_b", "a-b");
+    for (String regex : regexes) {
+      check(regex);
+      check("^" + regex + "$");
+    }
+  }
+
+  @Test
+  public void fallbackToRegex() {
+    List<String> regexes = Arrays.asList(
+        "[a-z]+[0-9]+", "(foo|bar)", "foo|bar", "(?i)[a-z]+", "[0-9]+?", "[0-9]++", ".+", ".*",
+        "[a-z&&[^x]]+", "\\s+", "[a-z]+\\d", "a.b", "\\p{Alpha}+");
+    for (String regex : regexes) {
+      check(regex);
+      check("^" + regex + "$");
+    }
+  }
+
+  @Test
+  public void region() {
+    SegmentMatcher matcher = SegmentMatcher.compile("^[0-9]+$");
+    assertTrue(matcher.matches("/articles/123/edit", 10, 13));
+    assertFalse(matcher.matches("/articles/123/edit", 9, 13));
+    assertFalse(matcher.matches("/articles/123/edit", 10, 14));
+
+    SegmentMatcher regex = SegmentMatcher.compile("^(123|456)$");
+    assertTrue(regex.matches("/articles/123/edit", 10, 13));
+    assertFalse(regex.matches("/articles/123/edit", 9, 13));
+  }
+
+  private void check(String regex) {
+    Pattern pattern = Pattern.compile(regex);
+    SegmentMatcher matcher = SegmentMatcher.compile(regex);
+    for (String input : INPUTS) {
+      assertEquals(pattern.matcher(input).matches(), matcher.matches(input),
+          "regex: " + regex + ", input: " + input);
+      String path = "/x/" + input + "/y";
+      assertEquals(pattern.matcher(input).matches(),
+          matcher.matches(path, 3, 3 + input.length()),
+          "regex: " + regex + ", region: " + input);
+    }
+  }
+}
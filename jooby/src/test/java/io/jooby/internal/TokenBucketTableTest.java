@@ -0,0 +1,71 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTableTest {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  @Test
+  public void consumeAndRefill() {
+    AtomicLong clock = new AtomicLong();
+    TokenBucketTable table = new TokenBucketTable(3, Duration.ofSeconds(3), 10, clock::get);
+
+    assertEquals(2, table.tryConsume("a"));
+    assertEquals(1, table.tryConsume("a"));
+    assertEquals(0, table.tryConsume("a"));
+    // empty: wait one token
+    assertEquals(-SECOND, table.tryConsume("a"));
+
+    // other keys have their own bucket
+    assertEquals(2, table.tryConsume("b"));
+
+    // refill one token
+    clock.addAndGet(SECOND);
+    assertEquals(0, table.tryConsume("a"));
+    assertTrue(table.tryConsume("a") < 0);
+
+    // full refill
+    clock.addAndGet(10 * SECOND);
+    assertEquals(2, table.tryConsume("a"));
+  }
+
+  @Test
+  public void evictIdleKeysFirst() {
+    AtomicLong clock = new AtomicLong();
+    TokenBucketTable table = new TokenBucketTable(1, Duration.ofSeconds(1), 4, clock::get);
+
+    table.tryConsume("a");
+    table.tryConsume("b");
+    clock.addAndGet(2 * SECOND);
+    table.tryConsume("c");
+    table.tryConsume("d");
+    assertEquals(4, table.getKeyCount());
+
+    // a and b are idle (full buckets)
+    table.tryConsume("e");
+    assertEquals(3, table.getKeyCount());
+    assertEquals(2, table.getEvictionCount());
+    // c and d still limited
+    assertTrue(table.tryConsume("c") < 0);
+    assertTrue(table.tryConsume("d") < 0);
+  }
+
+  @Test
+  public void boundedKeySpace() {
+    AtomicLong clock = new AtomicLong();
+    TokenBucketTable table = new TokenBucketTable(10, Duration.ofMinutes(1), 100, clock::get);
+
+    for (int i = 0; i < 10_000; i++) {
+      table.tryConsume("key" + i);
+    }
+    assertTrue(table.getKeyCount() <= 100, "keys: " + table.getKeyCount());
+    assertEquals(10_000 - table.getKeyCount(), table.getEvictionCount());
+  }
+}
@@ -0,0 +1,32 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadsTest {
+
+  @Test
+  public void newExecutor() throws Exception {
+    String version = System.getProperty("java.specification.version");
+    boolean jdk21 = !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+    assertEquals(jdk21, VirtualThreads.isAvailable());
+
+    ExecutorService executor = VirtualThreads.newExecutor("worker");
+    if (jdk21) {
+      AtomicReference<String> name = new AtomicReference<>();
+      executor.execute(() -> name.set(Thread.currentThread().getName()));
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+      assertEquals("worker-0", name.get());
+    } else {
+      assertNull(executor);
+    }
+  }
+}
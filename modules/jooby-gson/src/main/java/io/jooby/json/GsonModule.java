@@ -7,7 +7,6 @@ package io.jooby.json;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Extension;
 import io.jooby.Jooby;
@@ -17,9 +16,10 @@ import io.jooby.MessageEncoder;
 import io.jooby.ServiceRegistry;
 
 import javax.annotation.Nonnull;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -97,13 +97,8 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
 
   @Nonnull @Override public Object decode(@Nonnull Context ctx, @Nonnull Type type)
       throws Exception {
-    Body body = ctx.body();
-    if (body.isInMemory()) {
-      return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(body.bytes())), type);
-    } else {
-      try (InputStream stream = body.stream()) {
-        return gson.fromJson(new InputStreamReader(stream), type);
-      }
+    try (InputStream stream = ctx.body().stream()) {
+      return gson.fromJson(new InputStreamReader(stream, UTF_8), type);
     }
   }
 
@@ -111,4 +106,14 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return gson.toJson(value).getBytes(UTF_8);
   }
+
+  @Override public boolean render(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    ctx.setDefaultResponseType(MediaType.json);
+    ctx.responseBuffer(out -> {
+      Writer writer = new OutputStreamWriter(out, UTF_8);
+      gson.toJson(value, writer);
+      writer.flush();
+    });
+    return true;
+  }
 }
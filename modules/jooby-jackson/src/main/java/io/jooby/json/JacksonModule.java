@@ -6,30 +6,39 @@
 package io.jooby.json;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
-import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
 import io.jooby.MessageEncoder;
+import io.jooby.Reified;
+import io.jooby.Route;
 import io.jooby.ServiceRegistry;
 import io.jooby.StatusCode;
 
 import javax.annotation.Nonnull;
 import java.io.InputStream;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JSON module using Jackson: https://jooby.io/modules/jackson.
@@ -81,6 +90,12 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
 
   private final Set<Class<? extends Module>> modules = new HashSet<>();
 
+  /** Body readers by type. */
+  private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  /** Route encoders waiting for modules registration. */
+  private final List<RouteEncoder> pending = new ArrayList<>();
+
   /**
    * Creates a Jackson module.
    *
@@ -125,6 +140,11 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
         Module module = application.require(type);
         mapper.registerModule(module);
       }
+      // modules are registered, now is safe to create writers
+      for (RouteEncoder encoder : pending) {
+        encoder.resolve();
+      }
+      pending.clear();
     });
   }
 
@@ -133,25 +153,62 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
     return mapper.writer().writeValueAsBytes(value);
   }
 
+  @Override public boolean render(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    ctx.setDefaultResponseType(MediaType.json);
+    ObjectWriter writer = mapper.writer();
+    ctx.responseBuffer(out -> writer.writeValue(out, value));
+    return true;
+  }
+
+  /**
+   * Creates an encoder with an {@link ObjectWriter} resolved for the route return type, so the
+   * serializer isn't looked up on every request. Writer is used only when the value type matches
+   * exactly the route return type, everything else goes to the default writer.
+   *
+   * @param route Route.
+   * @return A route encoder or this encoder when return type is too generic.
+   */
+  @Nonnull @Override public MessageEncoder bind(@Nonnull Route route) {
+    Type returnType = route.getReturnType();
+    if (returnType == null) {
+      return this;
+    }
+    Class<?> type = Reified.rawType(returnType);
+    if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+        || type.getName().startsWith("java.lang.")) {
+      // Object, String, Number, Context, CompletionStage, etc..
+      return this;
+    }
+    RouteEncoder encoder = new RouteEncoder(type, typeFactory.constructType(returnType));
+    if (modules.isEmpty()) {
+      encoder.resolve();
+    } else {
+      pending.add(encoder);
+    }
+    return encoder;
+  }
+
   @Override public Object decode(Context ctx, Type type) throws Exception {
-    Body body = ctx.body();
-    if (body.isInMemory()) {
+    // parse from stream: body is consumed incrementally from server buffers, spilled file or
+    // socket, never copied into a contiguous byte array
+    try (InputStream stream = ctx.body().stream()) {
       if (type == JsonNode.class) {
-        return mapper.readTree(body.bytes());
+        return mapper.readTree(stream);
       } else {
-        return mapper.readValue(body.bytes(), typeFactory.constructType(type));
-      }
-    } else {
-      try (InputStream stream = body.stream()) {
-        if (type == JsonNode.class) {
-          return mapper.readTree(stream);
-        } else {
-          return mapper.readValue(stream, typeFactory.constructType(type));
-        }
+        return reader(type).readValue(stream);
       }
     }
   }
 
+  private ObjectReader reader(Type type) {
+    ObjectReader reader = readers.get(type);
+    if (reader == null) {
+      reader = mapper.readerFor(typeFactory.constructType(type));
+      readers.putIfAbsent(type, reader);
+    }
+    return reader;
+  }
+
   /**
    * Default object mapper. Install {@link Jdk8Module}, {@link JavaTimeModule},
    * {@link ParameterNamesModule} and {@link AfterburnerModule}.
@@ -168,4 +225,46 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
 
     return mapper;
   }
+
+  private class RouteEncoder implements MessageEncoder {
+    private final Class<?> type;
+
+    private final JavaType javaType;
+
+    private volatile ObjectWriter writer;
+
+    RouteEncoder(Class<?> type, JavaType javaType) {
+      this.type = type;
+      this.javaType = javaType;
+    }
+
+    void resolve() {
+      writer = mapper.writerFor(javaType);
+    }
+
+    @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+      ctx.setDefaultResponseType(MediaType.json);
+      return writer(value).writeValueAsBytes(value);
+    }
+
+    @Override public boolean render(@Nonnull Context ctx, @Nonnull Object value)
+        throws Exception {
+      ctx.setDefaultResponseType(MediaType.json);
+      ObjectWriter writer = writer(value);
+      ctx.responseBuffer(out -> writer.writeValue(out, value));
+      return true;
+    }
+
+    private ObjectWriter writer(Object value) {
+      ObjectWriter writer = this.writer;
+      if (writer != null && value.getClass() == type) {
+        return writer;
+      }
+      return mapper.writer();
+    }
+
+    @Override public String toString() {
+      return javaType.toString();
+    }
+  }
 }
@@ -3,14 +3,25 @@ package io.jooby.json;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.MediaType;
+import io.jooby.MessageEncoder;
+import io.jooby.Route;
+import io.jooby.SneakyThrows;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,12 +39,61 @@ public class JacksonModuleTest {
     verify(ctx).setDefaultResponseType(MediaType.json);
   }
 
+  @Test
+  public void renderIntoResponseBuffer() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Context ctx = mock(Context.class);
+    when(ctx.responseBuffer(any())).then(invocation -> {
+      SneakyThrows.Consumer<OutputStream> consumer = invocation.getArgument(0);
+      consumer.tryAccept(out);
+      return ctx;
+    });
+
+    JacksonModule jackson = new JacksonModule();
+
+    assertTrue(jackson.render(ctx, mapOf("k", "v")));
+    assertEquals("{\"k\":\"v\"}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+    verify(ctx).setDefaultResponseType(MediaType.json);
+  }
+
+  public static class Item {
+    public String name = "x";
+  }
+
+  public static class SubItem extends Item {
+    public int id = 1;
+  }
+
+  @Test
+  public void bindRoute() throws Exception {
+    JacksonModule jackson = new JacksonModule();
+
+    Route route = new Route("GET", "/", ctx -> new Item()).setReturnType(Item.class);
+    MessageEncoder encoder = jackson.bind(route);
+    assertNotSame(jackson, encoder);
+
+    Context ctx = mock(Context.class);
+    assertEquals("{\"name\":\"x\"}",
+        new String(encoder.encode(ctx, new Item()), StandardCharsets.UTF_8));
+    // runtime type wins when value isn't exactly the route type
+    assertEquals("{\"name\":\"x\",\"id\":1}",
+        new String(encoder.encode(ctx, new SubItem()), StandardCharsets.UTF_8));
+    assertEquals("{\"k\":\"v\"}",
+        new String(encoder.encode(ctx, mapOf("k", "v")), StandardCharsets.UTF_8));
+    verify(ctx, times(3)).setDefaultResponseType(MediaType.json);
+
+    assertSame(jackson, jackson.bind(new Route("GET", "/", ctx1 -> "").setReturnType(String.class)));
+    assertSame(jackson, jackson.bind(new Route("GET", "/", ctx1 -> "").setReturnType(Map.class)));
+    MessageEncoder accept = jackson.accept(MediaType.json);
+    assertNotSame(accept, accept.bind(route));
+  }
+
   @Test
   public void parse() throws Exception {
     byte[] bytes = "{\"k\":\"v\"}".getBytes(StandardCharsets.UTF_8);
     Body body = mock(Body.class);
-    when(body.isInMemory()).thenReturn(true);
-    when(body.bytes()).thenReturn(bytes);
+    when(body.stream()).thenReturn(new ByteArrayInputStream(bytes));
 
     Context ctx = mock(Context.class);
     when(ctx.body()).thenReturn(body);
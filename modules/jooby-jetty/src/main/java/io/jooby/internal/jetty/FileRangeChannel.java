@@ -0,0 +1,68 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.jetty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Read a range of a file using positional reads. Ranges might be larger than
+ * {@link Integer#MAX_VALUE}, file is never mapped.
+ */
+public class FileRangeChannel implements ReadableByteChannel {
+  private final FileChannel channel;
+
+  private long position;
+
+  private long remaining;
+
+  /**
+   * Creates a new range channel.
+   *
+   * @param channel File channel.
+   * @param start Start position.
+   * @param length Number of bytes to read.
+   */
+  public FileRangeChannel(FileChannel channel, long start, long length) {
+    this.channel = channel;
+    this.position = start;
+    this.remaining = length;
+  }
+
+  @Override public int read(ByteBuffer dst) throws IOException {
+    if (remaining <= 0) {
+      return -1;
+    }
+    int limit = dst.limit();
+    if (dst.remaining() > remaining) {
+      dst.limit(dst.position() + (int) remaining);
+    }
+    int count;
+    try {
+      count = channel.read(dst, position);
+    } finally {
+      dst.limit(limit);
+    }
+    if (count > 0) {
+      position += count;
+      remaining -= count;
+    } else if (count < 0) {
+      // file was truncated
+      remaining = 0;
+    }
+    return count;
+  }
+
+  @Override public boolean isOpen() {
+    return channel.isOpen();
+  }
+
+  @Override public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.jetty;
+
+import io.jooby.internal.ByteBufferOutputStream;
+import org.eclipse.jetty.io.ByteBufferPool;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream backed by buffers from the connector pool. Buffers must be released once the
+ * response has been written.
+ */
+public class JettyBufferOutputStream extends ByteBufferOutputStream {
+  private final ByteBufferPool pool;
+
+  private final int bufferSize;
+
+  private final List<ByteBuffer> pooled = new ArrayList<>();
+
+  public JettyBufferOutputStream(ByteBufferPool pool, int bufferSize) {
+    super(bufferSize);
+    this.pool = pool;
+    this.bufferSize = bufferSize;
+  }
+
+  @Override protected ByteBuffer allocate(int capacity) {
+    ByteBuffer buffer = pool.acquire(bufferSize, false);
+    pooled.add(buffer);
+    // pool returns empty buffers in flush mode
+    buffer.clear();
+    return buffer;
+  }
+
+  @Override public void release() {
+    for (ByteBuffer buffer : pooled) {
+      pool.release(buffer);
+    }
+    pooled.clear();
+  }
+}
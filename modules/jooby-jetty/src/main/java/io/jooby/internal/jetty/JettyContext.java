@@ -29,6 +29,7 @@ import io.jooby.StatusCode;
 import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
+import io.jooby.internal.HttpMethods;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpHeaderValue;
@@ -77,6 +78,8 @@ public class JettyContext implements DefaultContext {
   private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
   private final int bufferSize;
   private final long maxRequestSize;
+  /** True when worker tasks run on the application worker, not the current Jetty thread. */
+  private final boolean dispatchWorker;
   Request request;
   Response response;
   private QueryString query;
@@ -101,13 +104,15 @@ public class JettyContext implements DefaultContext {
   private String scheme;
   private int port;
 
-  public JettyContext(Request request, Router router, int bufferSize, long maxRequestSize) {
+  public JettyContext(Request request, Router router, int bufferSize, long maxRequestSize,
+      boolean dispatchWorker) {
     this.request = request;
+    this.dispatchWorker = dispatchWorker;
     this.response = request.getResponse();
     this.router = router;
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
-    this.method = request.getMethod().toUpperCase();
+    this.method = HttpMethods.canonical(request.getMethod());
     this.requestPath = request.getRequestURI();
   }
 
@@ -133,7 +138,8 @@ public class JettyContext implements DefaultContext {
     try {
       InputStream in = request.getInputStream();
       long len = request.getContentLengthLong();
-      if (maxRequestSize > 0) {
+      // streaming body routes aren't limited, content is consumed as it arrives
+      if (maxRequestSize > 0 && (route == null || !route.isStreamingBody())) {
         in = new LimitedInputStream(in, maxRequestSize);
       }
       return Body.of(this, in, len);
@@ -151,7 +157,7 @@ public class JettyContext implements DefaultContext {
   }
 
   @Nonnull @Override public Context setMethod(@Nonnull String method) {
-    this.method = method.toUpperCase();
+    this.method = HttpMethods.canonical(method);
     return this;
   }
 
@@ -230,6 +236,10 @@ public class JettyContext implements DefaultContext {
     return multipart;
   }
 
+  @Nonnull @Override public Value header(@Nonnull String name) {
+    return Value.create(this, name, Collections.list(request.getHeaders(name)));
+  }
+
   @Nonnull @Override public ValueNode header() {
     if (headers == null) {
       Enumeration<String> names = request.getHeaderNames();
@@ -296,7 +306,8 @@ public class JettyContext implements DefaultContext {
 
   @Nonnull @Override
   public Context dispatch(@Nonnull Executor executor, @Nonnull Runnable action) {
-    if (router.getWorker() == executor) {
+    if (router.getWorker() == executor && !dispatchWorker) {
+      // already running in a Jetty worker thread
       action.run();
     } else {
       ifStartAsync();
@@ -443,6 +454,32 @@ public class JettyContext implements DefaultContext {
     }
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    JettyBufferOutputStream out = new JettyBufferOutputStream(
+        request.getHttpChannel().getByteBufferPool(), bufferSize);
+    try {
+      consumer.tryAccept(out);
+    } catch (Throwable x) {
+      out.release();
+      throw x;
+    }
+    try {
+      response.setContentLengthLong(out.size());
+      responseStarted = true;
+      HttpOutput sender = response.getHttpOutput();
+      for (ByteBuffer buffer : out.toByteBuffers()) {
+        sender.write(buffer);
+      }
+      sender.close();
+      return this;
+    } finally {
+      out.release();
+      responseDone();
+    }
+  }
+
   @Nonnull @Override public PrintWriter responseWriter(MediaType type, Charset charset) {
     setResponseType(type, charset);
     return new PrintWriter(responseStream());
@@ -496,14 +533,11 @@ public class JettyContext implements DefaultContext {
   }
 
   @Nonnull @Override public Context send(@Nonnull InputStream in) {
-    try {
-      if (in instanceof FileInputStream) {
-        response.setLongContentLength(((FileInputStream) in).getChannel().size());
-      }
-      return sendStreamInternal(in);
-    } catch (IOException x) {
-      throw SneakyThrows.propagate(x);
+    if (in instanceof FileInputStream) {
+      // use channel
+      return send(((FileInputStream) in).getChannel());
     }
+    return sendStreamInternal(in);
   }
 
   private Context sendStreamInternal(@Nonnull InputStream in) {
@@ -511,7 +545,7 @@ public class JettyContext implements DefaultContext {
       long len = response.getContentLength();
       InputStream stream;
       if (len > 0) {
-        stream = ByteRange.parse(request.getHeader(HttpHeader.RANGE.asString()), len)
+        stream = ByteRange.parse(this, len)
             .apply(this)
             .apply(in);
       } else {
@@ -530,8 +564,19 @@ public class JettyContext implements DefaultContext {
 
   @Nonnull @Override public Context send(@Nonnull FileChannel file) {
     try (FileChannel channel = file) {
-      response.setLongContentLength(channel.size());
-      return sendStreamInternal(Channels.newInputStream(file));
+      long len = channel.size();
+      response.setLongContentLength(len);
+      ByteRange range = ByteRange.parse(this, len)
+          .apply(this);
+      responseStarted = true;
+      HttpOutput out = response.getHttpOutput();
+      if (range.getStatusCode() == StatusCode.PARTIAL_CONTENT) {
+        // No sendfile here: stream the range with positional reads
+        out.sendContent(new FileRangeChannel(channel, range.getStart(), range.getEnd()));
+      } else {
+        out.sendContent(channel);
+      }
+      return this;
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
     } finally {
@@ -602,6 +647,8 @@ public class JettyContext implements DefaultContext {
       ifSaveSession();
 
       clearFiles();
+
+      ifSkipStreamingBody();
     } finally {
       if (request.isAsyncStarted()) {
         request.getAsyncContext().complete();
@@ -620,6 +667,25 @@ public class JettyContext implements DefaultContext {
     }
   }
 
+  /**
+   * Jetty closes the connection when the request body wasn't fully read. Streaming routes might
+   * respond before reading it, consume the rest so the connection can be reused.
+   */
+  private void ifSkipStreamingBody() {
+    if (route != null && route.isStreamingBody()) {
+      try {
+        InputStream in = request.getInputStream();
+        byte[] buffer = new byte[bufferSize];
+        while (in.read(buffer) != -1) {
+          // skip
+        }
+      } catch (IOException x) {
+        router.getLog().debug("unable to skip request body {} {}", getMethod(), getRequestPath(),
+            x);
+      }
+    }
+  }
+
   private void ifStartAsync() {
     if (!request.isAsyncStarted()) {
       request.startAsync();
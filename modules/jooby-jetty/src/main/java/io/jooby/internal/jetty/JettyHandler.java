@@ -18,12 +18,15 @@ public class JettyHandler extends AbstractHandler {
   private final boolean defaultHeaders;
   private final int bufferSize;
   private final long maxRequestSize;
+  private final boolean dispatchWorker;
 
-  public JettyHandler(Router router, int bufferSize, long maxRequestSize, boolean defaultHeaders) {
+  public JettyHandler(Router router, int bufferSize, long maxRequestSize, boolean defaultHeaders,
+      boolean dispatchWorker) {
     this.router = router;
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
     this.defaultHeaders = defaultHeaders;
+    this.dispatchWorker = dispatchWorker;
   }
 
   @Override public void handle(String target, Request request, HttpServletRequest servletRequest,
@@ -33,7 +36,8 @@ public class JettyHandler extends AbstractHandler {
     if (defaultHeaders) {
       response.setHeader(HttpHeader.SERVER.asString(), "J");
     }
-    JettyContext context = new JettyContext(request, router, bufferSize, maxRequestSize);
+    JettyContext context = new JettyContext(request, router, bufferSize, maxRequestSize,
+        dispatchWorker);
     router.match(context).execute(context);
   }
 }
@@ -9,17 +9,24 @@ import java.net.BindException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.MultiPartFormDataCompliance;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.server.handler.gzip.GzipHandler;
@@ -51,6 +58,8 @@ public class Jetty extends io.jooby.Server.Base {
 
   private Server server;
 
+  private ExecutorService worker;
+
   private List<Jooby> applications = new ArrayList<>();
 
   private ServerOptions options = new ServerOptions()
@@ -85,7 +94,8 @@ public class Jetty extends io.jooby.Server.Base {
       QueuedThreadPool executor = new QueuedThreadPool(options.getWorkerThreads());
       executor.setName("worker");
 
-      fireStart(applications, executor);
+      worker = options.newVirtualWorker("worker");
+      fireStart(applications, worker == null ? executor : worker);
 
       this.server = new Server(executor);
       server.setStopAtShutdown(false);
@@ -97,8 +107,15 @@ public class Jetty extends io.jooby.Server.Base {
       httpConf.setSendDateHeader(options.getDefaultHeaders());
       httpConf.setSendServerVersion(false);
       httpConf.setMultiPartFormDataCompliance(MultiPartFormDataCompliance.RFC7578);
-      ServerConnector http = new ServerConnector(server);
-      http.addConnectionFactory(new HttpConnectionFactory(httpConf));
+      ServerConnector http;
+      if (options.isHttp2()) {
+        // h2c via upgrade or prior knowledge
+        http = new ServerConnector(server, new HttpConnectionFactory(httpConf),
+            http2(new HTTP2CServerConnectionFactory(httpConf)));
+      } else {
+        http = new ServerConnector(server);
+        http.addConnectionFactory(new HttpConnectionFactory(httpConf));
+      }
       http.setPort(options.getPort());
       http.setHost(options.getHost());
 
@@ -126,8 +143,21 @@ public class Jetty extends io.jooby.Server.Base {
         HttpConfiguration httpsConf = new HttpConfiguration(httpConf);
         httpsConf.addCustomizer(new SecureRequestCustomizer());
 
-        ServerConnector https = new ServerConnector(server, sslContextFactory);
-        https.addConnectionFactory(new HttpConnectionFactory(httpsConf));
+        ServerConnector https;
+        if (options.isHttp2()) {
+          // h2 or http/1.1 via ALPN
+          sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+          HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConf);
+          AbstractHTTP2ServerConnectionFactory h2 = http2(
+              new HTTP2ServerConnectionFactory(httpsConf));
+          ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+          alpn.setDefaultProtocol(http11.getProtocol());
+          https = new ServerConnector(server,
+              new SslConnectionFactory(sslContextFactory, alpn.getProtocol()), alpn, h2, http11);
+        } else {
+          https = new ServerConnector(server, sslContextFactory);
+          https.addConnectionFactory(new HttpConnectionFactory(httpsConf));
+        }
         https.setPort(options.getSecurePort());
         https.setHost(options.getHost());
 
@@ -137,7 +167,7 @@ public class Jetty extends io.jooby.Server.Base {
       ContextHandler context = new ContextHandler();
 
       AbstractHandler handler = new JettyHandler(applications.get(0), options.getBufferSize(),
-          options.getMaxRequestSize(), options.getDefaultHeaders());
+          options.getMaxRequestSize(), options.getDefaultHeaders(), worker != null);
 
       if (options.getCompressionLevel() != null) {
         GzipHandler gzipHandler = new GzipHandler();
@@ -176,6 +206,14 @@ public class Jetty extends io.jooby.Server.Base {
     return this;
   }
 
+  private AbstractHTTP2ServerConnectionFactory http2(AbstractHTTP2ServerConnectionFactory factory) {
+    Optional.ofNullable(options.getHttp2MaxConcurrentStreams())
+        .ifPresent(factory::setMaxConcurrentStreams);
+    Optional.ofNullable(options.getHttp2InitialWindowSize())
+        .ifPresent(factory::setInitialStreamRecvWindow);
+    return factory;
+  }
+
   private void isNotInUse(List<String> protocols, String protocol, Consumer<String> consumer) {
     if (!protocols.contains(protocol)) {
       consumer.accept(protocol);
@@ -193,6 +231,10 @@ public class Jetty extends io.jooby.Server.Base {
         server = null;
       }
     }
+    if (worker != null) {
+      worker.shutdown();
+      worker = null;
+    }
     return this;
   }
 }
@@ -0,0 +1,82 @@
+package io.jooby.internal.jetty;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FileRangeChannelTest {
+
+  @Test
+  public void rangeLargerThanIntMax() throws IOException {
+    long size = Integer.MAX_VALUE + 1024L;
+    FileChannel file = fileOfSize(size);
+
+    // bytes=100-
+    FileRangeChannel channel = new FileRangeChannel(file, 100, size - 100);
+    ByteBuffer buffer = ByteBuffer.allocate(16 * 1024 * 1024);
+    long total = 0;
+    byte first = -1;
+    byte last = -1;
+    int count;
+    while ((count = channel.read(buffer)) != -1) {
+      buffer.flip();
+      if (total == 0) {
+        first = buffer.get(0);
+      }
+      last = buffer.get(count - 1);
+      total += count;
+      buffer.clear();
+    }
+    assertEquals(size - 100, total);
+    assertEquals(position(100), first);
+    assertEquals(position(size - 1), last);
+  }
+
+  @Test
+  public void partialRange() throws IOException {
+    FileChannel file = fileOfSize(1000);
+
+    FileRangeChannel channel = new FileRangeChannel(file, 10, 20);
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    assertEquals(20, channel.read(buffer));
+    assertEquals(-1, channel.read(buffer));
+    buffer.flip();
+    assertEquals(20, buffer.remaining());
+    assertEquals(position(10), buffer.get(0));
+    assertEquals(position(29), buffer.get(19));
+  }
+
+  /**
+   * Mocked file channel, each byte is the lower bits of its own position.
+   */
+  private FileChannel fileOfSize(long size) throws IOException {
+    FileChannel file = mock(FileChannel.class);
+    when(file.size()).thenReturn(size);
+    when(file.read(any(ByteBuffer.class), anyLong())).then(invocation -> {
+      ByteBuffer dst = invocation.getArgument(0);
+      long position = invocation.getArgument(1);
+      if (position >= size) {
+        return -1;
+      }
+      int count = (int) Math.min(dst.remaining(), size - position);
+      // only first and last byte, rest is left untouched
+      dst.put(dst.position(), position(position));
+      dst.put(dst.position() + count - 1, position(position + count - 1));
+      dst.position(dst.position() + count);
+      return count;
+    });
+    return file;
+  }
+
+  private static byte position(long position) {
+    return (byte) (position % 127);
+  }
+}
@@ -49,7 +49,8 @@ public class HttpRawPostRequestDecoder implements InterfaceHttpPostRequestDecode
 
   @Override public InterfaceHttpPostRequestDecoder offer(HttpContent content) {
     try {
-      data.addContent(content.content().copy(), content instanceof LastHttpContent);
+      // keep received buffer (no copy), it is released on destroy
+      data.addContent(content.content().retain(), content instanceof LastHttpContent);
       return this;
     } catch (IOException x) {
       throw new HttpPostRequestDecoder.ErrorDataDecoderException(x);
@@ -10,16 +10,19 @@ import io.jooby.Context;
 import io.jooby.MediaType;
 import io.jooby.SneakyThrows;
 import io.jooby.ValueNode;
+import io.jooby.internal.ByteBufferBody;
 import io.jooby.internal.MissingValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.http.multipart.HttpData;
 
 import javax.annotation.Nonnull;
-import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
-import java.nio.channels.Channels;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -27,6 +30,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
+
 public class NettyBody implements Body {
   private final Context ctx;
   private final HttpData data;
@@ -49,7 +54,8 @@ public class NettyBody implements Body {
   @Override public InputStream stream() {
     try {
       if (data.isInMemory()) {
-        return new ByteArrayInputStream(data.get());
+        // read received chunks in place, no copy
+        return new ByteBufInputStream(buffer().duplicate());
       }
       return new FileInputStream(data.getFile());
     } catch (IOException x) {
@@ -58,7 +64,25 @@ public class NettyBody implements Body {
   }
 
   @Override public ReadableByteChannel channel() {
-    return Channels.newChannel(stream());
+    try {
+      if (data.isInMemory()) {
+        return new ByteBufferBody(ctx, buffer().nioBuffers()).channel();
+      }
+      return FileChannel.open(data.getFile().toPath());
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  @Nonnull @Override public ByteBuffer byteBuffer() {
+    if (data.isInMemory()) {
+      // view of received chunks, copy only when body spans more than one chunk
+      ByteBuf buffer = buffer();
+      if (buffer.nioBufferCount() == 1) {
+        return buffer.nioBuffer().asReadOnlyBuffer();
+      }
+    }
+    return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
   }
 
   @Override public byte[] bytes() {
@@ -72,6 +96,15 @@ public class NettyBody implements Body {
     }
   }
 
+  private ByteBuf buffer() {
+    try {
+      ByteBuf buffer = data.getByteBuf();
+      return buffer == null ? EMPTY_BUFFER : buffer;
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   @Nonnull @Override public String value() {
     return value(StandardCharsets.UTF_8);
   }
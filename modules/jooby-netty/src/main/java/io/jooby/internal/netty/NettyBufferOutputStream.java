@@ -0,0 +1,82 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+import java.io.OutputStream;
+
+/**
+ * Output stream backed by fixed size pooled buffers. Full buffers are appended to an unbounded
+ * composite buffer, so written bytes are never copied and the composite never consolidates.
+ */
+public class NettyBufferOutputStream extends OutputStream {
+  private final ByteBufAllocator alloc;
+
+  private final int bufferSize;
+
+  private final CompositeByteBuf buffer;
+
+  private ByteBuf current;
+
+  public NettyBufferOutputStream(ByteBufAllocator alloc, int bufferSize) {
+    this.alloc = alloc;
+    this.bufferSize = bufferSize;
+    this.buffer = alloc.compositeBuffer(Integer.MAX_VALUE);
+  }
+
+  @Override public void write(int b) {
+    current().writeByte(b);
+  }
+
+  @Override public void write(byte[] bytes, int offset, int len) {
+    while (len > 0) {
+      ByteBuf chunk = current();
+      int count = Math.min(len, chunk.writableBytes());
+      chunk.writeBytes(bytes, offset, count);
+      offset += count;
+      len -= count;
+    }
+  }
+
+  /**
+   * Written bytes. Caller owns the buffer, this stream must not be used after.
+   *
+   * @return Written bytes.
+   */
+  public ByteBuf getBuffer() {
+    append();
+    return buffer;
+  }
+
+  /**
+   * Release all the buffers.
+   */
+  public void release() {
+    append();
+    buffer.release();
+  }
+
+  private ByteBuf current() {
+    if (current != null && !current.isWritable()) {
+      append();
+    }
+    if (current == null) {
+      current = alloc.buffer(bufferSize, bufferSize);
+    }
+    return current;
+  }
+
+  private void append() {
+    if (current != null) {
+      // composite takes ownership and moves its writer index
+      buffer.addComponent(true, current);
+      current = null;
+    }
+  }
+}
@@ -30,6 +30,7 @@ import io.jooby.StatusCode;
 import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
+import io.jooby.internal.HttpMethods;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
@@ -58,6 +59,7 @@ import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
 import io.netty.handler.codec.http.websocketx.WebSocketDecoderConfig;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.stream.ChunkedNioFile;
 import io.netty.handler.stream.ChunkedNioStream;
 import io.netty.handler.stream.ChunkedStream;
@@ -87,13 +89,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 
 import static io.netty.buffer.Unpooled.copiedBuffer;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
-import static io.netty.handler.codec.http.HttpHeaderNames.RANGE;
 import static io.netty.handler.codec.http.HttpHeaderNames.SET_COOKIE;
 import static io.netty.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
 import static io.netty.handler.codec.http.HttpHeaderValues.CHUNKED;
@@ -105,9 +105,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class NettyContext implements DefaultContext, ChannelFutureListener {
 
   private static final HttpHeaders NO_TRAILING = EmptyHttpHeaders.INSTANCE;
+  private static final String HTTP_2_0 = "HTTP/2.0";
   DefaultHttpHeaders setHeaders = new DefaultHttpHeaders(true);
   private final int bufferSize;
   InterfaceHttpPostRequestDecoder decoder;
+  NettyRequestStream stream;
   private Router router;
   private Route route;
   ChannelHandlerContext ctx;
@@ -143,7 +145,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     this.req = req;
     this.router = router;
     this.bufferSize = bufferSize;
-    this.method = req.method().name().toUpperCase();
+    this.method = HttpMethods.canonical(req.method().name());
   }
 
   @Nonnull @Override public Router getRouter() {
@@ -164,7 +166,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public Context setMethod(@Nonnull String method) {
-    this.method = method.toUpperCase();
+    this.method = HttpMethods.canonical(method);
     return this;
   }
 
@@ -264,12 +266,14 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public String getProtocol() {
-    return req.protocolVersion().text();
+    return isHttp2() ? HTTP_2_0 : req.protocolVersion().text();
   }
 
   @Nonnull @Override public String getScheme() {
     if (scheme == null) {
-      scheme = ctx.pipeline().get("ssl") == null ? "http" : "https";
+      // HTTP/2 streams: look at connection pipeline
+      ChannelPipeline pipeline = isHttp2() ? ctx.channel().parent().pipeline() : ctx.pipeline();
+      scheme = pipeline.get("ssl") == null ? "http" : "https";
     }
     return scheme;
   }
@@ -302,6 +306,9 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public Body body() {
+    if (stream != null) {
+      return Body.of(this, stream, HttpUtil.getContentLength(req, -1L));
+    }
     if (decoder != null && decoder.hasNext()) {
       return new NettyBody(this, (HttpData) decoder.next(), HttpUtil.getContentLength(req, -1L));
     }
@@ -481,6 +488,19 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return newOutputStream();
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    NettyBufferOutputStream output = new NettyBufferOutputStream(ctx.alloc(), bufferSize);
+    try {
+      consumer.tryAccept(output);
+    } catch (Throwable x) {
+      output.release();
+      throw x;
+    }
+    return send(output.getBuffer());
+  }
+
   @Nonnull @Override public Context send(@Nonnull String data) {
     return send(copiedBuffer(data, UTF_8));
   }
@@ -555,7 +575,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     try {
       prepareChunked();
       long len = responseLength();
-      ByteRange range = ByteRange.parse(req.headers().get(RANGE), len)
+      ByteRange range = ByteRange.parse(this, len)
           .apply(this);
       ChunkedStream chunkedStream = new ChunkedStream(range.apply(in), bufferSize);
 
@@ -580,13 +600,13 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       long len = file.size();
       setHeaders.set(CONTENT_LENGTH, Long.toString(len));
 
-      ByteRange range = ByteRange.parse(req.headers().get(RANGE), len)
+      ByteRange range = ByteRange.parse(this, len)
           .apply(this);
 
       DefaultHttpResponse rsp = new DefaultHttpResponse(HTTP_1_1, status, setHeaders);
       responseStarted = true;
 
-      if (isSecure() || isGzip()) {
+      if (isSecure() || isGzip() || isHttp2()) {
         prepareChunked();
 
         HttpChunkedInput chunkedInput = new HttpChunkedInput(
@@ -685,6 +705,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
         (listeners != null) ||
         (files != null && files.size() > 0) ||
         (decoder != null) ||
+        (stream != null) ||
         shouldRelease(req);
   }
 
@@ -718,6 +739,10 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       }
       decoder = null;
     }
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
     release(req);
   }
 
@@ -784,10 +809,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     // remove flusher, doesn't play well with streaming/chunked responses
     ChannelPipeline pipeline = ctx.pipeline();
     if (pipeline.get("chunker") == null) {
-      Stream.of("compressor", "encoder")
-          .filter(name -> pipeline.get(name) != null)
-          .findFirst()
-          .ifPresent(name -> pipeline.addAfter(name, "chunker", new ChunkedWriteHandler()));
+      pipeline.addBefore("handler", "chunker", new ChunkedWriteHandler());
     }
     if (!setHeaders.contains(CONTENT_LENGTH)) {
       setHeaders.set(TRANSFER_ENCODING, CHUNKED);
@@ -798,6 +820,15 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return getMethod() + " " + getRequestPath();
   }
 
+  /**
+   * True when running on a HTTP/2 stream. Streams don't support file regions.
+   *
+   * @return True when running on a HTTP/2 stream.
+   */
+  private boolean isHttp2() {
+    return ctx.channel() instanceof Http2StreamChannel;
+  }
+
   private boolean isGzip() {
     return getRouter().getServerOptions().getCompressionLevel() != null;
   }
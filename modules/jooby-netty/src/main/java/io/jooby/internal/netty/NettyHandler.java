@@ -30,6 +30,7 @@ import io.netty.util.AsciiString;
 import io.netty.util.ReferenceCounted;
 import org.slf4j.Logger;
 
+import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -55,6 +56,8 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
   private final HttpDataFactory factory;
   private InterfaceHttpPostRequestDecoder decoder;
+  private Router.Match match;
+  private NettyRequestStream stream;
 
   private final long maxRequestSize;
   private long contentLength;
@@ -85,10 +88,29 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
         contentLength = contentLength(req);
         if (contentLength > 0 || HttpUtil.isTransferEncodingChunked(req)) {
-          decoder = newDecoder(req, factory);
+          Router.Match route = router.match(context);
+          if (route.route().isStreamingBody()) {
+            // body is read by the route while it arrives, must run on worker
+            stream = new NettyRequestStream(ctx.channel().config(), bufferSize);
+            context.stream = stream;
+            NettyContext current = context;
+            router.getWorker().execute(() -> route.execute(current));
+          } else {
+            match = route;
+            decoder = newDecoder(req, factory);
+          }
         } else {
           router.match(context).execute(context);
         }
+      } else if (stream != null && msg instanceof HttpContent) {
+        HttpContent chunk = (HttpContent) msg;
+        chunkSize += chunk.content().readableBytes();
+        boolean last = chunk instanceof LastHttpContent || chunkSize == contentLength;
+        stream.offer(chunk.content(), last);
+        if (last) {
+          stream = null;
+          resetDecoderState(false);
+        }
       } else if (decoder != null && msg instanceof HttpContent) {
         HttpContent chunk = (HttpContent) msg;
         chunkSize += chunk.content().readableBytes();
@@ -107,7 +129,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
         if (chunk instanceof LastHttpContent) {
           context.decoder = decoder;
-          Router.Match result = router.match(context);
+          Router.Match result = match;
           resetDecoderState(!result.matches());
           result.execute(context);
         }
@@ -132,6 +154,14 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
+  @Override public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (stream != null) {
+      stream.fail(new ClosedChannelException());
+      stream = null;
+    }
+    super.channelInactive(ctx);
+  }
+
   @Override public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
     if (evt instanceof IdleStateEvent) {
       NettyWebSocket ws = ctx.channel().attr(NettyWebSocket.WS).getAndSet(null);
@@ -182,6 +212,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
       decoder.destroy();
     }
     decoder = null;
+    match = null;
   }
 
   private static InterfaceHttpPostRequestDecoder newDecoder(HttpRequest request,
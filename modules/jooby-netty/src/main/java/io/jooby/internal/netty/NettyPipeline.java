@@ -6,13 +6,30 @@
 package io.jooby.internal.netty;
 
 import io.jooby.Router;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
+import io.netty.util.AsciiString;
 
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -29,10 +46,14 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
   private final boolean defaultHeaders;
   private final ScheduledExecutorService service;
   private final SslContext sslContext;
+  private final boolean http2;
+  private final Integer maxConcurrentStreams;
+  private final Integer initialWindowSize;
 
   public NettyPipeline(ScheduledExecutorService service, Router router, HttpDataFactory factory,
       SslContext sslContext,
-      boolean defaultHeaders, Integer compressionLevel, int bufferSize, long maxRequestSize) {
+      boolean defaultHeaders, Integer compressionLevel, int bufferSize, long maxRequestSize,
+      boolean http2, Integer maxConcurrentStreams, Integer initialWindowSize) {
     this.service = service;
     this.router = router;
     this.factory = factory;
@@ -41,6 +62,9 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     this.compressionLevel = compressionLevel;
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
+    this.http2 = http2;
+    this.maxConcurrentStreams = maxConcurrentStreams;
+    this.initialWindowSize = initialWindowSize;
   }
 
   @Override
@@ -48,13 +72,88 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     ChannelPipeline p = ch.pipeline();
     if (sslContext != null) {
       p.addLast("ssl", sslContext.newHandler(ch.alloc()));
+      if (http2) {
+        // h2 or http/1.1 via ALPN
+        p.addLast("alpn", new ApplicationProtocolNegotiationHandler(
+            ApplicationProtocolNames.HTTP_1_1) {
+          @Override protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+              http2(ctx.pipeline());
+            } else {
+              http11(ctx.pipeline());
+            }
+          }
+        });
+      } else {
+        http11(p);
+      }
+    } else if (http2) {
+      // h2c via upgrade or prior knowledge, fallback to http/1.1
+      HttpServerCodec codec = new HttpServerCodec(_4KB, _8KB, bufferSize, false);
+      HttpServerUpgradeHandler upgrade = new HttpServerUpgradeHandler(codec, protocol ->
+          AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+              ? new Http2ServerUpgradeCodec(http2FrameCodec(), http2Multiplex())
+              : null,
+          (int) Math.min(maxRequestSize, Integer.MAX_VALUE));
+      p.addLast("h2c", new CleartextHttp2ServerUpgradeHandler(codec, upgrade,
+          new ChannelInboundHandlerAdapter() {
+            @Override public void handlerAdded(ChannelHandlerContext ctx) {
+              // prior knowledge: must go before the http/1.1 handlers
+              ctx.pipeline()
+                  .replace(this, "http2", http2FrameCodec())
+                  .addAfter("http2", "multiplex", http2Multiplex());
+            }
+          }));
+      http11Handlers(p);
+    } else {
+      http11(p);
     }
+  }
+
+  private void http11(ChannelPipeline p) {
     p.addLast("decoder", new HttpRequestDecoder(_4KB, _8KB, bufferSize, false));
     p.addLast("encoder", new HttpResponseEncoder());
+    http11Handlers(p);
+  }
+
+  private void http11Handlers(ChannelPipeline p) {
     if (compressionLevel != null) {
       p.addLast("compressor", new HttpChunkContentCompressor(compressionLevel));
     }
-    p.addLast("handler", new NettyHandler(service, router, maxRequestSize, bufferSize, factory,
-        defaultHeaders));
+    p.addLast("handler", newHandler());
+  }
+
+  private void http2(ChannelPipeline p) {
+    p.addLast("http2", http2FrameCodec());
+    p.addLast("multiplex", http2Multiplex());
+  }
+
+  private Http2FrameCodec http2FrameCodec() {
+    Http2Settings settings = Http2Settings.defaultSettings();
+    if (maxConcurrentStreams != null) {
+      settings.maxConcurrentStreams(maxConcurrentStreams);
+    }
+    if (initialWindowSize != null) {
+      settings.initialWindowSize(initialWindowSize);
+    }
+    return Http2FrameCodecBuilder.forServer()
+        .initialSettings(settings)
+        .build();
+  }
+
+  private ChannelHandler http2Multiplex() {
+    // Each stream is a child channel with a HTTP/1.x like pipeline
+    return new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+      @Override protected void initChannel(Http2StreamChannel ch) {
+        ChannelPipeline p = ch.pipeline();
+        p.addLast("encoder", new Http2StreamFrameToHttpObjectCodec(true, false));
+        http11Handlers(p);
+      }
+    });
+  }
+
+  private NettyHandler newHandler() {
+    return new NettyHandler(service, router, maxRequestSize, bufferSize, factory,
+        defaultHeaders);
   }
 }
@@ -0,0 +1,134 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+
+/**
+ * Request body as input stream. Chunks are offered by the event loop and consumed by a worker
+ * thread. Channel reads are paused (auto-read off) while too many bytes are waiting to be read
+ * and resumed once the reader catch up.
+ */
+public class NettyRequestStream extends InputStream {
+
+  private final ChannelConfig config;
+
+  private final int highWaterMark;
+
+  private final int lowWaterMark;
+
+  private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<>();
+
+  private int pending;
+
+  private boolean last;
+
+  private boolean closed;
+
+  private IOException failure;
+
+  public NettyRequestStream(ChannelConfig config, int bufferSize) {
+    this.config = config;
+    this.highWaterMark = bufferSize * 4;
+    this.lowWaterMark = bufferSize;
+  }
+
+  /**
+   * Add a new chunk, called from event loop.
+   *
+   * @param content Chunk content. Retained while waiting to be read.
+   * @param last True for last chunk.
+   */
+  public synchronized void offer(ByteBuf content, boolean last) {
+    if (!closed && content.isReadable()) {
+      chunks.add(content.retain());
+      pending += content.readableBytes();
+      if (pending > highWaterMark && config.isAutoRead()) {
+        config.setAutoRead(false);
+      }
+    }
+    this.last = this.last || last;
+    notifyAll();
+  }
+
+  /**
+   * Abort a pending read, called from event loop when the connection is lost.
+   *
+   * @param cause Cause.
+   */
+  public synchronized void fail(Throwable cause) {
+    if (!last) {
+      failure = cause instanceof IOException
+          ? (IOException) cause
+          : new IOException("Request body read failure", cause);
+    }
+    notifyAll();
+  }
+
+  @Override public int read() throws IOException {
+    byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override public synchronized int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (chunks.isEmpty()) {
+      if (failure != null) {
+        throw failure;
+      }
+      if (last || closed) {
+        return -1;
+      }
+      try {
+        wait();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+    ByteBuf chunk = chunks.peek();
+    int n = Math.min(len, chunk.readableBytes());
+    chunk.readBytes(b, off, n);
+    if (!chunk.isReadable()) {
+      chunks.poll().release();
+    }
+    pending -= n;
+    if (pending < lowWaterMark && !config.isAutoRead()) {
+      config.setAutoRead(true);
+    }
+    return n;
+  }
+
+  @Override public synchronized int available() {
+    return pending;
+  }
+
+  /**
+   * Release pending chunks, discard the rest of the body (if any) and resume channel reads.
+   */
+  @Override public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      ByteBuf chunk;
+      while ((chunk = chunks.poll()) != null) {
+        chunk.release();
+      }
+      pending = 0;
+      if (!config.isAutoRead()) {
+        config.setAutoRead(true);
+      }
+      notifyAll();
+    }
+  }
+}
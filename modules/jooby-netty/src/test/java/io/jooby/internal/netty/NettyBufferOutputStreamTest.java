@@ -0,0 +1,57 @@
+package io.jooby.internal.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NettyBufferOutputStreamTest {
+
+  @Test
+  public void appendFixedSizeChunks() {
+    int bufferSize = 1024;
+    byte[] bytes = new byte[3 * 1024 * 1024 + 100];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    NettyBufferOutputStream output = new NettyBufferOutputStream(PooledByteBufAllocator.DEFAULT,
+        bufferSize);
+    // small and large writes
+    output.write(bytes[0]);
+    output.write(bytes, 1, 10);
+    output.write(bytes, 11, bytes.length - 11);
+
+    ByteBuf buffer = output.getBuffer();
+    try {
+      CompositeByteBuf composite = (CompositeByteBuf) buffer;
+      // one component per chunk: never consolidated
+      assertEquals((bytes.length + bufferSize - 1) / bufferSize, composite.numComponents());
+      for (int i = 0; i < composite.numComponents() - 1; i++) {
+        assertEquals(bufferSize, composite.internalComponent(i).readableBytes());
+      }
+      byte[] written = new byte[buffer.readableBytes()];
+      buffer.readBytes(written);
+      assertArrayEquals(bytes, written);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Test
+  public void release() {
+    NettyBufferOutputStream output = new NettyBufferOutputStream(PooledByteBufAllocator.DEFAULT,
+        16);
+    byte[] bytes = new byte[40];
+    Arrays.fill(bytes, (byte) 'a');
+    output.write(bytes, 0, bytes.length);
+    ByteBuf buffer = output.getBuffer();
+    assertEquals(40, buffer.readableBytes());
+    output.release();
+    assertEquals(0, buffer.refCnt());
+  }
+}
@@ -9,9 +9,12 @@ import io.jooby.Body;
 import io.jooby.exception.StatusCodeException;
 import io.jooby.Router;
 import io.jooby.StatusCode;
-import io.undertow.io.Receiver;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.server.Connectors;
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpServerExchange;
+import org.xnio.ChannelListener;
+import org.xnio.channels.StreamSourceChannel;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,16 +27,20 @@ import java.util.List;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.WRITE;
 
+/**
+ * Read request body into pooled buffers (no copy). Buffers are released once the exchange
+ * completes. Bodies larger than buffer size are saved into a temporary file.
+ */
 public class UtowBodyHandler
-    implements Receiver.FullBytesCallback, Receiver.PartialBytesCallback,
-    ExchangeCompletionListener {
+    implements ChannelListener<StreamSourceChannel>, ExchangeCompletionListener {
 
   private final int bufferSize;
   private final long maxRequestSize;
   private Router.Match route;
   private UtowContext context;
   private long chunkSize;
-  private List chunks;
+  private List<PooledByteBuffer> chunks = new ArrayList<>(2);
+  private boolean async;
   private Path file;
   private FileChannel channel;
   private long position;
@@ -46,27 +53,43 @@ public class UtowBodyHandler
     this.maxRequestSize = maxRequestSize;
   }
 
-  @Override public void handle(HttpServerExchange exchange, byte[] bytes) {
-    context.body = Body.of(context, bytes);
-    route.execute(context);
-  }
-
-  @Override public void exchangeEvent(HttpServerExchange exchange, NextListener next) {
-    try {
-      Files.deleteIfExists(file);
-    } catch (IOException x) {
-      // ignore
-    } finally {
-      next.proceed();
+  /**
+   * Start reading the request body.
+   *
+   * @param exchange Server exchange.
+   */
+  public void read(HttpServerExchange exchange) {
+    StreamSourceChannel source = exchange.getRequestChannel();
+    if (source == null) {
+      context.sendError(new IllegalStateException("Request body was already read"));
+      return;
     }
+    exchange.addExchangeCompleteListener(this);
+    handleEvent(source);
   }
 
-  @Override public void handle(HttpServerExchange exchange, byte[] chunk, boolean last) {
+  @Override public void handleEvent(StreamSourceChannel source) {
+    HttpServerExchange exchange = context.exchange;
     try {
-      if (chunk.length > 0) {
-        chunkSize += chunk.length;
+      while (true) {
+        ByteBuffer buffer = buffer(exchange);
+        int read = source.read(buffer);
+        if (read == 0) {
+          if (!async) {
+            async = true;
+            source.getReadSetter().set(this);
+          }
+          source.resumeReads();
+          return;
+        }
+        if (read == -1) {
+          done(source);
+          return;
+        }
+        chunkSize += read;
         if (chunkSize > maxRequestSize) {
           try {
+            suspend(source);
             context.sendError(new StatusCodeException(StatusCode.REQUEST_ENTITY_TOO_LARGE));
           } finally {
             closeChannel();
@@ -74,44 +97,14 @@ public class UtowBodyHandler
           }
           return;
         }
-        if (chunkSize <= bufferSize) {
-          if (chunks == null) {
-            chunks = new ArrayList<>();
-          }
-          chunks.add(chunk);
-        } else {
+        if (chunkSize > bufferSize) {
           // overflow
-          if (file == null) {
-            file = context.getRouter().getTmpdir().resolve("undertow" + System.nanoTime() + "body");
-            channel = FileChannel.open(file, CREATE, WRITE);
-          }
-          if (chunks != null) {
-            List source = chunks;
-            chunks = null;
-            for (Object s : source) {
-              byte[] bytes = (byte[]) s;
-              channel.write(ByteBuffer.wrap(bytes), position);
-              position += bytes.length;
-            }
-            source.clear();
-          }
-          channel.write(ByteBuffer.wrap(chunk), position);
-          position += chunk.length;
+          spill();
         }
       }
-      if (last) {
-        if (channel != null) {
-          exchange.addExchangeCompleteListener(this);
-          forceAndClose();
-          channel = null;
-          context.body = Body.of(context, file);
-        } else {
-          context.body = Body.of(context, bytes((int) chunkSize));
-        }
-        route.execute(context);
-      }
     } catch (IOException x) {
       try {
+        suspend(source);
         context.sendError(x);
       } finally {
         closeChannel();
@@ -121,6 +114,91 @@ public class UtowBodyHandler
     }
   }
 
+  @Override public void exchangeEvent(HttpServerExchange exchange, NextListener next) {
+    try {
+      release();
+      if (file != null) {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException x) {
+      // ignore
+    } finally {
+      next.proceed();
+    }
+  }
+
+  private void done(StreamSourceChannel source) throws IOException {
+    suspend(source);
+    if (channel != null) {
+      forceAndClose();
+      channel = null;
+      context.body = Body.of(context, file);
+    } else {
+      // last chunk might be empty when body size is a multiple of buffer size
+      int size = chunks.size();
+      if (size > 0 && chunks.get(size - 1).getBuffer().position() == 0) {
+        size -= 1;
+      }
+      ByteBuffer[] buffers = new ByteBuffer[size];
+      for (int i = 0; i < size; i++) {
+        buffers[i] = (ByteBuffer) chunks.get(i).getBuffer().flip();
+      }
+      context.body = Body.of(context, buffers);
+    }
+    if (async) {
+      // called from read listener, execute as root handler so dispatch works
+      Connectors.executeRootHandler(exchange -> route.execute(context), context.exchange);
+    } else {
+      route.execute(context);
+    }
+  }
+
+  private void suspend(StreamSourceChannel source) {
+    if (async) {
+      source.getReadSetter().set(null);
+      source.suspendReads();
+    }
+  }
+
+  /**
+   * Buffer to read into: last chunk while it has room or a new pooled buffer.
+   */
+  private ByteBuffer buffer(HttpServerExchange exchange) {
+    if (chunks.size() > 0) {
+      ByteBuffer last = chunks.get(chunks.size() - 1).getBuffer();
+      if (last.hasRemaining()) {
+        return last;
+      }
+    }
+    PooledByteBuffer pooled = exchange.getConnection().getByteBufferPool().allocate();
+    chunks.add(pooled);
+    ByteBuffer buffer = pooled.getBuffer();
+    buffer.clear();
+    return buffer;
+  }
+
+  private void spill() throws IOException {
+    if (file == null) {
+      file = context.getRouter().getTmpdir().resolve("undertow" + System.nanoTime() + "body");
+      channel = FileChannel.open(file, CREATE, WRITE);
+    }
+    for (PooledByteBuffer chunk : chunks) {
+      ByteBuffer buffer = chunk.getBuffer();
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    }
+    release();
+  }
+
+  private void release() {
+    for (PooledByteBuffer chunk : chunks) {
+      chunk.close();
+    }
+    chunks.clear();
+  }
+
   private void closeChannel() {
     if (channel != null) {
       try {
@@ -140,15 +218,4 @@ public class UtowBodyHandler
       }
     }
   }
-
-  private byte[] bytes(int size) {
-    byte[] bytes = new byte[size];
-    int offset = 0;
-    for (Object c : chunks) {
-      byte[] chunk = (byte[]) c;
-      System.arraycopy(chunk, 0, bytes, offset, chunk.length);
-      offset += chunk.length;
-    }
-    return bytes;
-  }
 }
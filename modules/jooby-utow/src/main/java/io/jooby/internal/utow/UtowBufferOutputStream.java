@@ -0,0 +1,60 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.utow;
+
+import io.jooby.internal.ByteBufferOutputStream;
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.server.HttpServerExchange;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream backed by buffers from the connection pool. Buffers go back to the pool once the
+ * response has been sent.
+ */
+public class UtowBufferOutputStream extends ByteBufferOutputStream implements IoCallback {
+  private final ByteBufferPool pool;
+
+  private final IoCallback callback;
+
+  private final List<PooledByteBuffer> pooled = new ArrayList<>();
+
+  public UtowBufferOutputStream(ByteBufferPool pool, IoCallback callback) {
+    super(pool.getBufferSize());
+    this.pool = pool;
+    this.callback = callback;
+  }
+
+  @Override protected ByteBuffer allocate(int capacity) {
+    PooledByteBuffer buffer = pool.allocate();
+    pooled.add(buffer);
+    return buffer.getBuffer();
+  }
+
+  @Override public void release() {
+    for (PooledByteBuffer buffer : pooled) {
+      buffer.close();
+    }
+    pooled.clear();
+  }
+
+  @Override public void onComplete(HttpServerExchange exchange, Sender sender) {
+    release();
+    callback.onComplete(exchange, sender);
+  }
+
+  @Override
+  public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+    release();
+    callback.onException(exchange, sender, exception);
+  }
+}
@@ -26,6 +26,7 @@ import io.jooby.StatusCode;
 import io.jooby.Value;
 import io.jooby.ValueNode;
 import io.jooby.WebSocket;
+import io.jooby.internal.HttpMethods;
 import io.undertow.Handlers;
 import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
@@ -61,7 +62,6 @@ import java.util.concurrent.Executor;
 import static io.undertow.server.handlers.form.FormDataParser.FORM_DATA;
 import static io.undertow.util.Headers.CONTENT_LENGTH;
 import static io.undertow.util.Headers.CONTENT_TYPE;
-import static io.undertow.util.Headers.RANGE;
 import static io.undertow.util.Headers.SET_COOKIE;
 
 public class UtowContext implements DefaultContext, IoCallback {
@@ -92,7 +92,7 @@ public class UtowContext implements DefaultContext, IoCallback {
   public UtowContext(HttpServerExchange exchange, Router router) {
     this.exchange = exchange;
     this.router = router;
-    this.method = exchange.getRequestMethod().toString().toUpperCase();
+    this.method = HttpMethods.canonical(exchange.getRequestMethod().toString());
     this.requestPath = exchange.getRequestPath();
   }
 
@@ -132,7 +132,7 @@ public class UtowContext implements DefaultContext, IoCallback {
   }
 
   @Nonnull @Override public Context setMethod(@Nonnull String method) {
-    this.method = method.toUpperCase();
+    this.method = HttpMethods.canonical(method);
     return this;
   }
 
@@ -371,6 +371,22 @@ public class UtowContext implements DefaultContext, IoCallback {
     return exchange.getOutputStream();
   }
 
+  @Nonnull @Override
+  public Context responseBuffer(@Nonnull SneakyThrows.Consumer<OutputStream> consumer)
+      throws Exception {
+    UtowBufferOutputStream out = new UtowBufferOutputStream(
+        exchange.getConnection().getByteBufferPool(), this);
+    try {
+      consumer.tryAccept(out);
+    } catch (Throwable x) {
+      out.release();
+      throw x;
+    }
+    exchange.getResponseHeaders().put(CONTENT_LENGTH, Long.toString(out.size()));
+    exchange.getResponseSender().send(out.toByteBuffers(), out);
+    return this;
+  }
+
   @Nonnull @Override public io.jooby.Sender responseSender() {
     return new UtowSender(this, exchange);
   }
@@ -432,8 +448,7 @@ public class UtowContext implements DefaultContext, IoCallback {
     try {
       ifSetChunked();
       long len = exchange.getResponseContentLength();
-      ByteRange range = ByteRange
-          .parse(exchange.getRequestHeaders().getFirst(RANGE), len)
+      ByteRange range = ByteRange.parse(this, len)
           .apply(this);
       new UtowChunkedStream(len).send(Channels.newChannel(range.apply(in)), exchange, this);
       return this;
@@ -446,8 +461,7 @@ public class UtowContext implements DefaultContext, IoCallback {
     try {
       long len = file.size();
       exchange.setResponseContentLength(len);
-      ByteRange range = ByteRange
-          .parse(exchange.getRequestHeaders().getFirst(RANGE), len)
+      ByteRange range = ByteRange.parse(this, len)
           .apply(this);
       file.position(range.getStart());
       new UtowChunkedStream(range.getEnd()).send(file, exchange, this);
@@ -5,11 +5,11 @@
  */
 package io.jooby.internal.utow;
 
+import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Router;
 import io.jooby.StatusCode;
 import io.jooby.exception.StatusCodeException;
-import io.undertow.io.Receiver;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.form.FormDataParser;
@@ -48,6 +48,16 @@ public class UtowHandler implements HttpHandler {
     long len = parseLen(headers.getFirst(Headers.CONTENT_LENGTH));
     String chunked = headers.getFirst(Headers.TRANSFER_ENCODING);
     if (len > 0 || chunked != null) {
+      Router.Match route = router.match(context);
+      if (route.route().isStreamingBody()) {
+        // body is read by the route while it arrives, must run on worker
+        exchange.dispatch(router.getWorker(), () -> {
+          exchange.startBlocking();
+          context.body = Body.of(context, exchange.getInputStream(), len);
+          route.execute(context);
+        });
+        return;
+      }
       if (len > maxRequestSize) {
         context.sendError(new StatusCodeException(StatusCode.REQUEST_ENTITY_TOO_LARGE));
         return;
@@ -63,17 +73,10 @@ public class UtowHandler implements HttpHandler {
           .createParser(exchange);
       if (parser == null) {
         // Read raw body
-        Router.Match route = router.match(context);
-        Receiver receiver = exchange.getRequestReceiver();
-        UtowBodyHandler reader = new UtowBodyHandler(route, context, bufferSize, maxRequestSize);
-        if (len > 0 && len <= bufferSize) {
-          receiver.receiveFullBytes(reader);
-        } else {
-          receiver.receivePartialBytes(reader);
-        }
+        new UtowBodyHandler(route, context, bufferSize, maxRequestSize).read(exchange);
       } else {
         try {
-          parser.parse(execute(router, context));
+          parser.parse(execute(route, context));
         } catch (Exception x) {
           context.sendError(x, StatusCode.BAD_REQUEST);
         }
@@ -92,7 +95,7 @@ public class UtowHandler implements HttpHandler {
     }
   }
 
-  private static HttpHandler execute(Router router, Context ctx) {
-    return exchange -> router.match(ctx).execute(ctx);
+  private static HttpHandler execute(Router.Match route, Context ctx) {
+    return exchange -> route.execute(ctx);
   }
 }
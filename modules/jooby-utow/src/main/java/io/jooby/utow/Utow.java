@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nonnull;
 import javax.net.ssl.SSLContext;
@@ -48,6 +49,8 @@ public class Utow extends Server.Base {
 
   private Undertow server;
 
+  private ExecutorService worker;
+
   private List<Jooby> applications = new ArrayList<>();
 
   private ServerOptions options = new ServerOptions()
@@ -99,6 +102,17 @@ public class Utow extends Server.Base {
           .setWorkerThreads(options.getWorkerThreads())
           .setHandler(handler);
 
+      if (options.isHttp2()) {
+        // h2 via ALPN on https and h2c (upgrade or prior knowledge) on http
+        builder.setServerOption(UndertowOptions.ENABLE_HTTP2, true);
+        Optional.ofNullable(options.getHttp2MaxConcurrentStreams())
+            .ifPresent(value -> builder
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS, value));
+        Optional.ofNullable(options.getHttp2InitialWindowSize())
+            .ifPresent(value -> builder
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE, value));
+      }
+
       SSLContext sslContext = options.getSSLContext(application.getEnvironment().getClassLoader());
       if (sslContext != null) {
         builder.addHttpsListener(options.getSecurePort(), options.getHost(), sslContext);
@@ -114,7 +128,8 @@ public class Utow extends Server.Base {
       server = builder.build();
       server.start();
       // NOT IDEAL, but we need to fire onStart after server.start to get access to Worker
-      fireStart(applications, server.getWorker());
+      worker = options.newVirtualWorker("worker");
+      fireStart(applications, worker == null ? server.getWorker() : worker);
 
       fireReady(Collections.singletonList(application));
 
@@ -160,6 +175,10 @@ public class Utow extends Server.Base {
         server = null;
       }
     }
+    if (worker != null) {
+      worker.shutdown();
+      worker = null;
+    }
   }
 
 }
@@ -25,6 +25,7 @@ import javax.annotation.Nonnull;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
@@ -58,6 +59,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static io.jooby.ExecutionMode.DEFAULT;
 import static io.jooby.ExecutionMode.EVENT_LOOP;
@@ -348,6 +350,46 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void gzipPrecompressedAsset(ServerTestRunner runner) throws IOException {
+    StringBuilder buff = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      buff.append("console.log('precompressed asset: ").append(i).append("');");
+    }
+    String text = buff.toString();
+    Path dir = Files.createTempDirectory("precompressed");
+    Files.write(dir.resolve("app.js"), text.getBytes(StandardCharsets.UTF_8));
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dir.resolve("app.js.gz")))) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    long gzipLength = Files.size(dir.resolve("app.js.gz"));
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions().setGzip(true));
+      app.assets("/?*", new AssetHandler(AssetSource.create(dir)).setPrecompressed(true));
+      app.assets("/raw/?*", new AssetHandler(AssetSource.create(dir)));
+    }).ready(client -> {
+      // server compression is on for this asset
+      client.get("/raw/app.js").prepare(req -> {
+        req.addHeader("Accept-Encoding", "gzip");
+      }).execute(rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals("gzip", rsp.header("content-encoding"));
+        assertEquals(text, ungzip(rsp.body().bytes()));
+      });
+
+      client.get("/app.js").prepare(req -> {
+        req.addHeader("Accept-Encoding", "gzip");
+      }).execute(rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals("gzip", rsp.header("content-encoding"));
+        byte[] body = rsp.body().bytes();
+        // compressed once: body is the .gz file
+        assertEquals(gzipLength, body.length);
+        assertEquals(text, ungzip(body));
+      });
+    });
+  }
+
   private String ungzip(byte[] buff) throws IOException {
     GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(buff));
     Scanner scanner = new Scanner(gzip);
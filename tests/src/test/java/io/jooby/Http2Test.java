@@ -0,0 +1,151 @@
+package io.jooby;
+
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Http2Test {
+
+  @ServerTest
+  public void h2cPriorKnowledge(ServerTestRunner runner) throws IOException {
+    // larger than the default flow-control window
+    byte[] bytes = new byte[2 * 1024 * 1024];
+    new Random(2).nextBytes(bytes);
+    Path file = Files.createTempFile("h2", ".bin");
+    Files.write(file, bytes);
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions().setHttp2(true));
+
+      app.get("/", Context::getProtocol);
+
+      app.post("/echo", ctx -> ctx.body().bytes());
+
+      app.get("/file", ctx -> file);
+    }).ready(http -> {
+      // HTTP/1.1 still works
+      http.get("/", rsp -> {
+        assertEquals(Protocol.HTTP_1_1, rsp.protocol());
+        assertEquals("HTTP/1.1", rsp.body().string());
+      });
+
+      http.protocols(Protocol.H2_PRIOR_KNOWLEDGE);
+      http.get("/", rsp -> {
+        assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+        assertEquals("HTTP/2.0", rsp.body().string());
+      });
+      http.post("/echo", RequestBody.create("h2c body", MediaType.get("text/plain")), rsp -> {
+        assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+        assertEquals("h2c body", rsp.body().string());
+      });
+      http.get("/file", rsp -> {
+        assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+        assertEquals(200, rsp.code());
+        assertArrayEquals(bytes, rsp.body().bytes());
+      });
+      // partial file on a stream
+      http.get("/file").prepare(req -> {
+        req.addHeader("Range", "bytes=10-19");
+      }).execute(rsp -> {
+        assertEquals(206, rsp.code());
+        byte[] range = new byte[10];
+        System.arraycopy(bytes, 10, range, 0, 10);
+        assertArrayEquals(range, rsp.body().bytes());
+      });
+    });
+  }
+
+  @ServerTest(executionMode = ExecutionMode.WORKER)
+  public void h2cSettings(ServerTestRunner runner) throws IOException {
+    // one more than the limit
+    int streams = 3;
+    CountDownLatch inflight = new CountDownLatch(streams);
+    // larger than the stream window
+    byte[] bytes = new byte[1024 * 1024];
+    new Random(3).nextBytes(bytes);
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions()
+          .setHttp2(true)
+          .setHttp2MaxConcurrentStreams(2)
+          .setHttp2InitialWindowSize(16 * 1024));
+
+      app.get("/", Context::getProtocol);
+
+      app.get("/wait", ctx -> {
+        inflight.countDown();
+        return inflight.await(30, TimeUnit.SECONDS);
+      });
+
+      app.post("/echo", ctx -> ctx.body().bytes());
+    }).ready(http -> {
+      http.protocols(Protocol.H2_PRIOR_KNOWLEDGE);
+      // read server settings before opening more streams
+      http.get("/", rsp -> {
+        assertEquals("HTTP/2.0", rsp.body().string());
+      });
+
+      // upload must wait for window updates
+      http.post("/echo", RequestBody.create(bytes, MediaType.get("application/octet-stream")),
+          rsp -> {
+            assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+            assertArrayEquals(bytes, rsp.body().bytes());
+          });
+
+      // all streams are open at the same time: third one needs a new connection
+      List<WebClient.Request> requests = new ArrayList<>();
+      for (int i = 0; i < streams; i++) {
+        requests.add(http.get("/wait"));
+      }
+      ExecutorService executor = Executors.newFixedThreadPool(streams);
+      try {
+        List<Future<?>> futures = new ArrayList<>();
+        for (WebClient.Request request : requests) {
+          futures.add(executor.submit(() -> request.execute(rsp -> {
+            assertEquals("true", rsp.body().string());
+          })));
+        }
+        for (Future<?> future : futures) {
+          future.get(30, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdown();
+      }
+      assertTrue(http.connectionCount() >= 2,
+          "connections: " + http.connectionCount());
+    });
+  }
+
+  @ServerTest
+  public void h2Alpn(ServerTestRunner runner) {
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions()
+          .setHttp2(true)
+          .setSecurePort(8443));
+
+      app.get("/", ctx -> ctx.getScheme() + " " + ctx.getProtocol());
+    }).ready((http, https) -> {
+      https.protocols(Protocol.HTTP_2, Protocol.HTTP_1_1);
+      https.get("/", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals("https HTTP/2.0", rsp.body().string());
+      });
+    });
+  }
+}
@@ -0,0 +1,147 @@
+package io.jooby;
+
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestBodyTest {
+
+  private static final int BUFFER_SIZE = ServerOptions._8KB;
+
+  private static final int MAX_REQUEST_SIZE = ServerOptions._16KB * 4;
+
+  private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+  @ServerTest
+  public void bodySizes(ServerTestRunner runner) {
+    // Jetty reads the servlet input stream, body is consumed once
+    boolean buffered = !runner.getServer().equals("Jetty");
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions()
+          .setBufferSize(BUFFER_SIZE)
+          .setMaxRequestSize(MAX_REQUEST_SIZE));
+
+      app.post("/bytes", ctx -> {
+        Body body = ctx.body();
+        byte[] bytes = body.bytes();
+        if (buffered) {
+          // body can be read more than once
+          assertArrayEquals(bytes, body.bytes());
+        }
+        return info(ctx, body, bytes);
+      });
+
+      app.post("/buffer", ctx -> {
+        Body body = ctx.body();
+        ByteBuffer buffer = body.byteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        if (buffered) {
+          assertEquals(bytes.length, body.byteBuffer().remaining());
+        }
+        return info(ctx, body, bytes);
+      });
+
+      app.post("/channel", ctx -> {
+        Body body = ctx.body();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        try (ReadableByteChannel channel = body.channel()) {
+          while (channel.read(buffer) != -1) {
+            buffer.flip();
+            out.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+          }
+        }
+        return info(ctx, body, out.toByteArray());
+      });
+
+      app.post("/stream", ctx -> {
+        Body body = ctx.body();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        try (InputStream in = body.stream()) {
+          int count;
+          while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+          }
+        }
+        return info(ctx, body, out.toByteArray());
+      });
+    }).ready(client -> {
+      for (String path : new String[]{"/bytes", "/buffer", "/channel", "/stream"}) {
+        // single read
+        assertBody(client, path, bytes(100), buffered);
+        // fits in buffer
+        assertBody(client, path, bytes(BUFFER_SIZE), buffered);
+        // saved to a temp file
+        assertBody(client, path, bytes(BUFFER_SIZE + 1), false);
+        assertBody(client, path, bytes(MAX_REQUEST_SIZE), false);
+
+        // exceeds max request size
+        client.post(path, RequestBody.create(bytes(MAX_REQUEST_SIZE + 1), OCTET_STREAM),
+            rsp -> {
+              assertEquals(413, rsp.code());
+            });
+        client.post(path, chunked(bytes(MAX_REQUEST_SIZE + 1)), rsp -> {
+          assertEquals(413, rsp.code());
+        });
+      }
+    });
+  }
+
+  private static byte[] info(Context ctx, Body body, byte[] bytes) {
+    ctx.setResponseHeader("In-Memory", body.isInMemory());
+    return bytes;
+  }
+
+  private static void assertBody(WebClient client, String path, byte[] bytes,
+      boolean inMemory) {
+    client.post(path, RequestBody.create(bytes, OCTET_STREAM), rsp -> {
+      assertEquals(200, rsp.code());
+      assertEquals(Boolean.toString(inMemory), rsp.header("In-Memory"), path);
+      assertArrayEquals(bytes, rsp.body().bytes(), path);
+    });
+    // unknown length
+    client.post(path, chunked(bytes), rsp -> {
+      assertEquals(200, rsp.code());
+      assertEquals(Boolean.toString(inMemory), rsp.header("In-Memory"), path);
+      assertArrayEquals(bytes, rsp.body().bytes(), path);
+    });
+  }
+
+  private static RequestBody chunked(byte[] bytes) {
+    return new RequestBody() {
+      @Override public MediaType contentType() {
+        return OCTET_STREAM;
+      }
+
+      @Override public void writeTo(@NotNull BufferedSink sink) throws IOException {
+        // several writes, so the server gets more than one chunk
+        for (int i = 0; i < bytes.length; i += 1000) {
+          sink.write(bytes, i, Math.min(1000, bytes.length - i));
+          sink.flush();
+        }
+      }
+    };
+  }
+
+  private static byte[] bytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+}
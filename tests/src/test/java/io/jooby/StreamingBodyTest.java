@@ -0,0 +1,137 @@
+package io.jooby;
+
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamingBodyTest {
+
+  private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+
+  @ServerTest
+  public void streamLargeUpload(ServerTestRunner runner) {
+    // much larger than max request size
+    byte[] bytes = bytes(16 * 1024 * 1024);
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions()
+          .setMaxRequestSize(ServerOptions._16KB * 64));
+
+      app.post("/upload", ctx -> {
+        StringJoiner result = new StringJoiner(";");
+        for (MultipartStream.Part part : ctx.multipartStream()) {
+          if (part.isFile()) {
+            result.add(part.getName() + "=" + part.getFileName() + ":" + checksum(part.stream()));
+          } else {
+            result.add(part.getName() + "=" + part.value());
+          }
+        }
+        return result.toString();
+      }).setStreamingBody(true);
+
+      app.post("/body", ctx -> checksum(ctx.body().stream()))
+          .setStreamingBody(true);
+
+      app.post("/buffered", ctx -> ctx.body().bytes().length);
+    }).ready(client -> {
+      String checksum = checksum(bytes);
+      client.post("/upload", multipart(bytes), rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals("before=1;file=large.bin:" + checksum + ";after=2", rsp.body().string());
+      });
+
+      client.post("/body", RequestBody.create(bytes, OCTET_STREAM), rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals(checksum, rsp.body().string());
+      });
+
+      // max request size still applies to routes without streaming body
+      client.post("/buffered", RequestBody.create(bytes, OCTET_STREAM), rsp -> {
+        assertEquals(413, rsp.code());
+      });
+    });
+  }
+
+  @ServerTest
+  public void respondBeforeReadingBody(ServerTestRunner runner) {
+    byte[] bytes = bytes(4 * 1024 * 1024);
+    runner.define(app -> {
+      app.post("/upload", ctx -> {
+        MultipartStream.Part part = ctx.multipartStream().next();
+        // first part only, file is never read
+        return part.getName() + "=" + part.value();
+      }).setStreamingBody(true);
+
+      app.post("/ignore", ctx -> "ignored")
+          .setStreamingBody(true);
+
+      app.get("/next", ctx -> "next");
+    }).ready(client -> {
+      client.get("/next", rsp -> {
+        assertEquals("next", rsp.body().string());
+      });
+      int connections = client.connectionsOpened();
+
+      client.post("/upload", multipart(bytes), rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals("before=1", rsp.body().string());
+      });
+      client.get("/next", rsp -> {
+        assertEquals("next", rsp.body().string());
+      });
+
+      client.post("/ignore", RequestBody.create(bytes, OCTET_STREAM), rsp -> {
+        assertEquals(200, rsp.code());
+        assertEquals("ignored", rsp.body().string());
+      });
+      client.get("/next", rsp -> {
+        assertEquals("next", rsp.body().string());
+      });
+
+      // keep-alive: unread body was skipped, connection was reused
+      assertEquals(connections, client.connectionsOpened());
+    });
+  }
+
+  private static RequestBody multipart(byte[] bytes) {
+    return new MultipartBody.Builder()
+        .setType(MultipartBody.FORM)
+        .addFormDataPart("before", "1")
+        .addFormDataPart("file", "large.bin", RequestBody.create(bytes, OCTET_STREAM))
+        .addFormDataPart("after", "2")
+        .build();
+  }
+
+  private static String checksum(InputStream in) throws IOException {
+    CRC32 crc = new CRC32();
+    long size = 0;
+    byte[] buffer = new byte[ServerOptions._8KB];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      crc.update(buffer, 0, count);
+      size += count;
+    }
+    return size + ":" + Long.toHexString(crc.getValue());
+  }
+
+  private static String checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    return bytes.length + ":" + Long.toHexString(crc.getValue());
+  }
+
+  private static byte[] bytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -1,7 +1,10 @@
 package io.jooby;
 
+import okhttp3.Call;
+import okhttp3.EventListener;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.WebSocket;
@@ -16,12 +19,15 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
 import java.net.SocketTimeoutException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +36,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -141,6 +148,7 @@ public class WebClient implements AutoCloseable {
   private final int port;
   private OkHttpClient client;
   private Map<String, String> headers;
+  private final AtomicInteger connections = new AtomicInteger();
 
   public WebClient(String scheme, int port, boolean followRedirects) {
     try {
@@ -150,7 +158,14 @@ public class WebClient implements AutoCloseable {
           .connectTimeout(5, TimeUnit.MINUTES)
           .writeTimeout(5, TimeUnit.MINUTES)
           .readTimeout(5, TimeUnit.MINUTES)
-          .followRedirects(followRedirects);
+          .followRedirects(followRedirects)
+          .eventListener(new EventListener() {
+            @Override public void connectEnd(@NotNull Call call,
+                @NotNull InetSocketAddress address, @NotNull Proxy proxy,
+                @Nullable Protocol protocol) {
+              connections.incrementAndGet();
+            }
+          });
       if (scheme.equalsIgnoreCase("https")) {
         configureSelfSigned(builder);
       }
@@ -162,6 +177,21 @@ public class WebClient implements AutoCloseable {
     }
   }
 
+  public WebClient protocols(Protocol... protocols) {
+    client = client.newBuilder()
+        .protocols(Arrays.asList(protocols))
+        .build();
+    return this;
+  }
+
+  public int connectionCount() {
+    return client.connectionPool().connectionCount();
+  }
+
+  public int connectionsOpened() {
+    return connections.get();
+  }
+
   public WebClient header(String name, String value) {
     if (headers == null) {
       headers = new HashMap<>();